@@ -0,0 +1,147 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the registration and removal of procedures while other threads invoke the tree. Each invoking thread
+ * invokes its own subtree, so the invocations are not shared between threads, and the registering threads churn
+ * procedures in these subtrees.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChurnBenchmark {
+
+  /**
+   * The number of threads invoking the tree, each of them invokes its own subtree.
+   */
+  private static final int INVOKERS = 2;
+
+  /**
+   * The number of procedures each registering thread cycles through.
+   */
+  private static final int CHURN = 64;
+
+  @Param({"100", "1000"})
+  int size;
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private final AtomicInteger invokers = new AtomicInteger();
+  private final AtomicInteger churners = new AtomicInteger();
+
+  @Setup
+  public void setUp() {
+    vertx = Vertx.vertx();
+    healthChecks = HealthChecks.create(vertx);
+    for (int tree = 0; tree < INVOKERS; tree++) {
+      for (int i = 0; i < size; i++) {
+        healthChecks.register(subtree(tree) + "/" + Trees.path(i, size, true), Trees.OPTIONS,
+          future -> future.complete(Status.UP));
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  private static String subtree(int index) {
+    return "tree-" + index;
+  }
+
+  /**
+   * The subtree invoked by a thread, and the handler receiving its reports. The handler is created once, so the
+   * benchmark only measures the allocations of the engine.
+   */
+  @State(Scope.Thread)
+  public static class Invoker implements Handler<AsyncResult<JsonObject>> {
+    private String path;
+    private JsonObject report;
+
+    @Setup
+    public void setUp(ChurnBenchmark benchmark) {
+      path = subtree(benchmark.invokers.getAndIncrement() % INVOKERS);
+    }
+
+    @Override
+    public void handle(AsyncResult<JsonObject> ar) {
+      report = ar.result();
+    }
+  }
+
+  /**
+   * The procedures registered by a thread, in their own group of one of the invoked subtrees.
+   */
+  @State(Scope.Thread)
+  public static class Names {
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp(ChurnBenchmark benchmark) {
+      int thread = benchmark.churners.getAndIncrement();
+      String prefix = subtree(thread % INVOKERS) + "/churn-" + thread + "/p";
+      names = new String[CHURN];
+      for (int i = 0; i < CHURN; i++) {
+        names[i] = prefix + i;
+      }
+    }
+
+    String next() {
+      String name = names[next];
+      next = (next + 1) % CHURN;
+      return name;
+    }
+  }
+
+  @Benchmark
+  @Group("churn")
+  @GroupThreads(INVOKERS)
+  public JsonObject invoke(Invoker invoker) {
+    invoker.report = null;
+    healthChecks.invoke(invoker.path, invoker);
+    // The procedures complete synchronously, so does the invocation
+    if (invoker.report == null) {
+      throw new IllegalStateException("The invocation did not complete synchronously");
+    }
+    return invoker.report;
+  }
+
+  @Benchmark
+  @Group("churn")
+  @GroupThreads(2)
+  public void registerAndUnregister(Names names) {
+    String name = names.next();
+    healthChecks.register(name, Trees.OPTIONS, future -> future.complete(Status.UP));
+    healthChecks.unregister(name);
+  }
+}
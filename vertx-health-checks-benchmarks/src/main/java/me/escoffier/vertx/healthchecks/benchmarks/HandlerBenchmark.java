@@ -0,0 +1,72 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.Vertx;
+import me.escoffier.vertx.healthchecks.HealthCheckHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the web handler answers a probe: the invocation of the tree, the computation of the status code and
+ * the encoding of the report. The probe goes through the public {@link HealthCheckHandler}, without HTTP: the
+ * routing context is a stub capturing the response. Compare with {@link InvokeBenchmark#invoke()} to isolate the
+ * cost of the response building.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  int size;
+
+  @Param({"flat", "deep"})
+  String shape;
+
+  private Vertx vertx;
+  private HealthCheckHandler handler;
+
+  /**
+   * The probe is created once, so the benchmark only measures the allocations of the handler and the engine.
+   */
+  private final ProbeContext probe = new ProbeContext();
+
+  @Setup
+  public void setUp() {
+    vertx = Vertx.vertx();
+    handler = HealthCheckHandler.create(Trees.create(vertx, size, "deep".equals(shape)));
+
+    // The procedures complete synchronously, so does the response
+    if (probe() == null || probe.response().getStatusCode() != 200) {
+      throw new IllegalStateException("The probe did not complete synchronously");
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public String probe() {
+    probe.reset();
+    handler.handle(probe);
+    return probe.body();
+  }
+}
@@ -0,0 +1,101 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the invocation of the whole procedure tree, and of a single procedure, for flat and deep trees.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokeBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  int size;
+
+  @Param({"flat", "deep"})
+  String shape;
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private String procedure;
+
+  /**
+   * The handlers are created once, so the benchmarks only measure the allocations of the engine.
+   */
+  private final Report report = new Report();
+  private final ProcedureReport procedureReport = new ProcedureReport();
+
+  @Setup
+  public void setUp() {
+    boolean deep = "deep".equals(shape);
+    vertx = Vertx.vertx();
+    healthChecks = Trees.create(vertx, size, deep);
+    procedure = Trees.path(size - 1, size, deep);
+
+    // The procedures complete synchronously, so do the invocations
+    if (invoke() == null || invokeProcedure() == null) {
+      throw new IllegalStateException("The invocation did not complete synchronously");
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public JsonObject invoke() {
+    report.result = null;
+    healthChecks.invoke(report);
+    return report.result;
+  }
+
+  @Benchmark
+  public JsonObject invokeProcedure() {
+    procedureReport.result = null;
+    healthChecks.invoke(procedure, procedureReport);
+    return procedureReport.result;
+  }
+
+  private static class Report implements Handler<JsonObject> {
+    private JsonObject result;
+
+    @Override
+    public void handle(JsonObject json) {
+      result = json;
+    }
+  }
+
+  private static class ProcedureReport implements Handler<AsyncResult<JsonObject>> {
+    private JsonObject result;
+
+    @Override
+    public void handle(AsyncResult<JsonObject> ar) {
+      result = ar.result();
+    }
+  }
+}
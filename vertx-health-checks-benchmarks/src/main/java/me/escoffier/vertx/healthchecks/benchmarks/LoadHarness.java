@@ -0,0 +1,312 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import me.escoffier.vertx.healthchecks.HealthCheckHandler;
+import me.escoffier.vertx.healthchecks.HealthCheckService;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
+import me.escoffier.vertx.healthchecks.spi.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An end-to-end load harness: it exposes a synthetic procedure tree over HTTP (using the
+ * {@link HealthCheckHandler}) and on the event bus (using the {@link HealthCheckService}), and probes it with many
+ * concurrent clients, each sending a new request as soon as it gets the previous response. After a warm-up, it
+ * reports the throughput and the latency percentiles of each transport, as text and as a JSON line to compare runs.
+ * <p>
+ * Run it with:
+ * <pre>
+ * java -cp vertx-health-checks-benchmarks/target/benchmarks.jar \
+ *   me.escoffier.vertx.healthchecks.benchmarks.LoadHarness --procedures=100 --latency=2 --distribution=exponential
+ * </pre>
+ * The options are:
+ * <ul>
+ * <li>{@code --procedures}: the number of procedures (100)</li>
+ * <li>{@code --deep}: organizes the procedures in nested groups (false)</li>
+ * <li>{@code --latency}: the mean latency of the procedures in milliseconds (0)</li>
+ * <li>{@code --distribution}: the latency distribution, {@code fixed}, {@code uniform} or {@code exponential}
+ * (fixed)</li>
+ * <li>{@code --failure-rate}: the rate of {@code DOWN} results of each procedure (0)</li>
+ * <li>{@code --timeout}: the timeout of the procedures in milliseconds (1000)</li>
+ * <li>{@code --path}: the probed path, the root by default</li>
+ * <li>{@code --http-clients}: the number of concurrent HTTP clients (64)</li>
+ * <li>{@code --eventbus-clients}: the number of concurrent event bus clients (16)</li>
+ * <li>{@code --warmup}: the warm-up duration in seconds (5)</li>
+ * <li>{@code --duration}: the measurement duration in seconds (30)</li>
+ * <li>{@code --port}: the HTTP port (8080)</li>
+ * </ul>
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class LoadHarness {
+
+  private final Map<String, String> config;
+  private final Stats http = new Stats();
+  private final Stats eventBus = new Stats();
+
+  private volatile boolean running = true;
+  private volatile boolean measuring;
+
+  private LoadHarness(Map<String, String> config) {
+    this.config = config;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> config = new LinkedHashMap<>();
+    config.put("procedures", "100");
+    config.put("deep", "false");
+    config.put("latency", "0");
+    config.put("distribution", "fixed");
+    config.put("failure-rate", "0");
+    config.put("timeout", "1000");
+    config.put("path", "");
+    config.put("http-clients", "64");
+    config.put("eventbus-clients", "16");
+    config.put("warmup", "5");
+    config.put("duration", "30");
+    config.put("port", "8080");
+    for (String arg : args) {
+      int index = arg.indexOf('=');
+      String key = arg.startsWith("--") ? arg.substring(2, index < 0 ? arg.length() : index) : null;
+      if (key == null || !config.containsKey(key)) {
+        throw new IllegalArgumentException("Unknown option: " + arg);
+      }
+      config.put(key, index < 0 ? "true" : arg.substring(index + 1));
+    }
+    new LoadHarness(config).run();
+  }
+
+  private int integer(String key) {
+    return Integer.parseInt(config.get(key));
+  }
+
+  private void run() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    try {
+      HealthChecks healthChecks = HealthChecks.create(vertx);
+      int size = integer("procedures");
+      boolean deep = Boolean.parseBoolean(config.get("deep"));
+      SyntheticProcedure procedure = new SyntheticProcedure(vertx, Double.parseDouble(config.get("latency")),
+        SyntheticProcedure.Distribution.valueOf(config.get("distribution").toUpperCase(Locale.ENGLISH)),
+        Double.parseDouble(config.get("failure-rate")));
+      ProcedureOptions options = new ProcedureOptions().setTimeout(integer("timeout"));
+      for (int i = 0; i < size; i++) {
+        healthChecks.register(Trees.path(i, size, deep), options, procedure);
+      }
+
+      Router router = Router.router(vertx);
+      router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+      CompletableFuture<Void> listening = new CompletableFuture<>();
+      vertx.createHttpServer().requestHandler(router::accept).listen(integer("port"), ar -> {
+        if (ar.succeeded()) {
+          listening.complete(null);
+        } else {
+          listening.completeExceptionally(ar.cause());
+        }
+      });
+      listening.get(10, TimeUnit.SECONDS);
+      HealthCheckService.create(vertx, healthChecks);
+
+      startClients(vertx);
+
+      System.out.println("Warming up for " + config.get("warmup") + " s...");
+      Thread.sleep(TimeUnit.SECONDS.toMillis(integer("warmup")));
+      measuring = true;
+      long start = System.nanoTime();
+      System.out.println("Measuring for " + config.get("duration") + " s...");
+      Thread.sleep(TimeUnit.SECONDS.toMillis(integer("duration")));
+      measuring = false;
+      double seconds = (System.nanoTime() - start) / 1e9;
+      running = false;
+
+      report(seconds);
+    } finally {
+      CompletableFuture<Void> closed = new CompletableFuture<>();
+      vertx.close(ar -> closed.complete(null));
+      closed.get(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Deploys a client verticle per core, so the clients are spread over the event loops.
+   */
+  private void startClients(Vertx vertx) {
+    int verticles = Runtime.getRuntime().availableProcessors();
+    int httpClients = integer("http-clients");
+    int eventBusClients = integer("eventbus-clients");
+    for (int i = 0; i < verticles; i++) {
+      // Distributes the remainder over the first verticles
+      int httpShare = httpClients / verticles + (i < httpClients % verticles ? 1 : 0);
+      int eventBusShare = eventBusClients / verticles + (i < eventBusClients % verticles ? 1 : 0);
+      if (httpShare > 0 || eventBusShare > 0) {
+        vertx.deployVerticle(new Clients(httpShare, eventBusShare));
+      }
+    }
+  }
+
+  private void report(double seconds) {
+    JsonObject json = new JsonObject()
+      .put("config", new JsonObject(new LinkedHashMap<>(config)))
+      .put("http", http.toJson(seconds))
+      .put("eventbus", eventBus.toJson(seconds));
+    System.out.println();
+    System.out.println(String.format(Locale.ENGLISH, "%-10s %12s %10s %10s %10s %10s %10s  %s",
+      "transport", "requests/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)", "errors", "outcomes"));
+    print("http", json.getJsonObject("http"));
+    print("eventbus", json.getJsonObject("eventbus"));
+    System.out.println();
+    System.out.println(json.encode());
+  }
+
+  private static void print(String transport, JsonObject json) {
+    System.out.println(String.format(Locale.ENGLISH, "%-10s %12.1f %10.3f %10.3f %10.3f %10.3f %10d  %s",
+      transport, json.getDouble("throughput"), json.getDouble("p50"), json.getDouble("p99"),
+      json.getDouble("p999"), json.getDouble("max"), json.getLong("errors"), json.getJsonObject("outcomes").encode()));
+  }
+
+  /**
+   * The results of a transport, only recorded during the measurement. The outcome of a response is its status code
+   * for HTTP, and the reported outcome ({@code UP} or {@code DOWN}) for the event bus.
+   */
+  private class Stats {
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    void completed(long start, String outcome) {
+      if (measuring) {
+        latencies.record(System.nanoTime() - start);
+        outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+      }
+    }
+
+    void failed() {
+      if (measuring) {
+        errors.increment();
+      }
+    }
+
+    JsonObject toJson(double seconds) {
+      JsonObject counts = new JsonObject();
+      outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+      return new JsonObject()
+        .put("requests", latencies.count())
+        .put("throughput", latencies.count() / seconds)
+        .put("p50", latencies.percentile(50))
+        .put("p99", latencies.percentile(99))
+        .put("p999", latencies.percentile(99.9))
+        .put("max", latencies.max())
+        .put("errors", errors.sum())
+        .put("outcomes", counts);
+    }
+  }
+
+  /**
+   * Runs closed-loop clients: each client sends a new request as soon as it gets the previous response.
+   */
+  private class Clients extends AbstractVerticle {
+
+    private final int httpClients;
+    private final int eventBusClients;
+
+    private HttpClient client;
+    private int port;
+    private String uri;
+    private DeliveryOptions delivery;
+
+    Clients(int httpClients, int eventBusClients) {
+      this.httpClients = httpClients;
+      this.eventBusClients = eventBusClients;
+    }
+
+    @Override
+    public void start() {
+      String path = config.get("path");
+      port = integer("port");
+      uri = path.isEmpty() ? "/health" : "/health/" + path;
+      delivery = new DeliveryOptions().setSendTimeout(30000);
+      if (!path.isEmpty()) {
+        delivery.addHeader(HealthCheckService.PATH_HEADER, path);
+      }
+      client = vertx.createHttpClient(new HttpClientOptions()
+        .setKeepAlive(true)
+        .setMaxPoolSize(Math.max(1, httpClients)));
+
+      for (int i = 0; i < httpClients; i++) {
+        http();
+      }
+      for (int i = 0; i < eventBusClients; i++) {
+        eventBus();
+      }
+    }
+
+    private void http() {
+      if (!running) {
+        return;
+      }
+      long start = System.nanoTime();
+      Future<Integer> result = Future.future();
+      result.setHandler(ar -> {
+        if (ar.succeeded()) {
+          http.completed(start, Integer.toString(ar.result()));
+          http();
+        } else {
+          retry(http, this::http);
+        }
+      });
+      client.get(port, "localhost", uri, response -> {
+        response.exceptionHandler(t -> fail(result, t));
+        response.bodyHandler(body -> {
+          if (!result.isComplete()) {
+            result.complete(response.statusCode());
+          }
+        });
+      })
+        .exceptionHandler(t -> fail(result, t))
+        .end();
+    }
+
+    private void eventBus() {
+      if (!running) {
+        return;
+      }
+      long start = System.nanoTime();
+      vertx.eventBus().<JsonObject>send(HealthCheckService.DEFAULT_ADDRESS, "", delivery, reply -> {
+        if (reply.succeeded()) {
+          eventBus.completed(start, reply.result().body().getString("outcome", "UNKNOWN"));
+          eventBus();
+        } else {
+          retry(eventBus, this::eventBus);
+        }
+      });
+    }
+
+    private void fail(Future<Integer> result, Throwable cause) {
+      if (!result.isComplete()) {
+        result.fail(cause);
+      }
+    }
+
+    /**
+     * Records a failure and sends the next request a bit later, so a failing server is not flooded.
+     */
+    private void retry(Stats stats, Runnable request) {
+      stats.failed();
+      vertx.setTimer(10, l -> request.run());
+    }
+  }
+}
@@ -0,0 +1,736 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpFrame;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.Cookie;
+import io.vertx.ext.web.FileUpload;
+import io.vertx.ext.web.LanguageHeader;
+import io.vertx.ext.web.Locale;
+import io.vertx.ext.web.ParsedHeaderValues;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.Session;
+
+import javax.net.ssl.SSLSession;
+import javax.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A routing context answering the calls made by the health check handler for a {@code GET} of the root of the tree,
+ * and capturing the status code and the body of the response. The context, its request, response and route are
+ * plain objects created once and reset before each probe, so they do not allocate while probing. The other methods
+ * are not called by the handler and throw an {@link UnsupportedOperationException}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+class ProbeContext implements RoutingContext {
+
+  private static final String PATH = "/health";
+
+  private final Request request = new Request();
+  private final Response response = new Response();
+  private final ProbeRoute route = new ProbeRoute();
+
+  private int statusCode;
+  private String body;
+
+  /**
+   * Resets the captured response before a probe.
+   */
+  void reset() {
+    statusCode = 200;
+    body = null;
+  }
+
+  /**
+   * @return the body of the response, {@code null} if the response has not been ended.
+   */
+  String body() {
+    return body;
+  }
+
+  private static UnsupportedOperationException unsupported() {
+    return new UnsupportedOperationException("Not used by the health check handler");
+  }
+
+  // Methods called by the handler
+
+  public HttpServerRequest request() {
+    return request;
+  }
+
+  public HttpServerResponse response() {
+    return response;
+  }
+
+  public Route currentRoute() {
+    return route;
+  }
+
+  public int addBodyEndHandler(Handler<Void> handler) {
+    return 0;
+  }
+
+  // Methods not called by the handler
+
+  public void next() {
+    throw unsupported();
+  }
+
+  public void fail(int statusCode) {
+    throw unsupported();
+  }
+
+  public void fail(Throwable throwable) {
+    throw unsupported();
+  }
+
+  public RoutingContext put(String key, Object obj) {
+    throw unsupported();
+  }
+
+  public <T> T get(String key) {
+    throw unsupported();
+  }
+
+  public <T> T remove(String key) {
+    throw unsupported();
+  }
+
+  public Map<String, Object> data() {
+    throw unsupported();
+  }
+
+  public Vertx vertx() {
+    throw unsupported();
+  }
+
+  public String mountPoint() {
+    throw unsupported();
+  }
+
+  public String normalisedPath() {
+    throw unsupported();
+  }
+
+  public Cookie getCookie(String name) {
+    throw unsupported();
+  }
+
+  public RoutingContext addCookie(Cookie cookie) {
+    throw unsupported();
+  }
+
+  public Cookie removeCookie(String name) {
+    throw unsupported();
+  }
+
+  public Cookie removeCookie(String name, boolean invalidate) {
+    throw unsupported();
+  }
+
+  public int cookieCount() {
+    throw unsupported();
+  }
+
+  public Set<Cookie> cookies() {
+    throw unsupported();
+  }
+
+  public String getBodyAsString() {
+    throw unsupported();
+  }
+
+  public String getBodyAsString(String encoding) {
+    throw unsupported();
+  }
+
+  public JsonObject getBodyAsJson() {
+    throw unsupported();
+  }
+
+  public JsonArray getBodyAsJsonArray() {
+    throw unsupported();
+  }
+
+  public Buffer getBody() {
+    throw unsupported();
+  }
+
+  public Set<FileUpload> fileUploads() {
+    throw unsupported();
+  }
+
+  public Session session() {
+    throw unsupported();
+  }
+
+  public boolean isSessionAccessed() {
+    throw unsupported();
+  }
+
+  public User user() {
+    throw unsupported();
+  }
+
+  public Throwable failure() {
+    throw unsupported();
+  }
+
+  public int statusCode() {
+    throw unsupported();
+  }
+
+  public String getAcceptableContentType() {
+    throw unsupported();
+  }
+
+  public ParsedHeaderValues parsedHeaders() {
+    throw unsupported();
+  }
+
+  public List<LanguageHeader> acceptableLanguages() {
+    throw unsupported();
+  }
+
+  public LanguageHeader preferredLanguage() {
+    throw unsupported();
+  }
+
+  public List<Locale> acceptableLocales() {
+    throw unsupported();
+  }
+
+  public Locale preferredLocale() {
+    throw unsupported();
+  }
+
+  public int addHeadersEndHandler(Handler<Void> handler) {
+    throw unsupported();
+  }
+
+  public boolean removeHeadersEndHandler(int handlerID) {
+    throw unsupported();
+  }
+
+  public boolean removeBodyEndHandler(int handlerID) {
+    throw unsupported();
+  }
+
+  public boolean failed() {
+    throw unsupported();
+  }
+
+  public void setBody(Buffer body) {
+    throw unsupported();
+  }
+
+  public void setSession(Session session) {
+    throw unsupported();
+  }
+
+  public void setUser(User user) {
+    throw unsupported();
+  }
+
+  public void clearUser() {
+    throw unsupported();
+  }
+
+  public void setAcceptableContentType(String contentType) {
+    throw unsupported();
+  }
+
+  public void reroute(String path) {
+    throw unsupported();
+  }
+
+  public void reroute(HttpMethod method, String path) {
+    throw unsupported();
+  }
+
+  public Map<String, String> pathParams() {
+    throw unsupported();
+  }
+
+  public String pathParam(String name) {
+    throw unsupported();
+  }
+
+  public MultiMap queryParams() {
+    throw unsupported();
+  }
+
+  public List<String> queryParam(String query) {
+    throw unsupported();
+  }
+
+  /**
+   * The request: a {@code GET} of the root of the tree, without parameters nor headers.
+   */
+  private static class Request implements HttpServerRequest {
+
+    // Methods called by the handler
+
+    public String path() {
+      return PATH;
+    }
+
+    public String getParam(String paramName) {
+      return null;
+    }
+
+    public String getHeader(String headerName) {
+      return null;
+    }
+
+    public String getHeader(CharSequence headerName) {
+      return null;
+    }
+
+    public HttpMethod method() {
+      return HttpMethod.GET;
+    }
+
+    // Methods not called by the handler
+
+    public HttpServerRequest exceptionHandler(Handler<Throwable> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerRequest handler(Handler<Buffer> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerRequest pause() {
+      throw unsupported();
+    }
+
+    public HttpServerRequest resume() {
+      throw unsupported();
+    }
+
+    public HttpServerRequest endHandler(Handler<Void> endHandler) {
+      throw unsupported();
+    }
+
+    public HttpServerRequest bodyHandler(Handler<Buffer> bodyHandler) {
+      throw unsupported();
+    }
+
+    public HttpVersion version() {
+      throw unsupported();
+    }
+
+    public String rawMethod() {
+      throw unsupported();
+    }
+
+    public boolean isSSL() {
+      throw unsupported();
+    }
+
+    public String scheme() {
+      throw unsupported();
+    }
+
+    public String uri() {
+      throw unsupported();
+    }
+
+    public String query() {
+      throw unsupported();
+    }
+
+    public String host() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse response() {
+      throw unsupported();
+    }
+
+    public MultiMap headers() {
+      throw unsupported();
+    }
+
+    public MultiMap params() {
+      throw unsupported();
+    }
+
+    public SocketAddress remoteAddress() {
+      throw unsupported();
+    }
+
+    public SocketAddress localAddress() {
+      throw unsupported();
+    }
+
+    public SSLSession sslSession() {
+      throw unsupported();
+    }
+
+    public X509Certificate[] peerCertificateChain() {
+      throw unsupported();
+    }
+
+    public String absoluteURI() {
+      throw unsupported();
+    }
+
+    public NetSocket netSocket() {
+      throw unsupported();
+    }
+
+    public HttpServerRequest setExpectMultipart(boolean expect) {
+      throw unsupported();
+    }
+
+    public boolean isExpectMultipart() {
+      throw unsupported();
+    }
+
+    public HttpServerRequest uploadHandler(Handler<HttpServerFileUpload> uploadHandler) {
+      throw unsupported();
+    }
+
+    public MultiMap formAttributes() {
+      throw unsupported();
+    }
+
+    public String getFormAttribute(String attributeName) {
+      throw unsupported();
+    }
+
+    public ServerWebSocket upgrade() {
+      throw unsupported();
+    }
+
+    public boolean isEnded() {
+      throw unsupported();
+    }
+
+    public HttpServerRequest customFrameHandler(Handler<HttpFrame> handler) {
+      throw unsupported();
+    }
+
+    public HttpConnection connection() {
+      throw unsupported();
+    }
+  }
+
+  /**
+   * The response, capturing the status code and the body in the enclosing context.
+   */
+  private class Response implements HttpServerResponse {
+
+    // Methods called by the handler
+
+    public int getStatusCode() {
+      return statusCode;
+    }
+
+    public HttpServerResponse setStatusCode(int statusCode) {
+      ProbeContext.this.statusCode = statusCode;
+      return this;
+    }
+
+    public HttpServerResponse putHeader(String name, String value) {
+      return this;
+    }
+
+    public HttpServerResponse putHeader(CharSequence name, CharSequence value) {
+      return this;
+    }
+
+    public void end(String chunk) {
+      body = chunk;
+    }
+
+    public void end() {
+      body = "";
+    }
+
+    // Methods not called by the handler
+
+    public HttpServerResponse exceptionHandler(Handler<Throwable> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse write(Buffer data) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse setWriteQueueMaxSize(int maxSize) {
+      throw unsupported();
+    }
+
+    public boolean writeQueueFull() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse drainHandler(Handler<Void> handler) {
+      throw unsupported();
+    }
+
+    public String getStatusMessage() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse setStatusMessage(String statusMessage) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse setChunked(boolean chunked) {
+      throw unsupported();
+    }
+
+    public boolean isChunked() {
+      throw unsupported();
+    }
+
+    public MultiMap headers() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse putHeader(String name, Iterable<String> values) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse putHeader(CharSequence name, Iterable<CharSequence> values) {
+      throw unsupported();
+    }
+
+    public MultiMap trailers() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse putTrailer(String name, String value) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse putTrailer(CharSequence name, CharSequence value) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse putTrailer(String name, Iterable<String> values) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse putTrailer(CharSequence name, Iterable<CharSequence> value) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse closeHandler(Handler<Void> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse endHandler(Handler<Void> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse write(String chunk, String enc) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse write(String chunk) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse writeContinue() {
+      throw unsupported();
+    }
+
+    public void end(String chunk, String enc) {
+      throw unsupported();
+    }
+
+    public void end(Buffer chunk) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse sendFile(String filename) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse sendFile(String filename, long offset) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse sendFile(String filename, long offset, long length) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse sendFile(String filename, Handler<AsyncResult<Void>> resultHandler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse sendFile(String filename, long offset, Handler<AsyncResult<Void>> resultHandler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse sendFile(String filename, long offset, long length,
+                                       Handler<AsyncResult<Void>> resultHandler) {
+      throw unsupported();
+    }
+
+    public void close() {
+      throw unsupported();
+    }
+
+    public boolean ended() {
+      throw unsupported();
+    }
+
+    public boolean closed() {
+      throw unsupported();
+    }
+
+    public boolean headWritten() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse headersEndHandler(Handler<Void> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse bodyEndHandler(Handler<Void> handler) {
+      throw unsupported();
+    }
+
+    public long bytesWritten() {
+      throw unsupported();
+    }
+
+    public int streamId() {
+      throw unsupported();
+    }
+
+    public HttpServerResponse push(HttpMethod method, String host, String path,
+                                   Handler<AsyncResult<HttpServerResponse>> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse push(HttpMethod method, String path, MultiMap headers,
+                                   Handler<AsyncResult<HttpServerResponse>> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse push(HttpMethod method, String path, Handler<AsyncResult<HttpServerResponse>> handler) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse push(HttpMethod method, String host, String path, MultiMap headers,
+                                   Handler<AsyncResult<HttpServerResponse>> handler) {
+      throw unsupported();
+    }
+
+    public void reset() {
+      throw unsupported();
+    }
+
+    public void reset(long code) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse writeCustomFrame(int type, int flags, Buffer payload) {
+      throw unsupported();
+    }
+
+    public HttpServerResponse writeCustomFrame(HttpFrame frame) {
+      throw unsupported();
+    }
+  }
+
+  /**
+   * The route of the handler, mounted on {@code /health}.
+   */
+  private static class ProbeRoute implements Route {
+
+    // Method called by the handler
+
+    public String getPath() {
+      return PATH;
+    }
+
+    // Methods not called by the handler
+
+    public Route method(HttpMethod method) {
+      throw unsupported();
+    }
+
+    public Route path(String path) {
+      throw unsupported();
+    }
+
+    public Route pathRegex(String path) {
+      throw unsupported();
+    }
+
+    public Route produces(String contentType) {
+      throw unsupported();
+    }
+
+    public Route consumes(String contentType) {
+      throw unsupported();
+    }
+
+    public Route order(int order) {
+      throw unsupported();
+    }
+
+    public Route last() {
+      throw unsupported();
+    }
+
+    public Route handler(Handler<RoutingContext> requestHandler) {
+      throw unsupported();
+    }
+
+    public Route blockingHandler(Handler<RoutingContext> requestHandler) {
+      throw unsupported();
+    }
+
+    public Route blockingHandler(Handler<RoutingContext> requestHandler, boolean ordered) {
+      throw unsupported();
+    }
+
+    public Route failureHandler(Handler<RoutingContext> failureHandler) {
+      throw unsupported();
+    }
+
+    public Route remove() {
+      throw unsupported();
+    }
+
+    public Route disable() {
+      throw unsupported();
+    }
+
+    public Route enable() {
+      throw unsupported();
+    }
+
+    public Route useNormalisedPath(boolean useNormalisedPath) {
+      throw unsupported();
+    }
+  }
+}
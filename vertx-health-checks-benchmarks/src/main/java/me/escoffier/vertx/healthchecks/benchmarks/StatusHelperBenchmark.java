@@ -0,0 +1,100 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.Status;
+import me.escoffier.vertx.healthchecks.impl.StatusHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the procedure results to JSON, and the reading of the reports.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusHelperBenchmark {
+
+  private static final String NAME = "my-procedure";
+
+  private final AsyncResult<Status> ok = Future.succeededFuture(Status.OK());
+  private final AsyncResult<Status> completed = Future.succeededFuture();
+  private final AsyncResult<Status> failed = Future.failedFuture("boom");
+  private final AsyncResult<Status> withData =
+    Future.succeededFuture(Status.OK(new JsonObject().put("connections", 10).put("url", "jdbc:hsqldb:mem:db")));
+  private final AsyncResult<Status> withGauges =
+    Future.succeededFuture(new Status().setOk(true).gauge("connections", 10).gauge("usage", 0.8));
+
+  private final JsonObject up = StatusHelper.from(NAME, true);
+  private final JsonObject down = StatusHelper.from(NAME, false);
+
+  private JsonObject report;
+
+  @Setup
+  public void setUp() {
+    Vertx vertx = Vertx.vertx();
+    try {
+      Trees.create(vertx, 1000, true).invoke(json -> report = json);
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Benchmark
+  public JsonObject ok() {
+    return StatusHelper.from(NAME, ok);
+  }
+
+  @Benchmark
+  public JsonObject okShared() {
+    return StatusHelper.from(NAME, ok, up, down);
+  }
+
+  @Benchmark
+  public JsonObject completedWithoutStatus() {
+    return StatusHelper.from(NAME, completed, up, down);
+  }
+
+  @Benchmark
+  public JsonObject failed() {
+    return StatusHelper.from(NAME, failed, up, down);
+  }
+
+  @Benchmark
+  public JsonObject withData() {
+    return StatusHelper.from(NAME, withData, up, down);
+  }
+
+  @Benchmark
+  public JsonObject withGauges() {
+    return StatusHelper.from(NAME, withGauges, up, down);
+  }
+
+  @Benchmark
+  public boolean isUp() {
+    return StatusHelper.isUp(report);
+  }
+
+  @Benchmark
+  public Map<String, String> statuses() {
+    return StatusHelper.statuses(report);
+  }
+}
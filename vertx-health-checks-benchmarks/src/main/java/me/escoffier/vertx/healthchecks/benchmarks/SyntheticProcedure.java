@@ -0,0 +1,82 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A procedure simulating a real check: it completes after a random latency, and reports {@code DOWN} at a given
+ * rate.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class SyntheticProcedure implements Handler<Future<Status>> {
+
+  /**
+   * The distributions of the latency.
+   */
+  public enum Distribution {
+    /**
+     * Always the mean latency.
+     */
+    FIXED,
+    /**
+     * Uniformly distributed between 0 and twice the mean latency.
+     */
+    UNIFORM,
+    /**
+     * Exponentially distributed around the mean latency, with a few very slow executions.
+     */
+    EXPONENTIAL
+  }
+
+  private final Vertx vertx;
+  private final double latency;
+  private final Distribution distribution;
+  private final double failureRate;
+
+  /**
+   * Creates a new procedure.
+   *
+   * @param vertx        the Vert.x instance
+   * @param latency      the mean latency in milliseconds, procedures with a latency under 1 ms complete
+   *                     synchronously
+   * @param distribution the distribution of the latency
+   * @param failureRate  the rate of {@code DOWN} results, between {@code 0} and {@code 1}
+   */
+  public SyntheticProcedure(Vertx vertx, double latency, Distribution distribution, double failureRate) {
+    this.vertx = vertx;
+    this.latency = latency;
+    this.distribution = distribution;
+    this.failureRate = failureRate;
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Status status = failureRate > 0 && random.nextDouble() < failureRate ? Status.KO() : Status.OK();
+    long delay = Math.round(sample(random));
+    if (delay < 1) {
+      future.complete(status);
+    } else {
+      vertx.setTimer(delay, l -> future.complete(status));
+    }
+  }
+
+  private double sample(ThreadLocalRandom random) {
+    if (latency <= 0) {
+      return 0;
+    }
+    switch (distribution) {
+      case UNIFORM:
+        return random.nextDouble(2 * latency);
+      case EXPONENTIAL:
+        return -latency * Math.log(1 - random.nextDouble());
+      default:
+        return latency;
+    }
+  }
+}
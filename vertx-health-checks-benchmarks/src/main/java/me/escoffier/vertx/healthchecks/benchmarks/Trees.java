@@ -0,0 +1,73 @@
+package me.escoffier.vertx.healthchecks.benchmarks;
+
+import io.vertx.core.Vertx;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
+import me.escoffier.vertx.healthchecks.Status;
+
+/**
+ * Builds the procedure trees used by the benchmarks. The procedures complete synchronously and have no timeout, so
+ * the benchmarks measure the engine and not the timers.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class Trees {
+
+  /**
+   * The number of children of each group in deep trees.
+   */
+  public static final int FAN_OUT = 4;
+
+  /**
+   * The options of the procedures: no timeout.
+   */
+  public static final ProcedureOptions OPTIONS = new ProcedureOptions().setTimeout(-1);
+
+  private Trees() {
+    // Avoid direct instantiation
+  }
+
+  /**
+   * Creates health checks with {@code size} procedures, all reporting {@code UP}.
+   *
+   * @param vertx the Vert.x instance
+   * @param size  the number of procedures
+   * @param deep  {@code false} to register all the procedures in the root group, {@code true} to organize them in
+   *              nested groups of {@link #FAN_OUT} children
+   * @return the health checks
+   */
+  public static HealthChecks create(Vertx vertx, int size, boolean deep) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+    for (int i = 0; i < size; i++) {
+      healthChecks.register(path(i, size, deep), OPTIONS, future -> future.complete(Status.OK()));
+    }
+    return healthChecks;
+  }
+
+  /**
+   * Computes the path of a procedure. In deep trees, the path of the procedure {@code i} is made of the digits of
+   * {@code i} in base {@link #FAN_OUT}, such as {@code g1/g0/g3/p2}.
+   *
+   * @param index the index of the procedure
+   * @param size  the number of procedures
+   * @param deep  whether the procedures are organized in nested groups
+   * @return the path
+   */
+  public static String path(int index, int size, boolean deep) {
+    if (!deep) {
+      return "p" + index;
+    }
+    int depth = 1;
+    int divisor = 1;
+    for (int capacity = FAN_OUT; capacity < size; capacity *= FAN_OUT) {
+      depth++;
+      divisor *= FAN_OUT;
+    }
+    StringBuilder path = new StringBuilder();
+    for (int level = depth - 1; level > 0; level--) {
+      path.append('g').append(index / divisor % FAN_OUT).append('/');
+      divisor /= FAN_OUT;
+    }
+    return path.append('p').append(index % FAN_OUT).toString();
+  }
+}
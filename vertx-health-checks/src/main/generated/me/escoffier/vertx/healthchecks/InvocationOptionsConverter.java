@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.InvocationOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.InvocationOptions} original class using Vert.x codegen.
+ */
+public class InvocationOptionsConverter {
+
+  public static void fromJson(JsonObject json, InvocationOptions obj) {
+    if (json.getValue("latencies") instanceof Boolean) {
+      obj.setLatencies((Boolean)json.getValue("latencies"));
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+    if (json.getValue("trace") instanceof Boolean) {
+      obj.setTrace((Boolean)json.getValue("trace"));
+    }
+  }
+
+  public static void toJson(InvocationOptions obj, JsonObject json) {
+    json.put("latencies", obj.isLatencies());
+    json.put("timeout", obj.getTimeout());
+    json.put("trace", obj.isTrace());
+  }
+}
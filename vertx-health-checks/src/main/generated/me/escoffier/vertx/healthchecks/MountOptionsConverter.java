@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.MountOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.MountOptions} original class using Vert.x codegen.
+ */
+public class MountOptionsConverter {
+
+  public static void fromJson(JsonObject json, MountOptions obj) {
+    if (json.getValue("address") instanceof String) {
+      obj.setAddress((String)json.getValue("address"));
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+    if (json.getValue("ttl") instanceof Number) {
+      obj.setTtl(((Number)json.getValue("ttl")).longValue());
+    }
+    if (json.getValue("url") instanceof String) {
+      obj.setUrl((String)json.getValue("url"));
+    }
+  }
+
+  public static void toJson(MountOptions obj, JsonObject json) {
+    if (obj.getAddress() != null) {
+      json.put("address", obj.getAddress());
+    }
+    json.put("timeout", obj.getTimeout());
+    json.put("ttl", obj.getTtl());
+    if (obj.getUrl() != null) {
+      json.put("url", obj.getUrl());
+    }
+  }
+}
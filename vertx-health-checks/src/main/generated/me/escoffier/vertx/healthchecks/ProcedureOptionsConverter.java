@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.ProcedureOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.ProcedureOptions} original class using Vert.x codegen.
+ */
+public class ProcedureOptionsConverter {
+
+  public static void fromJson(JsonObject json, ProcedureOptions obj) {
+    if (json.getValue("blockingThreshold") instanceof Number) {
+      obj.setBlockingThreshold(((Number)json.getValue("blockingThreshold")).longValue());
+    }
+    if (json.getValue("fall") instanceof Number) {
+      obj.setFall(((Number)json.getValue("fall")).intValue());
+    }
+    if (json.getValue("offloadAfter") instanceof Number) {
+      obj.setOffloadAfter(((Number)json.getValue("offloadAfter")).intValue());
+    }
+    if (json.getValue("rise") instanceof Number) {
+      obj.setRise(((Number)json.getValue("rise")).intValue());
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+  }
+
+  public static void toJson(ProcedureOptions obj, JsonObject json) {
+    json.put("blockingThreshold", obj.getBlockingThreshold());
+    json.put("fall", obj.getFall());
+    json.put("offloadAfter", obj.getOffloadAfter());
+    json.put("rise", obj.getRise());
+    json.put("timeout", obj.getTimeout());
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.DiskSpaceOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.DiskSpaceOptions} original class using Vert.x codegen.
+ */
+public class DiskSpaceOptionsConverter {
+
+  public static void fromJson(JsonObject json, DiskSpaceOptions obj) {
+    if (json.getValue("interval") instanceof Number) {
+      obj.setInterval(((Number)json.getValue("interval")).longValue());
+    }
+    if (json.getValue("minUsablePercentage") instanceof Number) {
+      obj.setMinUsablePercentage(((Number)json.getValue("minUsablePercentage")).doubleValue());
+    }
+    if (json.getValue("minUsableSpace") instanceof Number) {
+      obj.setMinUsableSpace(((Number)json.getValue("minUsableSpace")).longValue());
+    }
+    if (json.getValue("paths") instanceof JsonArray) {
+      java.util.ArrayList<java.lang.String> list = new java.util.ArrayList<>();
+      json.getJsonArray("paths").forEach( item -> {
+        if (item instanceof String)
+          list.add((String)item);
+      });
+      obj.setPaths(list);
+    }
+    if (json.getValue("writable") instanceof Boolean) {
+      obj.setWritable((Boolean)json.getValue("writable"));
+    }
+  }
+
+  public static void toJson(DiskSpaceOptions obj, JsonObject json) {
+    json.put("interval", obj.getInterval());
+    json.put("minUsablePercentage", obj.getMinUsablePercentage());
+    json.put("minUsableSpace", obj.getMinUsableSpace());
+    if (obj.getPaths() != null) {
+      JsonArray array = new JsonArray();
+      obj.getPaths().forEach(item -> array.add(item));
+      json.put("paths", array);
+    }
+    json.put("writable", obj.isWritable());
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.EventLoopLagOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.EventLoopLagOptions} original class using Vert.x codegen.
+ */
+public class EventLoopLagOptionsConverter {
+
+  public static void fromJson(JsonObject json, EventLoopLagOptions obj) {
+    if (json.getValue("eventLoops") instanceof Number) {
+      obj.setEventLoops(((Number)json.getValue("eventLoops")).intValue());
+    }
+    if (json.getValue("interval") instanceof Number) {
+      obj.setInterval(((Number)json.getValue("interval")).longValue());
+    }
+    if (json.getValue("maxLag") instanceof Number) {
+      obj.setMaxLag(((Number)json.getValue("maxLag")).longValue());
+    }
+    if (json.getValue("window") instanceof Number) {
+      obj.setWindow(((Number)json.getValue("window")).longValue());
+    }
+  }
+
+  public static void toJson(EventLoopLagOptions obj, JsonObject json) {
+    json.put("eventLoops", obj.getEventLoops());
+    json.put("interval", obj.getInterval());
+    json.put("maxLag", obj.getMaxLag());
+    json.put("window", obj.getWindow());
+  }
+}
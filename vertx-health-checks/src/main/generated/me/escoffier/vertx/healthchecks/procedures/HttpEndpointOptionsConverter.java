@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.HttpEndpointOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.HttpEndpointOptions} original class using Vert.x codegen.
+ */
+public class HttpEndpointOptionsConverter {
+
+  public static void fromJson(JsonObject json, HttpEndpointOptions obj) {
+    if (json.getValue("expectedStatus") instanceof JsonArray) {
+      java.util.ArrayList<java.lang.Integer> list = new java.util.ArrayList<>();
+      json.getJsonArray("expectedStatus").forEach( item -> {
+        if (item instanceof java.lang.Number)
+          list.add(((java.lang.Number)item).intValue());
+      });
+      obj.setExpectedStatus(list);
+    }
+    if (json.getValue("host") instanceof String) {
+      obj.setHost((String)json.getValue("host"));
+    }
+    if (json.getValue("maxLatency") instanceof Number) {
+      obj.setMaxLatency(((Number)json.getValue("maxLatency")).longValue());
+    }
+    if (json.getValue("maxStatus") instanceof Number) {
+      obj.setMaxStatus(((Number)json.getValue("maxStatus")).intValue());
+    }
+    if (json.getValue("port") instanceof Number) {
+      obj.setPort(((Number)json.getValue("port")).intValue());
+    }
+    if (json.getValue("ssl") instanceof Boolean) {
+      obj.setSsl((Boolean)json.getValue("ssl"));
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+    if (json.getValue("uri") instanceof String) {
+      obj.setUri((String)json.getValue("uri"));
+    }
+  }
+
+  public static void toJson(HttpEndpointOptions obj, JsonObject json) {
+    if (obj.getExpectedStatus() != null) {
+      JsonArray array = new JsonArray();
+      obj.getExpectedStatus().forEach(item -> array.add(item));
+      json.put("expectedStatus", array);
+    }
+    if (obj.getHost() != null) {
+      json.put("host", obj.getHost());
+    }
+    json.put("maxLatency", obj.getMaxLatency());
+    json.put("maxStatus", obj.getMaxStatus());
+    json.put("port", obj.getPort());
+    json.put("ssl", obj.isSsl());
+    json.put("timeout", obj.getTimeout());
+    if (obj.getUri() != null) {
+      json.put("uri", obj.getUri());
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.JdbcProcedureOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.JdbcProcedureOptions} original class using Vert.x codegen.
+ */
+public class JdbcProcedureOptionsConverter {
+
+  public static void fromJson(JsonObject json, JdbcProcedureOptions obj) {
+    if (json.getValue("query") instanceof String) {
+      obj.setQuery((String)json.getValue("query"));
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+  }
+
+  public static void toJson(JdbcProcedureOptions obj, JsonObject json) {
+    if (obj.getQuery() != null) {
+      json.put("query", obj.getQuery());
+    }
+    json.put("timeout", obj.getTimeout());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.JvmProcedureOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.JvmProcedureOptions} original class using Vert.x codegen.
+ */
+public class JvmProcedureOptionsConverter {
+
+  public static void fromJson(JsonObject json, JvmProcedureOptions obj) {
+    if (json.getValue("group") instanceof String) {
+      obj.setGroup((String)json.getValue("group"));
+    }
+    if (json.getValue("interval") instanceof Number) {
+      obj.setInterval(((Number)json.getValue("interval")).longValue());
+    }
+    if (json.getValue("maxFileDescriptorUsage") instanceof Number) {
+      obj.setMaxFileDescriptorUsage(((Number)json.getValue("maxFileDescriptorUsage")).doubleValue());
+    }
+    if (json.getValue("maxGcTime") instanceof Number) {
+      obj.setMaxGcTime(((Number)json.getValue("maxGcTime")).doubleValue());
+    }
+    if (json.getValue("maxHeapUsage") instanceof Number) {
+      obj.setMaxHeapUsage(((Number)json.getValue("maxHeapUsage")).doubleValue());
+    }
+    if (json.getValue("maxThreads") instanceof Number) {
+      obj.setMaxThreads(((Number)json.getValue("maxThreads")).intValue());
+    }
+  }
+
+  public static void toJson(JvmProcedureOptions obj, JsonObject json) {
+    if (obj.getGroup() != null) {
+      json.put("group", obj.getGroup());
+    }
+    json.put("interval", obj.getInterval());
+    json.put("maxFileDescriptorUsage", obj.getMaxFileDescriptorUsage());
+    json.put("maxGcTime", obj.getMaxGcTime());
+    json.put("maxHeapUsage", obj.getMaxHeapUsage());
+    json.put("maxThreads", obj.getMaxThreads());
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.ServiceDiscoveryBridgeOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.ServiceDiscoveryBridgeOptions} original class using Vert.x codegen.
+ */
+public class ServiceDiscoveryBridgeOptionsConverter {
+
+  public static void fromJson(JsonObject json, ServiceDiscoveryBridgeOptions obj) {
+    if (json.getValue("announceAddress") instanceof String) {
+      obj.setAnnounceAddress((String)json.getValue("announceAddress"));
+    }
+    if (json.getValue("concurrency") instanceof Number) {
+      obj.setConcurrency(((Number)json.getValue("concurrency")).intValue());
+    }
+    if (json.getValue("group") instanceof String) {
+      obj.setGroup((String)json.getValue("group"));
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+  }
+
+  public static void toJson(ServiceDiscoveryBridgeOptions obj, JsonObject json) {
+    if (obj.getAnnounceAddress() != null) {
+      json.put("announceAddress", obj.getAnnounceAddress());
+    }
+    json.put("concurrency", obj.getConcurrency());
+    if (obj.getGroup() != null) {
+      json.put("group", obj.getGroup());
+    }
+    json.put("timeout", obj.getTimeout());
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link me.escoffier.vertx.healthchecks.procedures.TcpConnectOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link me.escoffier.vertx.healthchecks.procedures.TcpConnectOptions} original class using Vert.x codegen.
+ */
+public class TcpConnectOptionsConverter {
+
+  public static void fromJson(JsonObject json, TcpConnectOptions obj) {
+    if (json.getValue("host") instanceof String) {
+      obj.setHost((String)json.getValue("host"));
+    }
+    if (json.getValue("maxLatency") instanceof Number) {
+      obj.setMaxLatency(((Number)json.getValue("maxLatency")).longValue());
+    }
+    if (json.getValue("port") instanceof Number) {
+      obj.setPort(((Number)json.getValue("port")).intValue());
+    }
+    if (json.getValue("timeout") instanceof Number) {
+      obj.setTimeout(((Number)json.getValue("timeout")).longValue());
+    }
+  }
+
+  public static void toJson(TcpConnectOptions obj, JsonObject json) {
+    if (obj.getHost() != null) {
+      json.put("host", obj.getHost());
+    }
+    json.put("maxLatency", obj.getMaxLatency());
+    json.put("port", obj.getPort());
+    json.put("timeout", obj.getTimeout());
+  }
+}
@@ -1,14 +1,36 @@
 package examples;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthProvider;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.web.Router;
 import io.vertx.servicediscovery.ServiceDiscovery;
 import io.vertx.servicediscovery.types.HttpEndpoint;
+import me.escoffier.vertx.healthchecks.HealthCheckEventStreamHandler;
 import me.escoffier.vertx.healthchecks.HealthCheckHandler;
+import me.escoffier.vertx.healthchecks.HealthCheckService;
 import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.HealthStatusNotifier;
+import me.escoffier.vertx.healthchecks.MountOptions;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
 import me.escoffier.vertx.healthchecks.Status;
+import me.escoffier.vertx.healthchecks.procedures.DiskSpaceOptions;
+import me.escoffier.vertx.healthchecks.procedures.DiskSpaceProcedure;
+import me.escoffier.vertx.healthchecks.procedures.EventLoopLagOptions;
+import me.escoffier.vertx.healthchecks.procedures.EventLoopLagProcedure;
+import me.escoffier.vertx.healthchecks.procedures.HttpEndpointOptions;
+import me.escoffier.vertx.healthchecks.procedures.HttpEndpointProcedure;
+import me.escoffier.vertx.healthchecks.procedures.JdbcProcedure;
+import me.escoffier.vertx.healthchecks.procedures.JdbcProcedureOptions;
+import me.escoffier.vertx.healthchecks.procedures.JvmProcedureOptions;
+import me.escoffier.vertx.healthchecks.procedures.JvmProcedures;
+import me.escoffier.vertx.healthchecks.procedures.ServiceDiscoveryBridge;
+import me.escoffier.vertx.healthchecks.procedures.ServiceDiscoveryBridgeOptions;
+import me.escoffier.vertx.healthchecks.procedures.TcpConnectOptions;
+import me.escoffier.vertx.healthchecks.procedures.TcpConnectProcedure;
+import me.escoffier.vertx.healthchecks.spi.InMemoryHealthCheckMetrics;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -21,6 +43,14 @@ public class Examples {
     hc.register("my-procedure", future -> future.complete(Status.OK()));
   }
 
+  public void shared(Vertx vertx, Router router) {
+    // In the start method of each verticle instance
+    HealthChecks hc = HealthChecks.shared(vertx)
+      .register("my-procedure", future -> future.complete(Status.OK()));
+
+    router.get("/health*").handler(HealthCheckHandler.create(hc));
+  }
+
   public void example2(Vertx vertx) {
     HealthCheckHandler healthCheckHandler1 = HealthCheckHandler.create(vertx);
     HealthCheckHandler healthCheckHandler2 = HealthCheckHandler.create(HealthChecks.create(vertx));
@@ -82,6 +112,172 @@ public class Examples {
     router.get("/health").handler(healthCheckHandler);
   }
 
+  public void gauges(Vertx vertx, Router router) {
+    HealthCheckHandler healthCheckHandler = HealthCheckHandler.create(vertx);
+
+    healthCheckHandler.register("my-pool", future -> {
+      int used = 8;
+      int max = 10;
+      future.complete(new Status().setOk(used < max)
+        .gauge("used", used)
+        .gauge("usage", (double) used / max));
+    });
+
+    router.get("/health").handler(healthCheckHandler);
+  }
+
+  public void history(Vertx vertx, Router router) {
+    HealthCheckHandler healthCheckHandler = HealthCheckHandler.create(vertx)
+      // Serve the history of the procedures on /health/my-procedure?history=true
+      .setHistoryEnabled(true);
+
+    router.get("/health*").handler(healthCheckHandler);
+  }
+
+  public void thresholds(Vertx vertx, Router router) {
+    HealthCheckHandler healthCheckHandler = HealthCheckHandler.create(vertx);
+
+    // Reported as DOWN after 3 consecutive failures, and as UP again after 2 consecutive successes
+    healthCheckHandler.register("my-procedure-name",
+      new ProcedureOptions().setTimeout(500).setFall(3).setRise(2),
+      future -> future.complete(Status.OK()));
+
+    router.get("/health*").handler(healthCheckHandler);
+  }
+
+  public void blocking(Vertx vertx, Router router) {
+    HealthCheckHandler healthCheckHandler = HealthCheckHandler.create(vertx);
+
+    // Reported as blocking when running more than 10 ms on the event loop,
+    // and executed on a worker thread after 3 consecutive blocking executions
+    healthCheckHandler.register("my-procedure-name",
+      new ProcedureOptions().setBlockingThreshold(10).setOffloadAfter(3),
+      future -> future.complete(Status.OK()));
+
+    router.get("/health*").handler(healthCheckHandler);
+  }
+
+  public void metrics(Vertx vertx, Router router) {
+    InMemoryHealthCheckMetrics metrics = new InMemoryHealthCheckMetrics();
+    HealthChecks healthChecks = HealthChecks.create(vertx, metrics);
+
+    router.get("/metrics/health").handler(rc -> rc.response().end(metrics.toJson().encode()));
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void eventStream(Vertx vertx, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // Execute the procedures every 5 seconds and push the changes to the subscribers
+    router.get("/health-events").handler(HealthCheckEventStreamHandler.create(vertx, healthChecks, 5000));
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void statusNotifications(Vertx vertx) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // Execute the procedures every second, and publish the transitions stable for 5 seconds
+    HealthStatusNotifier.create(vertx, healthChecks, HealthStatusNotifier.DEFAULT_ADDRESS, 1000, 5000);
+
+    vertx.eventBus().<JsonObject>consumer(HealthStatusNotifier.DEFAULT_ADDRESS, message -> {
+      // {"path": "my-group/A", "previous": "UP", "status": "DOWN", "timestamp": 1487081234567}
+      JsonObject transition = message.body();
+      String path = transition.getString("path");
+      String status = transition.getString("status");
+    });
+  }
+
+  public void authenticationCache(Vertx vertx, AuthProvider provider) {
+    HealthCheckHandler handler = HealthCheckHandler.create(vertx, provider)
+      // Only these headers or parameters are passed to the auth provider
+      .setCredentialNames("X-Username", "X-Password")
+      // Keep up to 100 successful authentications for 1 minute
+      .setAuthenticationCache(100, 60000);
+  }
+
+  public void jvm(Vertx vertx, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // Registers jvm/heap, jvm/gc, jvm/threads, jvm/file-descriptors and jvm/deadlocks
+    JvmProcedures.register(vertx, healthChecks, new JvmProcedureOptions()
+      .setInterval(10000)
+      .setMaxHeapUsage(0.95)
+      .setMaxThreads(2000));
+
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void eventLoopLag(Vertx vertx, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // DOWN when an event loop is more than 200 ms late over the last 10 seconds
+    healthChecks.register("event-loops", EventLoopLagProcedure.create(vertx, new EventLoopLagOptions()
+      .setInterval(100)
+      .setWindow(10000)
+      .setMaxLag(200)));
+
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void diskSpace(Vertx vertx, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // DOWN when less than 1 GB or 5% of the disk is usable, or when the directories cannot be written
+    healthChecks.register("disk", DiskSpaceProcedure.create(vertx, new DiskSpaceOptions()
+      .addPath("/var/lib/my-application")
+      .addPath("/tmp")
+      .setMinUsableSpace(1024L * 1024 * 1024)
+      .setMinUsablePercentage(5)));
+
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void jdbcValidation(Vertx vertx, JDBCClient jdbcClient, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // DOWN when the validation query fails or does not complete within 500 ms, below the 1 second timeout of the
+    // procedure
+    healthChecks.register("database", JdbcProcedure.create(vertx, jdbcClient, new JdbcProcedureOptions()
+      .setQuery("SELECT 1 FROM DUAL")
+      .setTimeout(500)));
+
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void endpoints(Vertx vertx, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // DOWN unless the endpoint answers 200 within 250 ms
+    healthChecks.register("catalog", HttpEndpointProcedure.create(vertx, new HttpEndpointOptions()
+      .setHost("catalog.example.com")
+      .setPort(443)
+      .setSsl(true)
+      .setUri("/health")
+      .addExpectedStatus(200)
+      .setMaxLatency(250)
+      .setTimeout(500)));
+
+    // DOWN when a connection cannot be established within 500 ms
+    healthChecks.register("cache", TcpConnectProcedure.create(vertx, new TcpConnectOptions()
+      .setHost("cache.example.com")
+      .setPort(6379)
+      .setTimeout(500)));
+
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
+  public void serviceDiscovery(Vertx vertx, ServiceDiscovery discovery, Router router) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+
+    // Registers a procedure per record in the "services" group, probing at most 8 endpoints concurrently
+    ServiceDiscoveryBridge.create(vertx, healthChecks, discovery, new ServiceDiscoveryBridgeOptions()
+      .setGroup("services")
+      .setConcurrency(8)
+      .setTimeout(500));
+
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+  }
+
   public void jdbc(JDBCClient jdbcClient, HealthCheckHandler handler) {
     handler.register("database",
       future -> jdbcClient.getConnection(connection -> {
@@ -122,8 +318,31 @@ public class Examples {
   }
 
   public void publishOnEventBus(Vertx vertx, HealthChecks healthChecks) {
-    vertx.eventBus().consumer("health",
-      message -> healthChecks.invoke(message::reply));
+    // Listen on the "health" address
+    HealthCheckService.create(vertx, healthChecks, "health");
+  }
+
+  public void queryOnEventBus(Vertx vertx) {
+    DeliveryOptions options = new DeliveryOptions()
+      .addHeader("path", "a-group")
+      .addHeader("detail", "outcome")
+      .addHeader("timeout", "500");
+    vertx.eventBus().<JsonObject>send("health", "", options, reply -> {
+      if (reply.succeeded()) {
+        // {"outcome": "UP"} or {"outcome": "DOWN"}
+        String outcome = reply.result().body().getString("outcome");
+      }
+    });
+  }
+
+  public void mount(Vertx vertx) {
+    HealthChecks healthChecks = HealthChecks.create(vertx)
+      .mount("services/inventory", new MountOptions()
+        .setAddress("inventory-health")
+        .setTtl(10000))
+      .mount("services/payment", new MountOptions()
+        .setUrl("http://payment:8080/health")
+        .setTimeout(500));
   }
 
 }
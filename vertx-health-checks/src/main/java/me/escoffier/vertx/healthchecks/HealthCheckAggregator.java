@@ -0,0 +1,94 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.impl.HealthCheckAggregatorImpl;
+
+/**
+ * Gathers the health of all the nodes of a clustered Vert.x application. Each node exposes its health checks using
+ * a {@link HealthCheckService} listening on the same address. The aggregator publishes a request to all these
+ * services, gathers the replies until a deadline, and merges them in a single report:
+ * <p>
+ * <pre>
+ * {
+ *   "outcome" : "DOWN",
+ *   "nodes" : {
+ *     "node-1" : { "outcome" : "UP", "checks" : [ ... ] },
+ *     "node-2" : { "outcome" : "UNKNOWN" }
+ *   }
+ * }
+ * </pre>
+ * <p>
+ * Nodes that are expected (see {@link #expect(String)}) or that have replied to a previous request, but do not
+ * reply before the deadline, are reported as {@code UNKNOWN}. Once all these nodes have replied, the report is
+ * produced without waiting for the deadline. The outcome is {@code UP} if at least one node
+ * replied and all nodes are {@code UP}. The number of gathered replies is bounded: extra replies are ignored and
+ * the report is marked as {@code truncated}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public interface HealthCheckAggregator {
+
+  /**
+   * The default deadline, in milliseconds.
+   */
+  long DEFAULT_TIMEOUT = 2000;
+
+  /**
+   * The default maximum number of nodes.
+   */
+  int DEFAULT_MAX_NODES = 256;
+
+  /**
+   * Creates a new {@link HealthCheckAggregator} sending requests to {@link HealthCheckService#DEFAULT_ADDRESS},
+   * using the default deadline and maximum number of nodes.
+   *
+   * @param vertx the Vert.x instance, must not be {@code null}
+   * @return the created aggregator
+   */
+  static HealthCheckAggregator create(Vertx vertx) {
+    return create(vertx, HealthCheckService.DEFAULT_ADDRESS, DEFAULT_TIMEOUT, DEFAULT_MAX_NODES);
+  }
+
+  /**
+   * Creates a new {@link HealthCheckAggregator}.
+   *
+   * @param vertx    the Vert.x instance, must not be {@code null}
+   * @param address  the address of the {@link HealthCheckService}s, must not be {@code null}
+   * @param timeout  the deadline in milliseconds. Nodes are asked to complete their procedures within 80% of this
+   *                 deadline, to leave some room for the transport.
+   * @param maxNodes the maximum number of nodes included in a report, must be positive
+   * @return the created aggregator
+   */
+  static HealthCheckAggregator create(Vertx vertx, String address, long timeout, int maxNodes) {
+    return new HealthCheckAggregatorImpl(vertx, address, timeout, maxNodes);
+  }
+
+  /**
+   * Declares a node that is expected to reply. If it does not, it's reported as {@code UNKNOWN}. The services
+   * created without a node id are identified by the node id of the cluster manager.
+   *
+   * @param nodeId the node id, must not be {@code null}
+   * @return the current {@link HealthCheckAggregator}
+   */
+  @Fluent
+  HealthCheckAggregator expect(String nodeId);
+
+  /**
+   * Gathers the full reports of all the nodes.
+   *
+   * @param resultHandler the handler receiving the merged report, must not be {@code null}
+   */
+  void gather(Handler<JsonObject> resultHandler);
+
+  /**
+   * Gathers the reports of all the nodes.
+   *
+   * @param path          the path of the procedure to invoke on each node, {@code null} for the root
+   * @param detail        the detail level of the node reports, see {@link HealthCheckService#DETAIL_HEADER}
+   * @param resultHandler the handler receiving the merged report, must not be {@code null}
+   */
+  void gather(String path, String detail, Handler<JsonObject> resultHandler);
+}
@@ -0,0 +1,55 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+import me.escoffier.vertx.healthchecks.impl.HealthCheckEventStreamHandlerImpl;
+
+/**
+ * A Vert.x Web handler pushing the health status to its clients using Server-Sent Events. Upon subscription, the
+ * client receives a {@code snapshot} event containing the current report. Then it only receives {@code delta}
+ * events listing the procedures (and groups) whose status has changed.
+ * <p>
+ * The procedures are executed periodically, once per period whatever the number of subscribers, and only while
+ * there is at least one subscriber. The events are not buffered for slow subscribers: when the write queue of a
+ * subscriber is full, its events are dropped, and it receives a new {@code snapshot} once its queue has drained.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public interface HealthCheckEventStreamHandler extends Handler<RoutingContext> {
+
+  /**
+   * The default period between two executions of the procedures, in milliseconds.
+   */
+  long DEFAULT_PERIOD = 1000;
+
+  /**
+   * Creates an instance of the default implementation of the {@link HealthCheckEventStreamHandler}.
+   *
+   * @param vertx        the Vert.x instance, must not be {@code null}
+   * @param healthChecks the health checks object to use, must not be {@code null}
+   * @param period       the period between two executions of the procedures, in milliseconds
+   * @return the created instance
+   */
+  static HealthCheckEventStreamHandler create(Vertx vertx, HealthChecks healthChecks, long period) {
+    return new HealthCheckEventStreamHandlerImpl(vertx, healthChecks, period);
+  }
+
+  /**
+   * Creates an instance of the default implementation of the {@link HealthCheckEventStreamHandler} executing the
+   * procedures every second.
+   *
+   * @param vertx        the Vert.x instance, must not be {@code null}
+   * @param healthChecks the health checks object to use, must not be {@code null}
+   * @return the created instance
+   */
+  static HealthCheckEventStreamHandler create(Vertx vertx, HealthChecks healthChecks) {
+    return create(vertx, healthChecks, DEFAULT_PERIOD);
+  }
+
+  /**
+   * Closes the handler, ending the responses of all subscribers.
+   */
+  void close();
+
+}
@@ -86,6 +86,18 @@ public interface HealthCheckHandler extends Handler<RoutingContext> {
   @Fluent
   HealthCheckHandler register(String name, Handler<Future<Status>> procedure);
 
+  /**
+   * Registers a health check procedure configured with the given options.
+   *
+   * @param name      the name of the procedure, must not be {@code null} or empty
+   * @param options   the procedure options, must not be {@code null}
+   * @param procedure the procedure, must not be {@code null}
+   * @return the current {@link HealthCheckHandler}
+   * @see HealthChecks#register(String, ProcedureOptions, Handler)
+   */
+  @Fluent
+  HealthCheckHandler register(String name, ProcedureOptions options, Handler<Future<Status>> procedure);
+
   /**
    * Unregisters a procedure.
    *
@@ -95,5 +107,40 @@ public interface HealthCheckHandler extends Handler<RoutingContext> {
   @Fluent
   HealthCheckHandler unregister(String name);
 
+  /**
+   * Restricts the credentials passed to the authentication provider to the given names. For each name, the value
+   * is looked up in the request headers, then in the request parameters (including form attributes), and finally
+   * in the JSON payload. By default, all headers, parameters and the JSON payload are passed to the provider.
+   *
+   * @param names the names of the headers / parameters composing the credentials, {@code null} or empty to pass
+   *              everything
+   * @return the current {@link HealthCheckHandler}
+   */
+  @Fluent
+  HealthCheckHandler setCredentialNames(String... names);
+
+  /**
+   * Enables the caching of successful authentications. The cache is keyed by a hash of the credentials, so
+   * probes sent with the same credentials within the time-to-live do not call the authentication provider.
+   * Failed authentications are never cached.
+   *
+   * @param maxSize the maximum number of cached authentications, {@code 0} to disable the cache
+   * @param ttl     the time-to-live of the cached authentications, in milliseconds
+   * @return the current {@link HealthCheckHandler}
+   */
+  @Fluent
+  HealthCheckHandler setAuthenticationCache(int maxSize, long ttl);
+
+  /**
+   * Enables the {@code history} query parameter. When enabled, requests such as
+   * {@code GET /health/my-procedure?history=true} get the last results of the procedure (see
+   * {@link HealthChecks#history(String)}) instead of executing it. Disabled by default.
+   *
+   * @param enabled whether or not the history is exposed
+   * @return the current {@link HealthCheckHandler}
+   */
+  @Fluent
+  HealthCheckHandler setHistoryEnabled(boolean enabled);
+
 
 }
@@ -0,0 +1,120 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import me.escoffier.vertx.healthchecks.impl.HealthCheckServiceImpl;
+
+/**
+ * Exposes a {@link HealthChecks} object on the event bus. The service listens on an address and replies to each
+ * message with the health report. The message body is ignored, the following headers configure the invocation:
+ * <p>
+ * <ul>
+ * <li>{@link #PATH_HEADER} - the path of the invoked procedure, the root when not set</li>
+ * <li>{@link #DETAIL_HEADER} - the detail level of the reply: {@link #DETAIL_OUTCOME}, {@link #DETAIL_STATUS}
+ * or {@link #DETAIL_FULL} (default)</li>
+ * <li>{@link #TIMEOUT_HEADER} - the deadline of the invocation in milliseconds</li>
+ * </ul>
+ * <p>
+ * If the procedure cannot be found, the message is failed with the {@code 404} code. Invalid headers, or
+ * procedures that cannot be invoked, fail the message with the {@code 400} code.
+ * <p>
+ * When the message contains the {@link #REPLY_TO_HEADER} header, typically because it has been published to all
+ * the nodes of a cluster by a {@link HealthCheckAggregator}, the service does not reply to the message, but sends
+ * a JSON object containing its {@code node} id and the {@code report} to the given address.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public interface HealthCheckService {
+
+  /**
+   * The default address.
+   */
+  String DEFAULT_ADDRESS = "health";
+
+  /**
+   * The header selecting the path of the invoked procedure.
+   */
+  String PATH_HEADER = "path";
+
+  /**
+   * The header selecting the detail level of the reply.
+   */
+  String DETAIL_HEADER = "detail";
+
+  /**
+   * The header setting the deadline of the invocation, in milliseconds.
+   */
+  String TIMEOUT_HEADER = "timeout";
+
+  /**
+   * The header containing the address on which the report is sent, instead of replying to the message.
+   */
+  String REPLY_TO_HEADER = "reply-to";
+
+  /**
+   * Detail level: the reply only contains the overall {@code outcome}.
+   */
+  String DETAIL_OUTCOME = "outcome";
+
+  /**
+   * Detail level: the reply contains the status of each procedure, without the data.
+   */
+  String DETAIL_STATUS = "status";
+
+  /**
+   * Detail level: the reply contains the full report.
+   */
+  String DETAIL_FULL = "full";
+
+  /**
+   * Creates a new {@link HealthCheckService} listening on the given address. When Vert.x is clustered, the node is
+   * identified by the node id of the cluster manager, otherwise by a random id.
+   *
+   * @param vertx        the Vert.x instance, must not be {@code null}
+   * @param healthChecks the health checks object to expose, must not be {@code null}
+   * @param address      the address, must not be {@code null}
+   * @return the created service
+   */
+  static HealthCheckService create(Vertx vertx, HealthChecks healthChecks, String address) {
+    return create(vertx, healthChecks, address, HealthCheckServiceImpl.defaultNodeId(vertx));
+  }
+
+  /**
+   * Creates a new {@link HealthCheckService} listening on the given address, and identified by the given node id
+   * in cluster-wide reports.
+   *
+   * @param vertx        the Vert.x instance, must not be {@code null}
+   * @param healthChecks the health checks object to expose, must not be {@code null}
+   * @param address      the address, must not be {@code null}
+   * @param nodeId       the node id, must not be {@code null}
+   * @return the created service
+   */
+  static HealthCheckService create(Vertx vertx, HealthChecks healthChecks, String address, String nodeId) {
+    return new HealthCheckServiceImpl(vertx, healthChecks, address, nodeId);
+  }
+
+  /**
+   * Creates a new {@link HealthCheckService} listening on the {@link #DEFAULT_ADDRESS}.
+   *
+   * @param vertx        the Vert.x instance, must not be {@code null}
+   * @param healthChecks the health checks object to expose, must not be {@code null}
+   * @return the created service
+   */
+  static HealthCheckService create(Vertx vertx, HealthChecks healthChecks) {
+    return create(vertx, healthChecks, DEFAULT_ADDRESS);
+  }
+
+  /**
+   * @return the address on which the service listens.
+   */
+  String address();
+
+  /**
+   * @return the id identifying the node in cluster-wide reports.
+   */
+  String nodeId();
+
+  /**
+   * Stops listening on the event bus.
+   */
+  void close();
+}
@@ -1,13 +1,16 @@
 package me.escoffier.vertx.healthchecks;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import me.escoffier.vertx.healthchecks.impl.HealthChecksImpl;
+import me.escoffier.vertx.healthchecks.spi.HealthCheckMetrics;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -15,6 +18,11 @@ import me.escoffier.vertx.healthchecks.impl.HealthChecksImpl;
 @VertxGen
 public interface HealthChecks {
 
+  /**
+   * The name of the default shared instance.
+   */
+  String DEFAULT_SHARED_NAME = "default";
+
   /**
    * Creates a new instance of the default implementation of {@link HealthChecks}.
    *
@@ -25,6 +33,48 @@ public interface HealthChecks {
     return new HealthChecksImpl(vertx);
   }
 
+  /**
+   * Creates a new instance of the default implementation of {@link HealthChecks} reporting the executions of the
+   * procedures to the given metrics. The {@link HealthCheckHandler} created from this instance also reports the
+   * HTTP probes and the authentication failures.
+   *
+   * @param vertx   the instance of Vert.x, must not be {@code null}
+   * @param metrics the metrics, must not be {@code null}
+   * @return the created instance
+   */
+  @GenIgnore
+  static HealthChecks create(Vertx vertx, HealthCheckMetrics metrics) {
+    return new HealthChecksImpl(vertx, metrics);
+  }
+
+  /**
+   * Gets the {@link HealthChecks} shared by all the users of the given Vert.x instance, and creates it if needed.
+   * It is a shortcut for {@code shared(vertx, "default")}.
+   *
+   * @param vertx the instance of Vert.x, must not be {@code null}
+   * @return the shared instance
+   * @see #shared(Vertx, String)
+   */
+  static HealthChecks shared(Vertx vertx) {
+    return shared(vertx, DEFAULT_SHARED_NAME);
+  }
+
+  /**
+   * Gets the {@link HealthChecks} with the given name shared by all the users of the given Vert.x instance, and
+   * creates it if needed.
+   * <p>
+   * When a verticle is deployed with several instances, each instance gets the same object, so the procedures are
+   * executed once per invocation whatever the number of instances. Registering a procedure with an existing name
+   * replaces it, so each instance can register the same procedures.
+   *
+   * @param vertx the instance of Vert.x, must not be {@code null}
+   * @param name  the name of the shared instance, must not be {@code null}
+   * @return the shared instance
+   */
+  static HealthChecks shared(Vertx vertx, String name) {
+    return HealthChecksImpl.shared(vertx, name);
+  }
+
   /**
    * Registers a health check procedure.
    * <p>
@@ -41,6 +91,39 @@ public interface HealthChecks {
   @Fluent
   HealthChecks register(String name, Handler<Future<Status>> procedure);
 
+  /**
+   * Registers a health check procedure configured with the given options.
+   * <p>
+   * The options configure the timeout of the procedure and its rise and fall thresholds. With thresholds, the
+   * reported status only changes after several consecutive results with the other status, so a single slow or
+   * failed execution does not flip the procedure. In this case, the data of the procedure contains the
+   * {@code raw-status} (the status of the last execution) and the {@code debounced-status} (the reported status).
+   *
+   * @param name      the name of the procedure, must not be {@code null} or empty
+   * @param options   the procedure options, must not be {@code null}
+   * @param procedure the procedure, must not be {@code null}
+   * @return the current {@link HealthChecks}
+   * @see #register(String, Handler)
+   */
+  @Fluent
+  HealthChecks register(String name, ProcedureOptions options, Handler<Future<Status>> procedure);
+
+  /**
+   * Mounts remote health checks as a subtree of the procedures. The remote health checks are reached on the event
+   * bus or over HTTP, as configured in the given options.
+   * <p>
+   * The remote report is cached for the configured time to live. Once expired, the cached report is still used
+   * while a single remote call refreshes it in the background, so invocations only wait for the remote call when
+   * no report has been received yet. If the remote call fails or times out, the subtree is considered as `DOWN`.
+   * The mounted subtree is always invoked as a whole, and is removed using {@link #unregister(String)}.
+   *
+   * @param name    the name of the subtree, must not be {@code null} or empty
+   * @param options the options locating the remote health checks, must not be {@code null}
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  HealthChecks mount(String name, MountOptions options);
+
   /**
    * Unregisters a procedure.
    *
@@ -51,8 +134,23 @@ public interface HealthChecks {
   HealthChecks unregister(String name);
 
 
+  /**
+   * Gets the last results of the procedure with the given name. Each procedure keeps its last 32 results, each
+   * containing the completion {@code timestamp}, the {@code status} ({@code UP} or {@code DOWN}), the execution
+   * {@code latency} in milliseconds and, if the procedure failed, timed out or threw an exception, the
+   * {@code error} kind ({@code failure}, {@code timeout} or {@code exception}).
+   *
+   * @param name the name of the procedure, must not be {@code null}
+   * @return the results, oldest first, {@code null} if there is no procedure with the given name. Groups and
+   * mounted subtrees have no history.
+   */
+  JsonArray history(String name);
+
   /**
    * Invokes the registered procedures and computes the outcome.
+   * <p>
+   * Concurrent invocations of the same procedure share the same execution. The result handler is called on the
+   * context of the invocation.
    *
    * @param resultHandler the result handler, must not be {@code null}. The handler received the computed
    *                      {@link JsonObject}.
@@ -74,4 +172,35 @@ public interface HealthChecks {
   @Fluent
   HealthChecks invoke(String name, Handler<AsyncResult<JsonObject>> resultHandler);
 
+  /**
+   * Invokes the registered procedure with the given name and sub-procedures using the given options. It computes
+   * the overall outcome.
+   *
+   * @param name          the name of the procedure, {@code null}, empty or {@code /} for the root
+   * @param options       the invocation options, must not be {@code null}
+   * @param resultHandler the result handler, must not be {@code null}. The handler received an
+   *                      {@link AsyncResult} marked as failed if the procedure with the given name cannot
+   *                      be found or invoked.
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  HealthChecks invoke(String name, InvocationOptions options, Handler<AsyncResult<JsonObject>> resultHandler);
+
+  /**
+   * Invokes the registered procedure with the given name and sub-procedures. Unlike
+   * {@link #invoke(String, Handler)}, the result of each leaf procedure is passed to the given
+   * {@code checkHandler} as soon as it completes. These results contain the {@code path} of the procedure in the
+   * tree. Once all procedures have completed, the {@code resultHandler} receives the overall outcome.
+   *
+   * @param name          the name of the procedure, {@code null}, empty or {@code /} for the root
+   * @param checkHandler  the handler receiving the result of each leaf procedure, must not be {@code null}
+   * @param resultHandler the result handler, must not be {@code null}. The handler received an
+   *                      {@link AsyncResult} marked as failed if the procedure with the given name cannot
+   *                      be found or invoked.
+   * @return the current {@link HealthChecks}
+   */
+  @Fluent
+  HealthChecks invoke(String name, Handler<JsonObject> checkHandler,
+                      Handler<AsyncResult<JsonObject>> resultHandler);
+
 }
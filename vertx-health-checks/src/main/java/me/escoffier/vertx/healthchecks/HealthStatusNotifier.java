@@ -0,0 +1,54 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import me.escoffier.vertx.healthchecks.impl.HealthStatusNotifierImpl;
+
+/**
+ * Publishes a message on the event bus when a procedure, a group or the overall outcome changes state. The
+ * procedures are executed periodically, and each message describes a single transition:
+ * <p>
+ * <pre>
+ * {
+ *   "path" : "my-group/my-procedure",
+ *   "previous" : "UP",
+ *   "status" : "DOWN",
+ *   "timestamp" : 1487081234567
+ * }
+ * </pre>
+ * <p>
+ * The root of the tree is identified by the {@code /} path. {@code previous} is absent for new procedures, and
+ * {@code status} is absent for removed procedures.
+ * <p>
+ * Transitions are debounced: a transition is only published once the status of the node has not changed for the
+ * debounce window. A node flapping within the window and ending in its initial state publishes nothing, and a node
+ * going through several states publishes a single message from the last published state to the final state.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public interface HealthStatusNotifier {
+
+  /**
+   * The default address.
+   */
+  String DEFAULT_ADDRESS = "health.changes";
+
+  /**
+   * Creates a new {@link HealthStatusNotifier}, and starts watching the procedures.
+   *
+   * @param vertx        the Vert.x instance, must not be {@code null}
+   * @param healthChecks the health checks object to watch, must not be {@code null}
+   * @param address      the address on which the transitions are published, must not be {@code null}
+   * @param period       the period between two executions of the procedures, in milliseconds
+   * @param debounce     the debounce window in milliseconds, {@code 0} to publish transitions immediately
+   * @return the created notifier
+   */
+  static HealthStatusNotifier create(Vertx vertx, HealthChecks healthChecks, String address, long period,
+                                     long debounce) {
+    return new HealthStatusNotifierImpl(vertx, healthChecks, address, period, debounce);
+  }
+
+  /**
+   * Stops watching the procedures. Pending transitions are discarded.
+   */
+  void close();
+}
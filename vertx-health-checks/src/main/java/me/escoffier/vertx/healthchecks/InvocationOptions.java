@@ -0,0 +1,113 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a single invocation of the health check procedures.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class InvocationOptions {
+
+  /**
+   * The default timeout: no deadline, each procedure uses its own timeout.
+   */
+  public static final long DEFAULT_TIMEOUT = -1;
+
+  /**
+   * The deadline of the invocation, in milliseconds.
+   */
+  private long timeout = DEFAULT_TIMEOUT;
+
+  /**
+   * Whether the latency percentiles of the procedures are reported.
+   */
+  private boolean latencies;
+
+  /**
+   * Whether the execution is traced.
+   */
+  private boolean trace;
+
+  public InvocationOptions() {
+    // Empty constructor
+  }
+
+  public InvocationOptions(InvocationOptions other) {
+    this.timeout = other.timeout;
+    this.latencies = other.latencies;
+    this.trace = other.trace;
+  }
+
+  public InvocationOptions(JsonObject json) {
+    this();
+    InvocationOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    InvocationOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the deadline of the invocation in milliseconds, {@code -1} if none.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the deadline of the invocation. Procedures that have not completed when the deadline is reached are
+   * considered as timed out, even if their own timeout is longer.
+   *
+   * @param timeout the deadline in milliseconds, {@code -1} to use the timeout of each procedure
+   * @return the current options
+   */
+  public InvocationOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return whether or not the latency percentiles of the procedures are included in the report.
+   */
+  public boolean isLatencies() {
+    return latencies;
+  }
+
+  /**
+   * Sets whether or not the report includes the latency percentiles of each procedure. When enabled, the data of
+   * each procedure contains a {@code latency} object with the number of executions, and the {@code p50},
+   * {@code p99} and {@code max} execution times in milliseconds.
+   *
+   * @param latencies {@code true} to include the latencies
+   * @return the current options
+   */
+  public InvocationOptions setLatencies(boolean latencies) {
+    this.latencies = latencies;
+    return this;
+  }
+
+  /**
+   * @return whether or not the execution is traced.
+   */
+  public boolean isTrace() {
+    return trace;
+  }
+
+  /**
+   * Sets whether or not the execution is traced. When enabled, the report contains a {@code trace} section listing
+   * when each procedure and group has been scheduled and started, its duration, whether the procedures timed out,
+   * and how long the groups took to aggregate the results of their children.
+   *
+   * @param trace {@code true} to trace the execution
+   * @return the current options
+   */
+  public InvocationOptions setTrace(boolean trace) {
+    this.trace = trace;
+    return this;
+  }
+}
@@ -0,0 +1,131 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a remote set of health checks mounted as a subtree of the local procedures. The remote
+ * health checks are reached either on the event bus (using the {@link HealthCheckService} address), or over HTTP
+ * (using the URL of a {@link HealthCheckHandler}).
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class MountOptions {
+
+  /**
+   * The default time to live of the cached result: 5 seconds.
+   */
+  public static final long DEFAULT_TTL = 5000;
+
+  /**
+   * The default timeout of the remote call: 1 second.
+   */
+  public static final long DEFAULT_TIMEOUT = 1000;
+
+  private String address;
+
+  private String url;
+
+  private long ttl = DEFAULT_TTL;
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  public MountOptions() {
+    // Empty constructor
+  }
+
+  public MountOptions(MountOptions other) {
+    this.address = other.address;
+    this.url = other.url;
+    this.ttl = other.ttl;
+    this.timeout = other.timeout;
+  }
+
+  public MountOptions(JsonObject json) {
+    this();
+    MountOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    MountOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the event bus address of the remote health checks, {@code null} if not set.
+   */
+  public String getAddress() {
+    return address;
+  }
+
+  /**
+   * Sets the event bus address on which the remote {@link HealthCheckService} is listening. Either the address or
+   * the URL must be set.
+   *
+   * @param address the address
+   * @return the current options
+   */
+  public MountOptions setAddress(String address) {
+    this.address = address;
+    return this;
+  }
+
+  /**
+   * @return the URL of the remote health checks, {@code null} if not set.
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Sets the absolute URL of the remote {@link HealthCheckHandler}, such as
+   * {@code http://my-service:8080/health}. Either the address or the URL must be set.
+   *
+   * @param url the URL
+   * @return the current options
+   */
+  public MountOptions setUrl(String url) {
+    this.url = url;
+    return this;
+  }
+
+  /**
+   * @return the time to live of the cached result in milliseconds.
+   */
+  public long getTtl() {
+    return ttl;
+  }
+
+  /**
+   * Sets how long the result of the remote health checks is reused before being refreshed. Once expired, the
+   * cached result is still returned while it is refreshed in the background.
+   *
+   * @param ttl the time to live in milliseconds
+   * @return the current options
+   */
+  public MountOptions setTtl(long ttl) {
+    this.ttl = ttl;
+    return this;
+  }
+
+  /**
+   * @return the timeout of the remote call in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the timeout of the remote call. When the remote health checks do not reply in time, the mounted subtree
+   * is considered as `DOWN`.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return the current options
+   */
+  public MountOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+}
@@ -0,0 +1,165 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a health check procedure.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class ProcedureOptions {
+
+  /**
+   * The default timeout: 1 second.
+   */
+  public static final long DEFAULT_TIMEOUT = 1000;
+
+  /**
+   * The default number of consecutive failures before reporting the procedure as `DOWN`: 1.
+   */
+  public static final int DEFAULT_FALL = 1;
+
+  /**
+   * The default number of consecutive successes before reporting the procedure as `UP`: 1.
+   */
+  public static final int DEFAULT_RISE = 1;
+
+  /**
+   * The default time the synchronous part of a procedure can run on the event loop before being reported as
+   * blocking: -1, the detection is disabled.
+   */
+  public static final long DEFAULT_BLOCKING_THRESHOLD = -1;
+
+  /**
+   * The default number of consecutive blocking executions before the procedure is moved to a worker thread: 0, the
+   * procedures are never moved.
+   */
+  public static final int DEFAULT_OFFLOAD_AFTER = 0;
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  private int fall = DEFAULT_FALL;
+
+  private int rise = DEFAULT_RISE;
+
+  private long blockingThreshold = DEFAULT_BLOCKING_THRESHOLD;
+
+  private int offloadAfter = DEFAULT_OFFLOAD_AFTER;
+
+  public ProcedureOptions() {
+    // Empty constructor
+  }
+
+  public ProcedureOptions(ProcedureOptions other) {
+    this.timeout = other.timeout;
+    this.fall = other.fall;
+    this.rise = other.rise;
+    this.blockingThreshold = other.blockingThreshold;
+    this.offloadAfter = other.offloadAfter;
+  }
+
+  public ProcedureOptions(JsonObject json) {
+    this();
+    ProcedureOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ProcedureOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the timeout of the procedure in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the timeout of the procedure. Procedures not completed in time are considered as `DOWN`.
+   *
+   * @param timeout the timeout in milliseconds, {@code -1} to disable the timeout
+   * @return the current options
+   */
+  public ProcedureOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return the number of consecutive failures before the procedure is reported as `DOWN`.
+   */
+  public int getFall() {
+    return fall;
+  }
+
+  /**
+   * Sets the number of consecutive `DOWN` results before a procedure reported as `UP` is reported as `DOWN`.
+   *
+   * @param fall the number of consecutive failures, must be strictly positive
+   * @return the current options
+   */
+  public ProcedureOptions setFall(int fall) {
+    this.fall = fall;
+    return this;
+  }
+
+  /**
+   * @return the number of consecutive successes before the procedure is reported as `UP`.
+   */
+  public int getRise() {
+    return rise;
+  }
+
+  /**
+   * Sets the number of consecutive `UP` results before a procedure reported as `DOWN` is reported as `UP`.
+   *
+   * @param rise the number of consecutive successes, must be strictly positive
+   * @return the current options
+   */
+  public ProcedureOptions setRise(int rise) {
+    this.rise = rise;
+    return this;
+  }
+
+  /**
+   * @return the time in milliseconds the procedure can block the event loop before being reported as blocking.
+   */
+  public long getBlockingThreshold() {
+    return blockingThreshold;
+  }
+
+  /**
+   * Sets the time the synchronous part of the procedure can run on the event loop. Executions taking longer are
+   * reported as blocking the event loop.
+   *
+   * @param blockingThreshold the threshold in milliseconds, {@code -1} to disable the detection
+   * @return the current options
+   */
+  public ProcedureOptions setBlockingThreshold(long blockingThreshold) {
+    this.blockingThreshold = blockingThreshold;
+    return this;
+  }
+
+  /**
+   * @return the number of consecutive blocking executions before the procedure is moved to a worker thread.
+   */
+  public int getOffloadAfter() {
+    return offloadAfter;
+  }
+
+  /**
+   * Sets the number of consecutive executions blocking the event loop after which the procedure is executed on a
+   * worker thread.
+   *
+   * @param offloadAfter the number of consecutive blocking executions, {@code 0} to never move the procedure
+   * @return the current options
+   */
+  public ProcedureOptions setOffloadAfter(int offloadAfter) {
+    this.offloadAfter = offloadAfter;
+    return this;
+  }
+}
@@ -3,6 +3,9 @@ package me.escoffier.vertx.healthchecks;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Represents the outcome of a health check procedure. Each procedure produces a {@link Status} indicating either OK
  * or KO. Optionally, it can also provide additional data.
@@ -12,6 +15,18 @@ import io.vertx.core.json.JsonObject;
 @DataObject(generateConverter = true)
 public class Status {
 
+  /**
+   * The shared status for positive outcomes without data. It cannot be modified, so completing procedures with it
+   * allocates nothing. Use {@link #OK()} to get a status that can be modified.
+   */
+  public static final Status UP = new Status(true, true);
+
+  /**
+   * The shared status for negative outcomes without data. It cannot be modified, so completing procedures with it
+   * allocates nothing. Use {@link #KO()} to get a status that can be modified.
+   */
+  public static final Status DOWN = new Status(false, true);
+
   /**
    * Creates a status when everything is fine.
    *
@@ -55,32 +70,81 @@ public class Status {
   private boolean ok;
 
   /**
-   * Optional metadata attached to the status.
+   * Optional metadata attached to the status, created lazily.
    */
-  private JsonObject data = new JsonObject();
+  private JsonObject data;
 
   /**
    * Flag denoting a failure, such as a timeout or a procedure throwing an exception.
    */
   private boolean procedureInError;
 
+  /**
+   * The numeric measurements attached to the status, created lazily. Values are stored as {@code long}, doubles
+   * using their raw bits.
+   */
+  private String[] gaugeNames;
+  private long[] gaugeValues;
+  private boolean[] gaugeLongs;
+  private int gaugeCount;
+
+  /**
+   * Whether the status is one of the shared statuses, which cannot be modified.
+   */
+  private final boolean shared;
+
   public Status() {
-    // Empty constructor
+    this.shared = false;
+  }
+
+  private Status(boolean ok, boolean shared) {
+    this.ok = ok;
+    this.shared = shared;
   }
 
   public Status(Status other) {
+    this.shared = false;
     this.ok = other.ok;
     this.data = other.data;
     this.procedureInError = other.procedureInError;
+    if (other.gaugeCount > 0) {
+      this.gaugeNames = other.gaugeNames.clone();
+      this.gaugeValues = other.gaugeValues.clone();
+      this.gaugeLongs = other.gaugeLongs.clone();
+      this.gaugeCount = other.gaugeCount;
+    }
   }
 
   public Status(JsonObject json) {
+    this.shared = false;
     StatusConverter.fromJson(json, this);
+    JsonObject gauges = json.getJsonObject("gauges");
+    if (gauges != null) {
+      for (String name : gauges.fieldNames()) {
+        Object value = gauges.getValue(name);
+        if (value instanceof Long || value instanceof Integer) {
+          gauge(name, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+          gauge(name, ((Number) value).doubleValue());
+        }
+      }
+    }
   }
 
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     StatusConverter.toJson(this, json);
+    if (gaugeCount > 0) {
+      JsonObject gauges = new JsonObject();
+      for (int i = 0; i < gaugeCount; i++) {
+        if (gaugeLongs[i]) {
+          gauges.put(gaugeNames[i], gaugeValues[i]);
+        } else {
+          gauges.put(gaugeNames[i], Double.longBitsToDouble(gaugeValues[i]));
+        }
+      }
+      json.put("gauges", gauges);
+    }
     return json;
   }
 
@@ -98,6 +162,7 @@ public class Status {
    * @return the current status
    */
   public Status setOk(boolean ok) {
+    checkNotShared();
     this.ok = ok;
     return this;
   }
@@ -119,12 +184,25 @@ public class Status {
   }
 
   /**
-   * @return the additional metadata.
+   * @return the additional metadata. For the shared statuses, an empty object that is not attached to the status.
    */
   public JsonObject getData() {
+    if (data == null) {
+      if (shared) {
+        return new JsonObject();
+      }
+      data = new JsonObject();
+    }
     return data;
   }
 
+  /**
+   * @return whether or not the status carries metadata. Unlike {@link #getData()}, it never creates the metadata.
+   */
+  public boolean hasData() {
+    return data != null && !data.isEmpty();
+  }
+
   /**
    * Sets the metadata.
    *
@@ -132,10 +210,120 @@ public class Status {
    * @return the current status
    */
   public Status setData(JsonObject data) {
+    checkNotShared();
     this.data = data;
     return this;
   }
 
+  /**
+   * Attaches a numeric measurement, such as a pool usage ratio, to the status. Unlike the data, gauges are stored
+   * without boxing and can be read without parsing JSON. They are reported in the data of the procedure.
+   *
+   * @param name  the name of the gauge, must not be {@code null}. An existing gauge with the same name is replaced.
+   * @param value the value
+   * @return the current status
+   */
+  public Status gauge(String name, double value) {
+    storeGauge(name, Double.doubleToRawLongBits(value), false);
+    return this;
+  }
+
+  /**
+   * Attaches an integral measurement, such as a queue depth, to the status.
+   *
+   * @param name  the name of the gauge, must not be {@code null}. An existing gauge with the same name is replaced.
+   * @param value the value
+   * @return the current status
+   * @see #gauge(String, double)
+   */
+  public Status gauge(String name, long value) {
+    storeGauge(name, value, true);
+    return this;
+  }
+
+  private void storeGauge(String name, long bits, boolean integral) {
+    Objects.requireNonNull(name);
+    checkNotShared();
+    int index = gaugeIndex(name);
+    if (index < 0) {
+      if (gaugeNames == null) {
+        gaugeNames = new String[4];
+        gaugeValues = new long[4];
+        gaugeLongs = new boolean[4];
+      } else if (gaugeCount == gaugeNames.length) {
+        gaugeNames = Arrays.copyOf(gaugeNames, gaugeCount * 2);
+        gaugeValues = Arrays.copyOf(gaugeValues, gaugeCount * 2);
+        gaugeLongs = Arrays.copyOf(gaugeLongs, gaugeCount * 2);
+      }
+      index = gaugeCount++;
+      gaugeNames[index] = name;
+    }
+    gaugeValues[index] = bits;
+    gaugeLongs[index] = integral;
+  }
+
+  /**
+   * @return the number of gauges attached to the status.
+   */
+  public int gaugeCount() {
+    return gaugeCount;
+  }
+
+  /**
+   * @param name the name of the gauge
+   * @return the index of the gauge with the given name, {@code -1} if the status has no such gauge.
+   */
+  public int gaugeIndex(String name) {
+    for (int i = 0; i < gaugeCount; i++) {
+      if (gaugeNames[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param index the index of the gauge, between {@code 0} and {@link #gaugeCount()} (excluded)
+   * @return the name of the gauge
+   */
+  public String gaugeName(int index) {
+    checkGaugeIndex(index);
+    return gaugeNames[index];
+  }
+
+  /**
+   * @param index the index of the gauge, between {@code 0} and {@link #gaugeCount()} (excluded)
+   * @return whether or not the gauge has been attached as a {@code long}
+   */
+  public boolean gaugeIsLong(int index) {
+    checkGaugeIndex(index);
+    return gaugeLongs[index];
+  }
+
+  /**
+   * @param index the index of the gauge, between {@code 0} and {@link #gaugeCount()} (excluded)
+   * @return the value of the gauge as a {@code double}
+   */
+  public double gaugeDouble(int index) {
+    checkGaugeIndex(index);
+    return gaugeLongs[index] ? gaugeValues[index] : Double.longBitsToDouble(gaugeValues[index]);
+  }
+
+  /**
+   * @param index the index of the gauge, between {@code 0} and {@link #gaugeCount()} (excluded)
+   * @return the value of the gauge as a {@code long}, truncated for gauges attached as {@code double}
+   */
+  public long gaugeLong(int index) {
+    checkGaugeIndex(index);
+    return gaugeLongs[index] ? gaugeValues[index] : (long) Double.longBitsToDouble(gaugeValues[index]);
+  }
+
+  private void checkGaugeIndex(int index) {
+    if (index < 0 || index >= gaugeCount) {
+      throw new IndexOutOfBoundsException("Invalid gauge index: " + index);
+    }
+  }
+
   /**
    * @return whether or not the status denotes a failure of a procedure.
    */
@@ -150,7 +338,14 @@ public class Status {
    * @return the current status
    */
   public Status setProcedureInError(boolean procedureInError) {
+    checkNotShared();
     this.procedureInError = procedureInError;
     return this;
   }
+
+  private void checkNotShared() {
+    if (shared) {
+      throw new IllegalStateException("The shared statuses cannot be modified");
+    }
+  }
 }
@@ -0,0 +1,89 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of successful authentications. Entries are keyed by a hash of the credentials, so the
+ * credentials themselves are never retained, and expire after a configurable time-to-live. When the cache is full,
+ * the least recently used entry is evicted.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+class AuthenticationCache {
+
+  private final long ttl;
+  private final Map<String, Long> entries;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxSize the maximum number of entries, must be positive
+   * @param ttl     the time-to-live of the entries in milliseconds, must be positive
+   */
+  AuthenticationCache(int maxSize, long ttl) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The cache size must be positive");
+    }
+    if (ttl <= 0) {
+      throw new IllegalArgumentException("The time-to-live must be positive");
+    }
+    this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+    this.entries = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Computes the key of the given credentials.
+   *
+   * @param credentials the credentials
+   * @return the key
+   */
+  static String key(JsonObject credentials) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder()
+        .encodeToString(digest.digest(credentials.encode().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * @param key the key
+   * @return {@code true} if the credentials with the given key have been successfully authenticated and the entry
+   * has not expired yet
+   */
+  synchronized boolean contains(String key) {
+    Long expiration = entries.get(key);
+    if (expiration == null) {
+      return false;
+    }
+    if (expiration - System.nanoTime() < 0) {
+      entries.remove(key);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Records a successful authentication.
+   *
+   * @param key the key of the authenticated credentials
+   */
+  synchronized void put(String key) {
+    entries.put(key, System.nanoTime() + ttl);
+  }
+
+}
@@ -5,7 +5,14 @@ package me.escoffier.vertx.healthchecks.impl;
  */
 public interface CompositeProcedure extends Procedure {
 
-  CompositeProcedure add(String name, Procedure check);
+  /**
+   * Adds a child, replacing the existing child with the same name.
+   *
+   * @param name  the name of the child
+   * @param check the child
+   * @return the replaced child, {@code null} if none
+   */
+  Procedure add(String name, Procedure check);
 
   boolean remove(String name);
 
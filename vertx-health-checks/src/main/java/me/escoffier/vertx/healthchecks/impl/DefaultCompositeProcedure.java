@@ -5,6 +5,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.spi.HealthCheckMetrics;
 
 import java.util.*;
 
@@ -17,16 +18,32 @@ class DefaultCompositeProcedure implements CompositeProcedure {
 
   private Map<String, Procedure> children = new HashMap<>();
 
+  private final String path;
+  private final HealthCheckMetrics metrics;
+
+  DefaultCompositeProcedure() {
+    this("/", HealthCheckMetrics.NOOP);
+  }
+
+  /**
+   * Creates a new group.
+   *
+   * @param path    the path of the group, {@code /} for the root
+   * @param metrics the metrics
+   */
+  DefaultCompositeProcedure(String path, HealthCheckMetrics metrics) {
+    this.path = Objects.requireNonNull(path);
+    this.metrics = Objects.requireNonNull(metrics);
+  }
+
   @Override
-  public DefaultCompositeProcedure add(String name, Procedure check) {
+  public Procedure add(String name, Procedure check) {
     Objects.requireNonNull(name);
     Objects.requireNonNull(check);
 
     synchronized (this) {
-      children.put(name, check);
+      return children.put(name, check);
     }
-
-    return this;
   }
 
   @Override
@@ -42,6 +59,12 @@ class DefaultCompositeProcedure implements CompositeProcedure {
 
   @Override
   public void check(Handler<JsonObject> resultHandler) {
+    check(null, resultHandler);
+  }
+
+  @Override
+  public void check(Invocation invocation, Handler<JsonObject> resultHandler) {
+    long start = System.nanoTime();
     Map<String, Procedure> copy = new HashMap<>();
     synchronized (this) {
       copy.putAll(children);
@@ -57,11 +80,12 @@ class DefaultCompositeProcedure implements CompositeProcedure {
       Future<JsonObject> future = Future.future();
       completed.add(future);
       tasks.put(entry.getKey(), future);
-      entry.getValue().check(future::complete);
+      entry.getValue().check(invocation == null ? null : invocation.child(entry.getKey()), future::complete);
     }
 
     CompositeFuture.join(completed)
       .setHandler(ar -> {
+        long joined = System.nanoTime();
         boolean success = true;
         for (Map.Entry<String, Future<JsonObject>> entry : tasks.entrySet()) {
           Future<JsonObject> json = entry.getValue();
@@ -91,6 +115,11 @@ class DefaultCompositeProcedure implements CompositeProcedure {
         } else {
           result.put("outcome", "DOWN");
         }
+        long completed = System.nanoTime();
+        metrics.groupCompleted(path, completed - start, success);
+        if (invocation != null && invocation.trace() != null) {
+          invocation.trace().group(invocation.path(), invocation.scheduled(), start, joined, completed);
+        }
 
         resultHandler.handle(result);
 
@@ -1,12 +1,19 @@
 package me.escoffier.vertx.healthchecks.impl;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
 import me.escoffier.vertx.healthchecks.Status;
+import me.escoffier.vertx.healthchecks.spi.HealthCheckMetrics;
+import me.escoffier.vertx.healthchecks.spi.LatencyHistogram;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -15,44 +22,355 @@ class DefaultProcedure implements Procedure {
 
   private final Handler<Future<Status>> handler;
   private final String name;
+  private final String path;
+  private final HealthCheckMetrics metrics;
 
   private final Vertx vertx;
   private final long timeout;
+  private final int fall;
+  private final int rise;
+  private final long blockingThreshold;
+  private final int offloadAfter;
+
+  /**
+   * The hysteresis state: the reported status, and the number of consecutive results contradicting it.
+   * {@code reported} is {@code null} until the first result.
+   */
+  private Boolean reported;
+  private int streak;
+
+  /**
+   * The number of consecutive executions blocking the event loop, and whether the procedure has been moved to a
+   * worker thread.
+   */
+  private int blockingStreak;
+  private volatile boolean offloaded;
+
+  /**
+   * The results of the executions completed without data, shared as they never change.
+   */
+  private final JsonObject up;
+  private final JsonObject down;
+
+  private final StatusHistory history = new StatusHistory(StatusHistory.DEFAULT_SIZE);
+  private final LatencyHistogram latencies = new LatencyHistogram();
 
   DefaultProcedure(Vertx vertx, String name, long timeout,
                    Handler<Future<Status>> handler) {
+    this(vertx, name, new ProcedureOptions().setTimeout(timeout), handler);
+  }
+
+  DefaultProcedure(Vertx vertx, String name, ProcedureOptions options,
+                   Handler<Future<Status>> handler) {
+    this(vertx, name, options, HealthCheckMetrics.NOOP, handler);
+  }
+
+  /**
+   * Creates a new procedure.
+   *
+   * @param vertx   the Vert.x instance
+   * @param path    the path of the procedure in the tree, its last segment is the procedure name
+   * @param options the procedure options
+   * @param metrics the metrics
+   * @param handler the procedure
+   */
+  DefaultProcedure(Vertx vertx, String path, ProcedureOptions options, HealthCheckMetrics metrics,
+                   Handler<Future<Status>> handler) {
     Objects.requireNonNull(vertx);
-    Objects.requireNonNull(name);
+    Objects.requireNonNull(path);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(metrics);
     Objects.requireNonNull(handler);
-    this.timeout = timeout;
-    this.name = name;
+    if (options.getFall() <= 0 || options.getRise() <= 0) {
+      throw new IllegalArgumentException("The rise and fall thresholds must be strictly positive");
+    }
+    this.timeout = options.getTimeout();
+    this.fall = options.getFall();
+    this.rise = options.getRise();
+    this.blockingThreshold = options.getBlockingThreshold() < 0 ? Long.MAX_VALUE
+      : TimeUnit.MILLISECONDS.toNanos(options.getBlockingThreshold());
+    this.offloadAfter = options.getOffloadAfter();
+    this.path = path;
+    this.name = path.substring(path.lastIndexOf('/') + 1);
+    this.metrics = metrics;
     this.handler = handler;
     this.vertx = vertx;
+    this.up = StatusHelper.from(name, true);
+    this.down = StatusHelper.from(name, false);
   }
 
   @Override
   public void check(Handler<JsonObject> resultHandler) {
-    Future<Status> future = Future.<Status>future()
-      .setHandler(ar -> {
-        if (ar.cause() instanceof ProcedureException) {
-          resultHandler.handle(StatusHelper.onError(name, (ProcedureException) ar.cause()));
-        } else {
-          resultHandler.handle(StatusHelper.from(name, ar));
+    check(null, resultHandler);
+  }
+
+  @Override
+  public void check(Invocation invocation, Handler<JsonObject> resultHandler) {
+    metrics.procedureStarted(path);
+    long start = System.nanoTime();
+    boolean eventLoop = Context.isOnEventLoopThread();
+    boolean offload = offloaded && eventLoop;
+    Future<Status> future = Future.future();
+    // The execution tracking the time spent on the event loop is only needed when that time is measured
+    Execution execution = null;
+    if (eventLoop && !offload && blockingThreshold != Long.MAX_VALUE) {
+      execution = new Execution(invocation, resultHandler, start, Thread.currentThread());
+      future.setHandler(execution);
+    } else {
+      future.setHandler(ar -> completed(invocation, resultHandler, start, offload, ar, System.nanoTime(), -1));
+    }
+
+    long delay = invocation == null ? timeout : invocation.timeout(timeout);
+    if (delay >= 0) {
+      // Timers cannot be scheduled with a delay of less than 1 ms.
+      vertx.setTimer(Math.max(1, delay), l -> {
+        if (!future.isComplete()) {
+          future.fail(new ProcedureTimeoutException());
         }
       });
+    }
 
-    if (timeout >= 0) {
-      vertx.setTimer(1000, l -> {
+    if (offload) {
+      // The result is reported on the event loop
+      vertx.<Status>executeBlocking(this::execute, false, ar -> {
         if (!future.isComplete()) {
-          future.fail(new ProcedureException("Timeout"));
+          if (ar.succeeded()) {
+            future.complete(ar.result());
+          } else {
+            future.fail(ar.cause());
+          }
         }
       });
+    } else {
+      execute(future);
+      if (execution != null) {
+        execution.returned();
+      }
     }
+  }
 
+  private void execute(Future<Status> future) {
     try {
       handler.handle(future);
     } catch (Exception e) {
       future.fail(new ProcedureException(e));
     }
   }
+
+  private void completed(Invocation invocation, Handler<JsonObject> resultHandler, long start, boolean offloaded,
+                         AsyncResult<Status> ar, long end, long blocking) {
+    JsonObject json;
+    int error = StatusHistory.NO_ERROR;
+    if (ar.cause() instanceof ProcedureException) {
+      json = StatusHelper.onError(name, (ProcedureException) ar.cause());
+      error = ar.cause() instanceof ProcedureTimeoutException ? StatusHistory.TIMEOUT : StatusHistory.EXCEPTION;
+    } else {
+      json = StatusHelper.from(name, ar, up, down);
+      if (ar.failed()) {
+        error = StatusHistory.FAILURE;
+      }
+    }
+    long latency = end - start;
+    boolean up = StatusHelper.isUp(json);
+    history.record(System.currentTimeMillis(), up, latency, error);
+    latencies.record(latency);
+    report(ar, latency, up, error);
+    if (invocation != null && invocation.trace() != null) {
+      invocation.trace().procedure(invocation.path(), invocation.scheduled(), start, end,
+        error == StatusHistory.TIMEOUT);
+    }
+    if (blocking > blockingThreshold || offloaded) {
+      json = withBlocking(json, blocking, offloaded);
+    }
+    if (fall > 1 || rise > 1) {
+      json = debounce(json);
+    }
+    if (invocation != null && invocation.latencies()) {
+      json = withLatencies(json);
+    }
+    if (invocation != null) {
+      invocation.completed(json);
+    }
+    resultHandler.handle(json);
+  }
+
+  /**
+   * Called once the time spent by an execution on the event loop is known. Procedures blocking the event loop too
+   * many consecutive times are moved to a worker thread, if enabled.
+   */
+  private void measured(long blocking) {
+    if (blocking <= blockingThreshold) {
+      if (offloadAfter > 0) {
+        synchronized (this) {
+          blockingStreak = 0;
+        }
+      }
+      return;
+    }
+
+    metrics.procedureBlocked(path, blocking);
+    if (offloadAfter > 0) {
+      boolean offload;
+      synchronized (this) {
+        offload = !offloaded && ++blockingStreak >= offloadAfter;
+        if (offload) {
+          offloaded = true;
+        }
+      }
+      if (offload) {
+        metrics.procedureOffloaded(path);
+      }
+    }
+  }
+
+  private void report(AsyncResult<Status> ar, long latency, boolean up, int error) {
+    switch (error) {
+      case StatusHistory.NO_ERROR:
+        metrics.procedureCompleted(path, latency, up);
+        if (ar.result() != null && ar.result().gaugeCount() > 0) {
+          metrics.gauges(path, ar.result());
+        }
+        break;
+      case StatusHistory.TIMEOUT:
+        metrics.procedureTimedOut(path, latency);
+        break;
+      default:
+        metrics.procedureFailed(path, latency);
+    }
+  }
+
+  /**
+   * Applies the rise and fall thresholds: the reported status only changes after enough consecutive results with
+   * the other status. The first result is reported as is.
+   */
+  private JsonObject debounce(JsonObject result) {
+    boolean raw = StatusHelper.isUp(result);
+    boolean up;
+    synchronized (this) {
+      if (reported == null || raw == reported) {
+        reported = raw;
+        streak = 0;
+      } else if (++streak >= (raw ? rise : fall)) {
+        reported = raw;
+        streak = 0;
+      }
+      up = reported;
+    }
+
+    // The result may be shared
+    JsonObject json = result.copy().put("status", up ? "UP" : "DOWN");
+    JsonObject data = json.getJsonObject("data");
+    if (data == null) {
+      data = new JsonObject();
+      json.put("data", data);
+    }
+    data.put("raw-status", raw ? "UP" : "DOWN").put("debounced-status", up ? "UP" : "DOWN");
+    return json;
+  }
+
+  private JsonObject withBlocking(JsonObject result, long blocking, boolean offloaded) {
+    // The result may be shared
+    JsonObject json = result.copy();
+    JsonObject data = json.getJsonObject("data");
+    if (data == null) {
+      data = new JsonObject();
+      json.put("data", data);
+    }
+    JsonObject details = new JsonObject().put("offloaded", offloaded);
+    if (blocking >= 0) {
+      details.put("duration", StatusHelper.millis(blocking));
+    }
+    data.put("blocking", details);
+    return json;
+  }
+
+  private JsonObject withLatencies(JsonObject result) {
+    // The result may be shared
+    JsonObject json = result.copy();
+    JsonObject data = json.getJsonObject("data");
+    if (data == null) {
+      data = new JsonObject();
+      json.put("data", data);
+    }
+    data.put("latency", latencies.toJson());
+    return json;
+  }
+
+  /**
+   * @return the histogram of the execution times of the procedure.
+   */
+  LatencyHistogram latencies() {
+    return latencies;
+  }
+
+  /**
+   * @return the last results of the procedure, oldest first.
+   */
+  JsonArray history() {
+    return history.toJson();
+  }
+
+  /**
+   * @return whether the procedure has been moved to a worker thread as it was blocking the event loop.
+   */
+  boolean offloaded() {
+    return offloaded;
+  }
+
+  /**
+   * An execution of the procedure running on the event loop. It measures the time spent by the procedure on the
+   * event loop, which is known either when the procedure returns, or when it completes its future before returning.
+   */
+  private class Execution implements Handler<AsyncResult<Status>> {
+
+    private final Invocation invocation;
+    private final Handler<JsonObject> resultHandler;
+    private final long start;
+
+    /**
+     * The event loop thread executing the procedure.
+     */
+    private final Thread eventLoop;
+
+    /**
+     * The time spent on the event loop, {@code -1} until known.
+     */
+    private long blocking = -1;
+
+    Execution(Invocation invocation, Handler<JsonObject> resultHandler, long start, Thread eventLoop) {
+      this.invocation = invocation;
+      this.resultHandler = resultHandler;
+      this.start = start;
+      this.eventLoop = eventLoop;
+    }
+
+    /**
+     * Called on the event loop when the procedure returns.
+     */
+    void returned() {
+      measure(System.nanoTime());
+    }
+
+    /**
+     * @return the time spent on the event loop, {@code -1} if not known yet
+     */
+    private long measure(long now) {
+      long duration;
+      synchronized (this) {
+        // A future completed from another thread while the procedure is still running does not tell anything
+        if (blocking >= 0 || Thread.currentThread() != eventLoop) {
+          return blocking;
+        }
+        blocking = duration = now - start;
+      }
+      measured(duration);
+      return duration;
+    }
+
+    @Override
+    public void handle(AsyncResult<Status> ar) {
+      long end = System.nanoTime();
+      completed(invocation, resultHandler, start, false, ar, end, measure(end));
+    }
+  }
 }
@@ -0,0 +1,165 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthCheckAggregator;
+import me.escoffier.vertx.healthchecks.HealthCheckService;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HealthCheckAggregatorImpl implements HealthCheckAggregator {
+
+  private final Vertx vertx;
+  private final String address;
+  private final long timeout;
+  private final int maxNodes;
+
+  /**
+   * The expected nodes and the nodes that have replied at least once.
+   */
+  private final Set<String> nodes = new LinkedHashSet<>();
+
+  public HealthCheckAggregatorImpl(Vertx vertx, String address, long timeout, int maxNodes) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.address = Objects.requireNonNull(address);
+    if (timeout <= 0) {
+      throw new IllegalArgumentException("The timeout must be positive");
+    }
+    if (maxNodes <= 0) {
+      throw new IllegalArgumentException("The maximum number of nodes must be positive");
+    }
+    this.timeout = timeout;
+    this.maxNodes = maxNodes;
+  }
+
+  @Override
+  public synchronized HealthCheckAggregator expect(String nodeId) {
+    Objects.requireNonNull(nodeId);
+    if (nodes.size() < maxNodes) {
+      nodes.add(nodeId);
+    }
+    return this;
+  }
+
+  @Override
+  public void gather(Handler<JsonObject> resultHandler) {
+    gather(null, HealthCheckService.DETAIL_FULL, resultHandler);
+  }
+
+  @Override
+  public void gather(String path, String detail, Handler<JsonObject> resultHandler) {
+    Objects.requireNonNull(detail);
+    Objects.requireNonNull(resultHandler);
+
+    String replyTo = address + ".gather." + UUID.randomUUID().toString();
+    MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer(replyTo);
+    Gathering gathering = new Gathering(consumer, resultHandler);
+    consumer.handler(message -> {
+      if (gathering.add(message.body())) {
+        gathering.complete();
+      }
+    });
+    // The deadline starts now, even if the registration of the consumer takes time in the cluster.
+    vertx.setTimer(timeout, l -> gathering.complete());
+
+    consumer.completionHandler(ar -> {
+      if (ar.failed()) {
+        gathering.complete();
+        return;
+      }
+      DeliveryOptions options = new DeliveryOptions()
+        .addHeader(HealthCheckService.REPLY_TO_HEADER, replyTo)
+        .addHeader(HealthCheckService.DETAIL_HEADER, detail)
+        .addHeader(HealthCheckService.TIMEOUT_HEADER, Long.toString(Math.max(1, timeout * 4 / 5)));
+      if (path != null) {
+        options.addHeader(HealthCheckService.PATH_HEADER, path);
+      }
+      vertx.eventBus().publish(address, "", options);
+    });
+  }
+
+  private class Gathering {
+
+    private final MessageConsumer<JsonObject> consumer;
+    private final Handler<JsonObject> resultHandler;
+    private final Map<String, JsonObject> replies = new LinkedHashMap<>();
+    private boolean truncated;
+    private boolean done;
+
+    Gathering(MessageConsumer<JsonObject> consumer, Handler<JsonObject> resultHandler) {
+      this.consumer = consumer;
+      this.resultHandler = resultHandler;
+    }
+
+    /**
+     * Records the reply of a node.
+     *
+     * @param reply the reply
+     * @return {@code true} if all the expected nodes have now replied, so the gathering can complete before the
+     * deadline
+     */
+    synchronized boolean add(JsonObject reply) {
+      String node = reply.getString("node");
+      JsonObject report = reply.getJsonObject("report");
+      if (done || node == null || report == null) {
+        return false;
+      }
+      if (replies.size() < maxNodes || replies.containsKey(node)) {
+        replies.put(node, report);
+      } else {
+        truncated = true;
+      }
+      synchronized (HealthCheckAggregatorImpl.this) {
+        return !nodes.isEmpty() && replies.keySet().containsAll(nodes);
+      }
+    }
+
+    void complete() {
+      JsonObject result = new JsonObject();
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+        done = true;
+        consumer.unregister();
+
+        JsonObject reports = new JsonObject();
+        boolean up = !replies.isEmpty();
+        for (Map.Entry<String, JsonObject> entry : replies.entrySet()) {
+          reports.put(entry.getKey(), entry.getValue());
+          up = up && "UP".equals(entry.getValue().getString("outcome"));
+        }
+        synchronized (HealthCheckAggregatorImpl.this) {
+          for (String node : replies.keySet()) {
+            if (nodes.size() < maxNodes) {
+              nodes.add(node);
+            }
+          }
+          for (String node : nodes) {
+            if (!replies.containsKey(node)) {
+              up = false;
+              reports.put(node, new JsonObject().put("outcome", "UNKNOWN"));
+            }
+          }
+        }
+
+        result.put("outcome", up ? "UP" : "DOWN").put("nodes", reports);
+        if (truncated) {
+          result.put("truncated", true);
+        }
+      }
+      resultHandler.handle(result);
+    }
+  }
+}
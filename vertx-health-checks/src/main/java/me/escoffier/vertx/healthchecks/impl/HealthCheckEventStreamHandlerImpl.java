@@ -0,0 +1,106 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import me.escoffier.vertx.healthchecks.HealthCheckEventStreamHandler;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HealthCheckEventStreamHandlerImpl implements HealthCheckEventStreamHandler {
+
+  private final StatusWatcher watcher;
+  private final StatusWatcher.Listener listener = this::onUpdate;
+
+  private final List<Subscriber> subscribers = new ArrayList<>();
+
+  public HealthCheckEventStreamHandlerImpl(Vertx vertx, HealthChecks healthChecks, long period) {
+    this.watcher = new StatusWatcher(vertx, healthChecks, period);
+  }
+
+  @Override
+  public void handle(RoutingContext rc) {
+    HttpServerResponse response = rc.response()
+      .setChunked(true)
+      .setStatusCode(200)
+      .putHeader(HttpHeaders.CONTENT_TYPE, "text/event-stream;charset=UTF-8")
+      .putHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+    Subscriber subscriber = new Subscriber(response);
+    response.closeHandler(v -> unsubscribe(subscriber));
+
+    synchronized (this) {
+      subscribers.add(subscriber);
+      JsonObject report = watcher.report();
+      if (report != null) {
+        subscriber.initialized = true;
+        response.write(event("snapshot", report));
+      }
+      if (subscribers.size() == 1) {
+        // The first subscriber gets the snapshot once the first execution completes.
+        watcher.addListener(listener);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    watcher.removeListener(listener);
+    for (Subscriber subscriber : subscribers) {
+      subscriber.response.end();
+    }
+    subscribers.clear();
+  }
+
+  private synchronized void unsubscribe(Subscriber subscriber) {
+    if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+      watcher.removeListener(listener);
+    }
+  }
+
+  private synchronized void onUpdate(JsonObject report, List<JsonObject> changes) {
+    // Events are encoded once and written to every subscriber.
+    Buffer snapshot = null;
+    Buffer delta = null;
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.response.writeQueueFull()) {
+        // Slow subscriber: drop the events instead of buffering them, and resynchronize it with a snapshot once its
+        // queue has drained, as the dropped deltas are lost.
+        subscriber.initialized = false;
+      } else if (!subscriber.initialized) {
+        if (snapshot == null) {
+          snapshot = event("snapshot", report);
+        }
+        subscriber.initialized = true;
+        subscriber.response.write(snapshot);
+      } else if (!changes.isEmpty()) {
+        if (delta == null) {
+          delta = event("delta", new JsonObject().put("changes", new JsonArray(changes)));
+        }
+        subscriber.response.write(delta);
+      }
+    }
+  }
+
+  private static Buffer event(String name, JsonObject data) {
+    return Buffer.buffer("event: " + name + "\ndata: " + data.encode() + "\n\n");
+  }
+
+  private static class Subscriber {
+    private final HttpServerResponse response;
+    private boolean initialized;
+
+    Subscriber(HttpServerResponse response) {
+      this.response = response;
+    }
+  }
+}
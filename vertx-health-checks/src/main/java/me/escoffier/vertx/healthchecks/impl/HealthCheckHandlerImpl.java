@@ -6,6 +6,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -13,8 +14,13 @@ import io.vertx.ext.auth.AuthProvider;
 import io.vertx.ext.web.RoutingContext;
 import me.escoffier.vertx.healthchecks.HealthCheckHandler;
 import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.InvocationOptions;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
 import me.escoffier.vertx.healthchecks.Status;
+import me.escoffier.vertx.healthchecks.spi.HealthCheckMetrics;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 import static me.escoffier.vertx.healthchecks.impl.StatusHelper.isUp;
@@ -24,20 +30,25 @@ import static me.escoffier.vertx.healthchecks.impl.StatusHelper.isUp;
  */
 public class HealthCheckHandlerImpl implements HealthCheckHandler {
 
-  //TODO Event Bus support
-
+  private static final String NDJSON = "application/x-ndjson";
 
   private HealthChecks healthChecks;
   private final AuthProvider authProvider;
+  private final HealthCheckMetrics metrics;
+  private volatile List<String> credentialNames;
+  private volatile AuthenticationCache authenticationCache;
+  private volatile boolean historyEnabled;
 
   public HealthCheckHandlerImpl(Vertx vertx, AuthProvider provider) {
     this.healthChecks = new HealthChecksImpl(vertx);
     this.authProvider = provider;
+    this.metrics = HealthCheckMetrics.NOOP;
   }
 
   public HealthCheckHandlerImpl(HealthChecks hc, AuthProvider provider) {
     this.healthChecks = Objects.requireNonNull(hc);
     this.authProvider = provider;
+    this.metrics = hc instanceof HealthChecksImpl ? ((HealthChecksImpl) hc).metrics() : HealthCheckMetrics.NOOP;
   }
 
   @Override
@@ -46,30 +57,135 @@ public class HealthCheckHandlerImpl implements HealthCheckHandler {
     return this;
   }
 
+  @Override
+  public HealthCheckHandler register(String name, ProcedureOptions options, Handler<Future<Status>> procedure) {
+    healthChecks.register(name, options, procedure);
+    return this;
+  }
+
+
+  @Override
+  public HealthCheckHandler setCredentialNames(String... names) {
+    if (names == null || names.length == 0) {
+      credentialNames = null;
+    } else {
+      credentialNames = Arrays.asList(names.clone());
+    }
+    return this;
+  }
+
+  @Override
+  public HealthCheckHandler setAuthenticationCache(int maxSize, long ttl) {
+    if (maxSize == 0) {
+      authenticationCache = null;
+    } else {
+      authenticationCache = new AuthenticationCache(maxSize, ttl);
+    }
+    return this;
+  }
+
+  @Override
+  public HealthCheckHandler setHistoryEnabled(boolean enabled) {
+    this.historyEnabled = enabled;
+    return this;
+  }
 
   @Override
   public void handle(RoutingContext rc) {
     String id = rc.request().path().substring(rc.currentRoute().getPath().length());
+    if (metrics != HealthCheckMetrics.NOOP) {
+      rc.addBodyEndHandler(v -> metrics.httpProbe(rc.response().getStatusCode()));
+    }
     if (authProvider != null) {
-      // Copy all HTTP header in a json array and params
-      JsonObject authData = new JsonObject();
-      rc.request().headers().forEach(entry -> authData.put(entry.getKey(), entry.getValue()));
-      rc.request().params().forEach(entry -> authData.put(entry.getKey(), entry.getValue()));
-      if (rc.request().method() == HttpMethod.POST
-        && rc.request()
-        .getHeader(HttpHeaders.CONTENT_TYPE).contains("application/json")) {
-        authData.mergeIn(rc.getBodyAsJson());
+      JsonObject authData = credentials(rc);
+      AuthenticationCache cache = authenticationCache;
+      String key = cache == null ? null : AuthenticationCache.key(authData);
+      if (key != null && cache.contains(key)) {
+        invoke(rc, id);
+        return;
       }
       authProvider.authenticate(authData, ar -> {
         if (ar.failed()) {
+          metrics.authenticationFailed();
           rc.response().setStatusCode(403).end();
         } else {
-          healthChecks.invoke(id, healthReportHandler(rc));
+          if (key != null) {
+            cache.put(key);
+          }
+          invoke(rc, id);
         }
       });
     } else {
-      healthChecks.invoke(id, healthReportHandler(rc));
+      invoke(rc, id);
+    }
+  }
+
+  private JsonObject credentials(RoutingContext rc) {
+    HttpServerRequest request = rc.request();
+    JsonObject body = null;
+    String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE);
+    if (request.method() == HttpMethod.POST && contentType != null && contentType.contains("application/json")) {
+      body = rc.getBodyAsJson();
+    }
+
+    JsonObject authData = new JsonObject();
+    List<String> names = credentialNames;
+    if (names == null) {
+      // Copy all HTTP header in a json array and params
+      request.headers().forEach(entry -> authData.put(entry.getKey(), entry.getValue()));
+      request.params().forEach(entry -> authData.put(entry.getKey(), entry.getValue()));
+      if (body != null) {
+        authData.mergeIn(body);
+      }
+    } else {
+      for (String name : names) {
+        Object value = request.getHeader(name);
+        if (value == null) {
+          value = request.getParam(name);
+        }
+        if (value == null && body != null) {
+          value = body.getValue(name);
+        }
+        if (value != null) {
+          authData.put(name, value);
+        }
+      }
     }
+    return authData;
+  }
+
+  private void invoke(RoutingContext rc, String id) {
+    if (historyEnabled && "true".equals(rc.request().getParam("history"))) {
+      history(rc, id);
+    } else if (isStreamingRequested(rc)) {
+      StreamingReport report = new StreamingReport(rc);
+      healthChecks.invoke(id, report::onCheck, report::onCompletion);
+    } else {
+      boolean latencies = "true".equals(rc.request().getParam("latencies"));
+      boolean trace = "true".equals(rc.request().getParam("trace"));
+      if (latencies || trace) {
+        InvocationOptions options = new InvocationOptions().setLatencies(latencies).setTrace(trace);
+        healthChecks.invoke(id, options, healthReportHandler(rc));
+      } else {
+        healthChecks.invoke(id, healthReportHandler(rc));
+      }
+    }
+  }
+
+  private void history(RoutingContext rc, String id) {
+    HttpServerResponse response = rc.response()
+      .putHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8");
+    JsonArray history = healthChecks.history(id);
+    if (history == null) {
+      response.setStatusCode(404).end("{\"message\": \"Not found\"}");
+    } else {
+      response.end(new JsonObject().put("history", history).encode());
+    }
+  }
+
+  private boolean isStreamingRequested(RoutingContext rc) {
+    String accept = rc.request().getHeader(HttpHeaders.ACCEPT);
+    return (accept != null && accept.contains(NDJSON)) || "true".equals(rc.request().getParam("stream"));
   }
 
   private Handler<AsyncResult<JsonObject>> healthReportHandler(RoutingContext rc) {
@@ -90,11 +206,7 @@ public class HealthCheckHandlerImpl implements HealthCheckHandler {
   }
 
   private void buildResponse(JsonObject json, HttpServerResponse response) {
-    int status = isUp(json) ? 200 : 503;
-
-    if (status == 503 && hasProcedureError(json)) {
-      status = 500;
-    }
+    int status = statusCode(json);
 
     JsonArray checks = json.getJsonArray("checks");
     if (status == 200 && checks != null && checks.isEmpty()) {
@@ -108,6 +220,15 @@ public class HealthCheckHandlerImpl implements HealthCheckHandler {
       .end(transform(json));
   }
 
+  private int statusCode(JsonObject json) {
+    int status = isUp(json) ? 200 : 503;
+
+    if (status == 503 && hasProcedureError(json)) {
+      status = 500;
+    }
+    return status;
+  }
+
   @Override
   public synchronized HealthCheckHandler unregister(String name) {
     healthChecks.unregister(name);
@@ -141,4 +262,47 @@ public class HealthCheckHandlerImpl implements HealthCheckHandler {
     }
     return json.encode();
   }
+
+  /**
+   * Writes the result of each leaf procedure as a NDJSON line as soon as it completes. The response is only
+   * switched to chunked mode when the first result is written, so lookup failures and empty trees are reported
+   * as regular responses. The last line contains the overall outcome and the status code the non-streamed
+   * response would have used.
+   */
+  private class StreamingReport {
+
+    private final RoutingContext rc;
+    private boolean streaming;
+
+    StreamingReport(RoutingContext rc) {
+      this.rc = rc;
+    }
+
+    synchronized void onCheck(JsonObject check) {
+      HttpServerResponse response = rc.response();
+      if (!streaming) {
+        streaming = true;
+        response
+          .setChunked(true)
+          .setStatusCode(200)
+          .putHeader(HttpHeaders.CONTENT_TYPE, NDJSON + ";charset=UTF-8");
+      }
+      response.write(check.encode() + "\n");
+    }
+
+    synchronized void onCompletion(AsyncResult<JsonObject> ar) {
+      if (!streaming) {
+        healthReportHandler(rc).handle(ar);
+        return;
+      }
+
+      JsonObject trailer = new JsonObject();
+      if (ar.failed()) {
+        trailer.put("outcome", "DOWN").put("code", 500).put("message", ar.cause().getMessage());
+      } else {
+        trailer.put("outcome", isUp(ar.result()) ? "UP" : "DOWN").put("code", statusCode(ar.result()));
+      }
+      rc.response().end(trailer.encode() + "\n");
+    }
+  }
 }
@@ -0,0 +1,138 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.spi.cluster.ClusterManager;
+import me.escoffier.vertx.healthchecks.HealthCheckService;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.InvocationOptions;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import static me.escoffier.vertx.healthchecks.impl.StatusHelper.isUp;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HealthCheckServiceImpl implements HealthCheckService {
+
+  private final Vertx vertx;
+  private final HealthChecks healthChecks;
+  private final String address;
+  private final String nodeId;
+  private final MessageConsumer<Object> consumer;
+
+  public HealthCheckServiceImpl(Vertx vertx, HealthChecks healthChecks, String address, String nodeId) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.healthChecks = Objects.requireNonNull(healthChecks);
+    this.address = Objects.requireNonNull(address);
+    this.nodeId = Objects.requireNonNull(nodeId);
+    this.consumer = vertx.eventBus().consumer(address, this::handle);
+  }
+
+  /**
+   * Computes the default id of the node: the id given by the cluster manager when Vert.x is clustered, so it is
+   * stable for the lifetime of the node and can be expected by the aggregators, or a random id otherwise.
+   *
+   * @param vertx the Vert.x instance
+   * @return the node id
+   */
+  public static String defaultNodeId(Vertx vertx) {
+    if (vertx.isClustered() && vertx instanceof VertxInternal) {
+      ClusterManager manager = ((VertxInternal) vertx).getClusterManager();
+      if (manager != null) {
+        return manager.getNodeID();
+      }
+    }
+    return UUID.randomUUID().toString();
+  }
+
+  @Override
+  public String address() {
+    return address;
+  }
+
+  @Override
+  public String nodeId() {
+    return nodeId;
+  }
+
+  @Override
+  public void close() {
+    consumer.unregister();
+  }
+
+  private void handle(Message<Object> message) {
+    MultiMap headers = message.headers();
+    String detail = headers.get(DETAIL_HEADER);
+    if (detail == null) {
+      detail = DETAIL_FULL;
+    } else if (!DETAIL_FULL.equals(detail) && !DETAIL_STATUS.equals(detail) && !DETAIL_OUTCOME.equals(detail)) {
+      message.fail(400, "Invalid detail level: " + detail);
+      return;
+    }
+
+    InvocationOptions options = new InvocationOptions();
+    String timeout = headers.get(TIMEOUT_HEADER);
+    if (timeout != null) {
+      try {
+        options.setTimeout(Long.parseLong(timeout));
+      } catch (NumberFormatException e) {
+        message.fail(400, "Invalid timeout: " + timeout);
+        return;
+      }
+    }
+
+    String level = detail;
+    String replyTo = headers.get(REPLY_TO_HEADER);
+    healthChecks.invoke(headers.get(PATH_HEADER), options, ar -> {
+      if (replyTo != null) {
+        JsonObject report = ar.succeeded() ? filter(ar.result(), level)
+          : new JsonObject().put("outcome", "DOWN").put("message", ar.cause().getMessage());
+        vertx.eventBus().send(replyTo, new JsonObject().put("node", nodeId).put("report", report));
+      } else if (ar.failed()) {
+        String cause = ar.cause().getMessage();
+        message.fail(cause.toLowerCase().contains("not found") ? 404 : 400, cause);
+      } else {
+        message.reply(filter(ar.result(), level));
+      }
+    });
+  }
+
+  private static JsonObject filter(JsonObject report, String detail) {
+    String outcome = isUp(report) ? "UP" : "DOWN";
+    if (DETAIL_OUTCOME.equals(detail)) {
+      return new JsonObject().put("outcome", outcome);
+    }
+
+    JsonObject json = DETAIL_STATUS.equals(detail) ? withoutData(report) : report;
+    if (!json.containsKey("outcome")) {
+      json.put("outcome", outcome);
+    }
+    return json;
+  }
+
+  private static JsonObject withoutData(JsonObject json) {
+    JsonObject copy = new JsonObject();
+    for (String key : new String[] {"id", "status", "outcome"}) {
+      if (json.containsKey(key)) {
+        copy.put(key, json.getValue(key));
+      }
+    }
+    JsonArray checks = json.getJsonArray("checks");
+    if (checks != null) {
+      JsonArray array = new JsonArray();
+      for (int i = 0; i < checks.size(); i++) {
+        array.add(withoutData(checks.getJsonObject(i)));
+      }
+      copy.put("checks", array);
+    }
+    return copy;
+  }
+}
@@ -1,13 +1,26 @@
 package me.escoffier.vertx.healthchecks.impl;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
 import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.InvocationOptions;
+import me.escoffier.vertx.healthchecks.MountOptions;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
 import me.escoffier.vertx.healthchecks.Status;
+import me.escoffier.vertx.healthchecks.spi.HealthCheckMetrics;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -15,15 +28,62 @@ import java.util.Objects;
  */
 public class HealthChecksImpl implements HealthChecks {
 
+  /**
+   * The name of the local map storing the shared instances.
+   */
+  private static final String SHARED_MAP_NAME = "__vertx.health-checks";
+
+  private static final InvocationOptions DEFAULT_OPTIONS = new InvocationOptions();
+
   private final Vertx vertx;
-  private CompositeProcedure root = new DefaultCompositeProcedure();
+  private final HealthCheckMetrics metrics;
+  private final CompositeProcedure root;
+
+  /**
+   * The in-flight executions, keyed by path and options. Concurrent invocations of the same procedure share the
+   * same execution.
+   */
+  private final Map<String, List<Waiter>> executions = new HashMap<>();
 
   public HealthChecksImpl(Vertx vertx) {
+    this(vertx, HealthCheckMetrics.NOOP);
+  }
+
+  public HealthChecksImpl(Vertx vertx, HealthCheckMetrics metrics) {
     this.vertx = Objects.requireNonNull(vertx);
+    this.metrics = Objects.requireNonNull(metrics);
+    this.root = new DefaultCompositeProcedure("/", metrics);
+  }
+
+  /**
+   * @return the metrics of the health checks.
+   */
+  public HealthCheckMetrics metrics() {
+    return metrics;
+  }
+
+  public static HealthChecks shared(Vertx vertx, String name) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(name);
+    LocalMap<String, SharedHealthChecks> map = vertx.sharedData().getLocalMap(SHARED_MAP_NAME);
+    SharedHealthChecks shared = map.get(name);
+    if (shared == null) {
+      SharedHealthChecks created = new SharedHealthChecks(new HealthChecksImpl(vertx));
+      shared = map.putIfAbsent(name, created);
+      if (shared == null) {
+        shared = created;
+      }
+    }
+    return shared.healthChecks;
   }
 
   @Override
   public HealthChecks register(String name, Handler<Future<Status>> procedure) {
+    return register(name, new ProcedureOptions(), procedure);
+  }
+
+  @Override
+  public HealthChecks register(String name, ProcedureOptions options, Handler<Future<Status>> procedure) {
     Objects.requireNonNull(name);
     if (name.isEmpty()) {
       throw new IllegalArgumentException("The name must not be empty");
@@ -32,18 +92,43 @@ public class HealthChecksImpl implements HealthChecks {
     String[] segments = name.split("/");
     CompositeProcedure parent = traverseAndCreate(segments);
     String lastSegment = segments[segments.length - 1];
-    parent.add(lastSegment,
-      new DefaultProcedure(vertx, lastSegment, 1000, procedure));
+    close(parent.add(lastSegment,
+      new DefaultProcedure(vertx, String.join("/", segments), options, metrics, procedure)));
+    return this;
+  }
+
+  @Override
+  public HealthChecks mount(String name, MountOptions options) {
+    Objects.requireNonNull(name);
+    if (name.isEmpty()) {
+      throw new IllegalArgumentException("The name must not be empty");
+    }
+    String[] segments = name.split("/");
+    String lastSegment = segments[segments.length - 1];
+    RemoteProcedure procedure = new RemoteProcedure(vertx, lastSegment, options);
+    close(traverseAndCreate(segments).add(lastSegment, procedure));
     return this;
   }
 
+  /**
+   * Releases the resources of a procedure removed from the tree.
+   *
+   * @param procedure the removed procedure, may be {@code null}
+   */
+  private static void close(Procedure procedure) {
+    if (procedure instanceof RemoteProcedure) {
+      ((RemoteProcedure) procedure).close();
+    }
+  }
+
   private CompositeProcedure traverseAndCreate(String[] segments) {
     int i;
     CompositeProcedure parent = root;
     for (i = 0; i < segments.length - 1; i++) {
       Procedure c = parent.get(segments[i]);
       if (c == null) {
-        DefaultCompositeProcedure composite = new DefaultCompositeProcedure();
+        DefaultCompositeProcedure composite = new DefaultCompositeProcedure(
+          String.join("/", Arrays.copyOfRange(segments, 0, i + 1)), metrics);
         parent.add(segments[i], composite);
         parent = composite;
       } else if (c instanceof CompositeProcedure) {
@@ -69,25 +154,65 @@ public class HealthChecksImpl implements HealthChecks {
     CompositeProcedure parent = findLastParent(segments);
     if (parent != null) {
       String lastSegment = segments[segments.length - 1];
-      parent.remove(lastSegment);
+      Procedure procedure = parent.get(lastSegment);
+      if (parent.remove(lastSegment)) {
+        close(procedure);
+        metrics.unregistered(String.join("/", segments));
+      }
     }
     return this;
   }
 
 
+  @Override
+  public JsonArray history(String name) {
+    Objects.requireNonNull(name);
+    Procedure procedure = root;
+    for (String segment : name.split("/")) {
+      if (segment.trim().isEmpty()) {
+        continue;
+      }
+      if (!(procedure instanceof CompositeProcedure)) {
+        return null;
+      }
+      procedure = ((CompositeProcedure) procedure).get(segment);
+    }
+    return procedure instanceof DefaultProcedure ? ((DefaultProcedure) procedure).history() : null;
+  }
+
   @Override
   public HealthChecks invoke(Handler<JsonObject> resultHandler) {
-    compute(root, resultHandler);
+    Objects.requireNonNull(resultHandler);
+    execute(root, null, null, DEFAULT_OPTIONS, resultHandler);
     return this;
   }
 
   @Override
   public HealthChecks invoke(String name, Handler<AsyncResult<JsonObject>> resultHandler) {
-    if (name == null || name.isEmpty() || name.equals("/")) {
-      return invoke(json -> resultHandler.handle(Future.succeededFuture(json)));
-    } else {
+    return invoke(name, null, DEFAULT_OPTIONS, resultHandler);
+  }
+
+  @Override
+  public HealthChecks invoke(String name, InvocationOptions options,
+                             Handler<AsyncResult<JsonObject>> resultHandler) {
+    Objects.requireNonNull(options);
+    return invoke(name, null, new InvocationOptions(options), resultHandler);
+  }
+
+  @Override
+  public HealthChecks invoke(String name, Handler<JsonObject> checkHandler,
+                             Handler<AsyncResult<JsonObject>> resultHandler) {
+    Objects.requireNonNull(checkHandler);
+    return invoke(name, checkHandler, DEFAULT_OPTIONS, resultHandler);
+  }
+
+  private HealthChecks invoke(String name, Handler<JsonObject> checkHandler, InvocationOptions options,
+                              Handler<AsyncResult<JsonObject>> resultHandler) {
+    Objects.requireNonNull(resultHandler);
+    Procedure check = root;
+    String path = null;
+    if (name != null) {
       String[] segments = name.split("/");
-      Procedure check = root;
       for (String segment : segments) {
         if (segment.trim().isEmpty()) {
           continue;
@@ -100,22 +225,71 @@ public class HealthChecksImpl implements HealthChecks {
             return this;
           }
           // Else continue...
+          path = path == null ? segment : path + "/" + segment;
         } else {
           // Not a composite
           resultHandler.handle(Future.failedFuture("'" + segment + "' is not a composite"));
           return this;
         }
       }
+    }
+
+    execute(check, path, checkHandler, options, json -> resultHandler.handle(Future.succeededFuture(json)));
+    return this;
+  }
+
+  private void execute(Procedure procedure, String path, Handler<JsonObject> checkHandler,
+                       InvocationOptions options, Handler<JsonObject> resultHandler) {
+    if (checkHandler != null) {
+      // Each streamed invocation needs its own execution.
+      Invocation invocation = new Invocation(path, checkHandler, options);
+      procedure.check(invocation, json -> resultHandler.handle(report(procedure, invocation, json)));
+      return;
+    }
 
-      if (check == null) {
-        resultHandler.handle(null);
-        return this;
+    String key = (path == null ? "/" : path) + "#" + options.getTimeout()
+      + (options.isLatencies() ? "#latencies" : "") + (options.isTrace() ? "#trace" : "");
+    Waiter waiter = new Waiter(Vertx.currentContext(), resultHandler);
+    synchronized (executions) {
+      List<Waiter> waiters = executions.get(key);
+      if (waiters != null) {
+        waiters.add(waiter);
+        return;
       }
-      compute(check, json -> resultHandler.handle(Future.succeededFuture(json)));
+      waiters = new ArrayList<>(1);
+      waiters.add(waiter);
+      executions.put(key, waiters);
     }
-    return this;
+
+    Invocation invocation = Invocation.isRequired(options) ? new Invocation(path, null, options) : null;
+    procedure.check(invocation, json -> {
+      List<Waiter> waiters;
+      synchronized (executions) {
+        waiters = executions.remove(key);
+      }
+      JsonObject report = report(procedure, invocation, json);
+      Context current = Vertx.currentContext();
+      // Each waiter gets its own copy as the result may be modified.
+      for (int i = 0; i < waiters.size(); i++) {
+        waiters.get(i).handle(current, i == 0 ? report : report.copy());
+      }
+    });
   }
 
+  /**
+   * Computes the report from the result of the invoked procedure, adding the trace if the invocation is traced.
+   * Composite results are created for each execution, but the results of leaf procedures may be shared, so they are
+   * copied.
+   */
+  private JsonObject report(Procedure procedure, Invocation invocation, JsonObject result) {
+    JsonObject report = procedure instanceof CompositeProcedure ? result : result.copy();
+    if (invocation != null && invocation.trace() != null) {
+      report.put("trace", invocation.trace().toJson());
+    }
+    return report;
+  }
+
+
 
   private CompositeProcedure findLastParent(String[] segments) {
     int i;
@@ -131,9 +305,42 @@ public class HealthChecksImpl implements HealthChecks {
     return parent;
   }
 
-  private void compute(Procedure procedure, Handler<JsonObject> resultHandler) {
-    procedure.check(resultHandler);
+  /**
+   * An invocation waiting for a shared execution, with the context it was made from. With shared instances, the
+   * invocations come from several verticles, and so several event loops.
+   */
+  private static class Waiter {
+    private final Context context;
+    private final Handler<JsonObject> handler;
+
+    private Waiter(Context context, Handler<JsonObject> handler) {
+      this.context = context;
+      this.handler = handler;
+    }
+
+    /**
+     * Hands the result to the waiter, on its own context unless the execution completed on it.
+     *
+     * @param current the context completing the execution, may be {@code null}
+     * @param result  the result
+     */
+    private void handle(Context current, JsonObject result) {
+      if (context == null || context == current) {
+        handler.handle(result);
+      } else {
+        context.runOnContext(v -> handler.handle(result));
+      }
+    }
   }
 
+  /**
+   * Wraps the shared instances, so they can be stored in a local map.
+   */
+  private static class SharedHealthChecks implements Shareable {
+    private final HealthChecks healthChecks;
 
+    private SharedHealthChecks(HealthChecks healthChecks) {
+      this.healthChecks = healthChecks;
+    }
+  }
 }
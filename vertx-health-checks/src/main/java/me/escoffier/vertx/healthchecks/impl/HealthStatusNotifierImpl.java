@@ -0,0 +1,98 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.HealthStatusNotifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HealthStatusNotifierImpl implements HealthStatusNotifier {
+
+  private final Vertx vertx;
+  private final String address;
+  private final long debounce;
+  private final StatusWatcher watcher;
+  private final StatusWatcher.Listener listener = this::onUpdate;
+
+  /**
+   * The transitions waiting for the end of their debounce window, keyed by path.
+   */
+  private final Map<String, Pending> pending = new HashMap<>();
+
+  public HealthStatusNotifierImpl(Vertx vertx, HealthChecks healthChecks, String address, long period,
+                                  long debounce) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.address = Objects.requireNonNull(address);
+    if (debounce < 0) {
+      throw new IllegalArgumentException("The debounce window must not be negative");
+    }
+    this.debounce = debounce;
+    this.watcher = new StatusWatcher(vertx, healthChecks, period);
+    this.watcher.addListener(listener);
+  }
+
+  @Override
+  public synchronized void close() {
+    watcher.removeListener(listener);
+    for (Pending transition : pending.values()) {
+      vertx.cancelTimer(transition.timer);
+    }
+    pending.clear();
+  }
+
+  private synchronized void onUpdate(JsonObject report, List<JsonObject> changes) {
+    for (JsonObject change : changes) {
+      if (debounce == 0) {
+        vertx.eventBus().publish(address, change);
+        continue;
+      }
+
+      String path = change.getString("path");
+      Pending transition = pending.get(path);
+      if (transition == null) {
+        transition = new Pending(change.getString("previous"));
+        pending.put(path, transition);
+      } else {
+        vertx.cancelTimer(transition.timer);
+      }
+      transition.status = change.getString("status");
+      transition.timestamp = change.getLong("timestamp");
+      transition.timer = vertx.setTimer(debounce, l -> flush(path));
+    }
+  }
+
+  private synchronized void flush(String path) {
+    Pending transition = pending.remove(path);
+    if (transition == null || Objects.equals(transition.previous, transition.status)) {
+      // Flapped back to the published state
+      return;
+    }
+
+    JsonObject json = new JsonObject().put("path", path);
+    if (transition.previous != null) {
+      json.put("previous", transition.previous);
+    }
+    if (transition.status != null) {
+      json.put("status", transition.status);
+    }
+    vertx.eventBus().publish(address, json.put("timestamp", transition.timestamp));
+  }
+
+  private static class Pending {
+    private final String previous;
+    private String status;
+    private long timestamp;
+    private long timer;
+
+    Pending(String previous) {
+      this.previous = previous;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.InvocationOptions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a single execution of (a part of) the procedure tree when the caller needs more than the final
+ * report, such as being notified of each leaf result as soon as it completes, enforcing a deadline, or reporting
+ * the latencies, or tracing the execution.
+ * <p>
+ * Plain invocations do not create any {@link Invocation}, procedures receive {@code null} instead.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class Invocation {
+
+  private final String path;
+  private final Handler<JsonObject> checkHandler;
+  private final boolean bounded;
+  private final long deadline;
+  private final boolean latencies;
+  private final Trace trace;
+  private final long scheduled;
+
+  /**
+   * Creates a new invocation.
+   *
+   * @param path         the path of the invoked procedure, {@code null} for the root
+   * @param checkHandler the handler receiving the result of each leaf procedure, may be {@code null}
+   */
+  public Invocation(String path, Handler<JsonObject> checkHandler) {
+    this(path, checkHandler, -1);
+  }
+
+  /**
+   * Creates a new invocation.
+   *
+   * @param path         the path of the invoked procedure, {@code null} for the root
+   * @param checkHandler the handler receiving the result of each leaf procedure, may be {@code null}
+   * @param timeout      the deadline of the invocation in milliseconds, negative if none
+   */
+  public Invocation(String path, Handler<JsonObject> checkHandler, long timeout) {
+    this(path, checkHandler, new InvocationOptions().setTimeout(timeout));
+  }
+
+  /**
+   * Creates a new invocation.
+   *
+   * @param path         the path of the invoked procedure, {@code null} for the root
+   * @param checkHandler the handler receiving the result of each leaf procedure, may be {@code null}
+   * @param options      the invocation options
+   */
+  public Invocation(String path, Handler<JsonObject> checkHandler, InvocationOptions options) {
+    this(path, checkHandler, options.getTimeout() >= 0,
+      options.getTimeout() >= 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getTimeout()) : 0,
+      options.isLatencies(), options.isTrace() ? new Trace() : null);
+  }
+
+  private Invocation(String path, Handler<JsonObject> checkHandler, boolean bounded, long deadline,
+                     boolean latencies, Trace trace) {
+    this.path = path;
+    this.checkHandler = checkHandler;
+    this.bounded = bounded;
+    this.deadline = deadline;
+    this.latencies = latencies;
+    this.trace = trace;
+    this.scheduled = trace == null ? 0 : System.nanoTime();
+  }
+
+  /**
+   * Checks whether invocations using the given options need an {@link Invocation} object.
+   *
+   * @param options the options
+   * @return {@code true} if the options are not the default ones
+   */
+  static boolean isRequired(InvocationOptions options) {
+    return options.getTimeout() >= 0 || options.isLatencies() || options.isTrace();
+  }
+
+  /**
+   * @return the path of the procedure attached to this invocation, {@code null} for the root.
+   */
+  public String path() {
+    return path;
+  }
+
+  /**
+   * Creates the invocation passed to the child procedure with the given name.
+   *
+   * @param name the child name
+   * @return the invocation for the child
+   */
+  public Invocation child(String name) {
+    return new Invocation(path == null ? name : path + "/" + name, checkHandler, bounded, deadline, latencies,
+      trace);
+  }
+
+  /**
+   * Computes the timeout of a procedure executed as part of this invocation.
+   *
+   * @param timeout the timeout of the procedure in milliseconds, negative if none
+   * @return the timeout to use, the shortest of the given one and the time left before the deadline. Negative if
+   * none.
+   */
+  long timeout(long timeout) {
+    if (!bounded) {
+      return timeout;
+    }
+    long left = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    return timeout < 0 ? left : Math.min(timeout, left);
+  }
+
+  /**
+   * @return whether or not the latency percentiles of the procedures are included in their results.
+   */
+  boolean latencies() {
+    return latencies;
+  }
+
+  /**
+   * @return the trace collecting the timings of the invocation, {@code null} if the invocation is not traced.
+   */
+  Trace trace() {
+    return trace;
+  }
+
+  /**
+   * @return when the procedure attached to this invocation has been scheduled, {@code 0} if the invocation is not
+   * traced.
+   */
+  long scheduled() {
+    return scheduled;
+  }
+
+  /**
+   * Notifies the invocation that the leaf procedure attached to this invocation has completed.
+   *
+   * @param result the procedure result
+   */
+  void completed(JsonObject result) {
+    if (checkHandler != null) {
+      checkHandler.handle(result.copy().put("path", path));
+    }
+  }
+}
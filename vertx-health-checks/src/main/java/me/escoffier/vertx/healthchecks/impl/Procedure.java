@@ -8,6 +8,21 @@ import io.vertx.core.json.JsonObject;
  */
 public interface Procedure {
 
+  /**
+   * Executes the procedure. The result may be shared between executions, and so must not be modified.
+   *
+   * @param resultHandler the result handler
+   */
   void check(Handler<JsonObject> resultHandler);
 
+  /**
+   * Executes the procedure as part of the given invocation.
+   *
+   * @param invocation    the invocation, {@code null} for plain invocations
+   * @param resultHandler the result handler
+   */
+  default void check(Invocation invocation, Handler<JsonObject> resultHandler) {
+    check(resultHandler);
+  }
+
 }
@@ -0,0 +1,14 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+/**
+ * The failure of a procedure not completed in time. Timeouts are identified by this type rather than by the message,
+ * as procedures can fail with any message.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+class ProcedureTimeoutException extends ProcedureException {
+
+  ProcedureTimeoutException() {
+    super("Timeout");
+  }
+}
@@ -0,0 +1,199 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthCheckService;
+import me.escoffier.vertx.healthchecks.MountOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A procedure mounting remote health checks as a subtree. The remote report is cached, and refreshed in the
+ * background once expired: checks never wait for the remote call, except for the very first one.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+class RemoteProcedure implements Procedure {
+
+  private final Vertx vertx;
+  private final String name;
+  private final MountOptions options;
+  private final HttpClient client;
+
+  private JsonObject cached;
+  private long expiration;
+  private boolean refreshing;
+
+  /**
+   * The checks waiting for the first result.
+   */
+  private final List<Handler<JsonObject>> waiters = new ArrayList<>();
+
+  RemoteProcedure(Vertx vertx, String name, MountOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.name = Objects.requireNonNull(name);
+    Objects.requireNonNull(options);
+    if ((options.getAddress() == null) == (options.getUrl() == null)) {
+      throw new IllegalArgumentException("Either the address or the URL must be set");
+    }
+    if (options.getTtl() < 0) {
+      throw new IllegalArgumentException("The time to live must not be negative");
+    }
+    if (options.getTimeout() <= 0) {
+      throw new IllegalArgumentException("The timeout must be strictly positive");
+    }
+    this.options = new MountOptions(options);
+    this.client = options.getUrl() == null ? null : vertx.createHttpClient();
+  }
+
+  @Override
+  public void check(Handler<JsonObject> resultHandler) {
+    check(null, resultHandler);
+  }
+
+  @Override
+  public void check(Invocation invocation, Handler<JsonObject> resultHandler) {
+    JsonObject result;
+    boolean refresh;
+    synchronized (this) {
+      result = cached;
+      if (result == null) {
+        waiters.add(json -> completed(invocation, json, resultHandler));
+      }
+      refresh = !refreshing && (result == null || System.nanoTime() - expiration >= 0);
+      refreshing = refreshing || refresh;
+    }
+
+    if (refresh) {
+      // The remote call must not outlive the deadline of the invocation triggering it
+      refresh(invocation == null ? options.getTimeout() : Math.max(1, invocation.timeout(options.getTimeout())));
+    }
+    if (result != null) {
+      // Stale results are returned while being refreshed
+      completed(invocation, result, resultHandler);
+    }
+  }
+
+  private void completed(Invocation invocation, JsonObject result, Handler<JsonObject> resultHandler) {
+    // The cached result is shared, so each check gets its own copy.
+    JsonObject json = result.copy();
+    if (invocation != null) {
+      invocation.completed(json);
+    }
+    resultHandler.handle(json);
+  }
+
+  private void refresh(long timeout) {
+    Future<JsonObject> future = Future.future();
+    future.setHandler(ar -> {
+      JsonObject json = new JsonObject().put("id", name);
+      if (ar.succeeded()) {
+        JsonArray checks = ar.result().getJsonArray("checks");
+        json.put("status", StatusHelper.isUp(ar.result()) ? "UP" : "DOWN");
+        if (checks != null) {
+          json.put("checks", checks);
+        }
+      } else {
+        json.put("status", "DOWN")
+          .put("data", new JsonObject().put("cause", ar.cause().getMessage()));
+      }
+
+      List<Handler<JsonObject>> handlers;
+      synchronized (this) {
+        cached = json;
+        expiration = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getTtl());
+        refreshing = false;
+        handlers = new ArrayList<>(waiters);
+        waiters.clear();
+      }
+      handlers.forEach(handler -> handler.handle(json));
+    });
+
+    try {
+      if (client == null) {
+        fetchFromEventBus(future, timeout);
+      } else {
+        fetchFromHttp(future, timeout);
+      }
+    } catch (Exception e) {
+      future.fail(e);
+    }
+  }
+
+  private void fetchFromEventBus(Future<JsonObject> future, long timeout) {
+    DeliveryOptions delivery = new DeliveryOptions()
+      .setSendTimeout(timeout)
+      .addHeader(HealthCheckService.DETAIL_HEADER, HealthCheckService.DETAIL_FULL)
+      // Let the remote procedures time out before the call does
+      .addHeader(HealthCheckService.TIMEOUT_HEADER, Long.toString(Math.max(1, timeout * 4 / 5)));
+    vertx.eventBus().<JsonObject>send(options.getAddress(), "", delivery, reply -> {
+      if (reply.succeeded()) {
+        future.complete(reply.result().body());
+      } else {
+        future.fail(reply.cause());
+      }
+    });
+  }
+
+  private void fetchFromHttp(Future<JsonObject> future, long timeout) {
+    HttpClientRequest request = client.getAbs(options.getUrl(), response -> {
+      switch (response.statusCode()) {
+        case 204:
+          // No procedures
+          response.exceptionHandler(t -> { });
+          complete(future, new JsonObject().put("checks", new JsonArray()).put("outcome", "UP"));
+          break;
+        case 200:
+        case 503:
+        case 500: // A procedure failed, the body is still a report
+          response
+            .exceptionHandler(t -> fail(future, t))
+            .bodyHandler(buffer -> {
+              try {
+                complete(future, buffer.toJsonObject());
+              } catch (Exception e) {
+                fail(future, e);
+              }
+            });
+          break;
+        default:
+          response.exceptionHandler(t -> { });
+          fail(future, new ProcedureException("Unexpected status code: " + response.statusCode()));
+      }
+    });
+    request
+      .exceptionHandler(t -> fail(future, t))
+      .setTimeout(timeout)
+      .end();
+  }
+
+  private static void complete(Future<JsonObject> future, JsonObject json) {
+    if (!future.isComplete()) {
+      future.complete(json);
+    }
+  }
+
+  private static void fail(Future<JsonObject> future, Throwable cause) {
+    if (!future.isComplete()) {
+      future.fail(cause);
+    }
+  }
+
+  /**
+   * Releases the resources used to reach the remote health checks.
+   */
+  void close() {
+    if (client != null) {
+      client.close();
+    }
+  }
+}
@@ -2,9 +2,13 @@ package me.escoffier.vertx.healthchecks.impl;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import me.escoffier.vertx.healthchecks.Status;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -22,8 +26,8 @@ public class StatusHelper {
         json.put("status", "UP");
       }
 
-      if (ar.result() != null && ar.result().getData() != null && !ar.result().getData().isEmpty()) {
-        json.put("data", ar.result().getData());
+      if (ar.result() != null && (ar.result().hasData() || ar.result().gaugeCount() > 0)) {
+        json.put("data", data(ar.result()));
       }
 
       if (ar.result() != null && ar.result().isProcedureInError()) {
@@ -38,6 +42,70 @@ public class StatusHelper {
     return json;
   }
 
+  /**
+   * Creates the result of a procedure without data. As these results do not depend on the execution, they can be
+   * created once and shared by all the executions of the procedure.
+   *
+   * @param name the name of the procedure, may be {@code null}
+   * @param up   whether the result is {@code UP} or {@code DOWN}
+   * @return the result
+   */
+  public static JsonObject from(String name, boolean up) {
+    JsonObject json = new JsonObject();
+    if (name != null) {
+      json.put("id", name);
+    }
+    return json.put("status", up ? "UP" : "DOWN");
+  }
+
+  /**
+   * Computes the result of a procedure, reusing the given results when the status carries no data.
+   *
+   * @param name the name of the procedure, may be {@code null}
+   * @param ar   the outcome of the procedure
+   * @param up   the shared result for {@code UP} statuses without data
+   * @param down the shared result for {@code DOWN} statuses without data
+   * @return the result, either one of the shared results or a new {@link JsonObject}
+   */
+  public static JsonObject from(String name, AsyncResult<Status> ar, JsonObject up, JsonObject down) {
+    if (ar.succeeded()) {
+      Status status = ar.result();
+      if (status == null || status == Status.UP) {
+        return up;
+      }
+      if (status == Status.DOWN) {
+        return down;
+      }
+      if (!status.hasData() && status.gaugeCount() == 0 && !status.isProcedureInError()) {
+        return status.isOk() ? up : down;
+      }
+    }
+    return from(name, ar);
+  }
+
+  /**
+   * Builds the data reported for the given status: its metadata and its gauges. The metadata of the status is
+   * reused as is when the status has no gauges.
+   */
+  private static JsonObject data(Status status) {
+    int count = status.gaugeCount();
+    if (count == 0) {
+      return status.getData();
+    }
+    Map<String, Object> map = new LinkedHashMap<>();
+    if (status.hasData()) {
+      map.putAll(status.getData().getMap());
+    }
+    for (int i = 0; i < count; i++) {
+      if (status.gaugeIsLong(i)) {
+        map.put(status.gaugeName(i), status.gaugeLong(i));
+      } else {
+        map.put(status.gaugeName(i), status.gaugeDouble(i));
+      }
+    }
+    return new JsonObject(map);
+  }
+
   public static JsonObject onError(String name, ProcedureException e) {
     JsonObject json = new JsonObject();
     if (name != null) {
@@ -50,6 +118,16 @@ public class StatusHelper {
         .put("cause", e.getMessage()));
   }
 
+  /**
+   * Converts a duration measured with {@link System#nanoTime()} to milliseconds, keeping microseconds.
+   *
+   * @param nanos the duration in nanoseconds
+   * @return the duration in milliseconds
+   */
+  static double millis(long nanos) {
+    return nanos / 1000 / 1000.0;
+  }
+
   public static boolean isUp(Future<JsonObject> json) {
     return !json.failed() && isUp(json.result());
 
@@ -63,4 +141,33 @@ public class StatusHelper {
     return json == null || "UP".equals(json.getString("status")) || "UP".equals(json.getString("outcome"));
 
   }
+
+  /**
+   * Flattens a report into the status of each node of the tree. Nodes are identified by their path, the root is
+   * identified by {@code /}.
+   *
+   * @param report the report
+   * @return the map path -> status ({@code UP} or {@code DOWN})
+   */
+  public static Map<String, String> statuses(JsonObject report) {
+    Map<String, String> statuses = new LinkedHashMap<>();
+    statuses.put("/", isUp(report) ? "UP" : "DOWN");
+    if (report != null) {
+      collect(null, report.getJsonArray("checks"), statuses);
+    }
+    return statuses;
+  }
+
+  private static void collect(String prefix, JsonArray checks, Map<String, String> statuses) {
+    if (checks == null) {
+      return;
+    }
+    for (int i = 0; i < checks.size(); i++) {
+      JsonObject check = checks.getJsonObject(i);
+      String id = check.getString("id");
+      String path = prefix == null ? id : prefix + "/" + id;
+      statuses.put(path, isUp(check) ? "UP" : "DOWN");
+      collect(path, check.getJsonArray("checks"), statuses);
+    }
+  }
 }
@@ -0,0 +1,94 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The last results of a procedure, stored in a ring buffer. The buffer uses primitive arrays, allocated on the first
+ * record, so each procedure uses at most {@code 13 * size} bytes (plus the array headers).
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+class StatusHistory {
+
+  /**
+   * The default number of results kept per procedure.
+   */
+  static final int DEFAULT_SIZE = 32;
+
+  static final int NO_ERROR = 0;
+  static final int FAILURE = 1;
+  static final int TIMEOUT = 2;
+  static final int EXCEPTION = 3;
+
+  private static final String[] ERRORS = {null, "failure", "timeout", "exception"};
+
+  private static final int UP = 0x1;
+
+  private final int size;
+
+  private long[] timestamps;
+  /**
+   * The latencies in microseconds.
+   */
+  private int[] latencies;
+  /**
+   * The status bit (lowest bit) and the error kind (next bits).
+   */
+  private byte[] flags;
+
+  private int next;
+  private int count;
+
+  StatusHistory(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("The size of the history must be strictly positive");
+    }
+    this.size = size;
+  }
+
+  /**
+   * Records a result, replacing the oldest one if the history is full.
+   *
+   * @param timestamp the completion time in milliseconds
+   * @param up        whether the result is {@code UP}
+   * @param latency   the execution time in nanoseconds
+   * @param error     the error kind, {@link #NO_ERROR} if the procedure completed normally
+   */
+  synchronized void record(long timestamp, boolean up, long latency, int error) {
+    if (timestamps == null) {
+      timestamps = new long[size];
+      latencies = new int[size];
+      flags = new byte[size];
+    }
+    timestamps[next] = timestamp;
+    latencies[next] = (int) Math.min(Integer.MAX_VALUE, latency / 1000);
+    flags[next] = (byte) ((up ? UP : 0) | (error << 1));
+    next = (next + 1) % size;
+    if (count < size) {
+      count++;
+    }
+  }
+
+  /**
+   * @return the results, oldest first. Each result contains the {@code timestamp}, the {@code status}, the
+   * {@code latency} in milliseconds, and the {@code error} kind if any.
+   */
+  synchronized JsonArray toJson() {
+    JsonArray array = new JsonArray();
+    int first = (next - count + size) % size;
+    for (int i = 0; i < count; i++) {
+      int index = (first + i) % size;
+      JsonObject json = new JsonObject()
+        .put("timestamp", timestamps[index])
+        .put("status", (flags[index] & UP) != 0 ? "UP" : "DOWN")
+        .put("latency", latencies[index] / 1000.0);
+      String error = ERRORS[flags[index] >> 1];
+      if (error != null) {
+        json.put("error", error);
+      }
+      array.add(json);
+    }
+    return array;
+  }
+}
@@ -0,0 +1,149 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Periodically invokes the procedure tree and notifies its listeners of the status transitions. A single execution
+ * is made per period whatever the number of listeners. The watcher only runs while it has listeners.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class StatusWatcher {
+
+  /**
+   * Receives the result of each execution.
+   */
+  public interface Listener {
+
+    /**
+     * Called after each execution.
+     *
+     * @param report  the report, must not be modified
+     * @param changes the status transitions since the previous execution, empty for the first execution. Each
+     *                change contains the {@code path} of the node, its {@code previous} and current
+     *                {@code status} (absent when the node has been added or removed) and a {@code timestamp}.
+     */
+    void onUpdate(JsonObject report, List<JsonObject> changes);
+  }
+
+  private final Vertx vertx;
+  private final HealthChecks healthChecks;
+  private final long period;
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  private long timer = -1;
+  private boolean polling;
+  private Map<String, String> statuses;
+  private JsonObject report;
+
+  public StatusWatcher(Vertx vertx, HealthChecks healthChecks, long period) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.healthChecks = Objects.requireNonNull(healthChecks);
+    if (period <= 0) {
+      throw new IllegalArgumentException("The period must be positive");
+    }
+    this.period = period;
+  }
+
+  /**
+   * Adds a listener, and starts watching if it's the first one. Listeners are never called while the watcher
+   * holds its lock.
+   *
+   * @param listener the listener
+   */
+  public void addListener(Listener listener) {
+    Objects.requireNonNull(listener);
+    boolean start;
+    synchronized (this) {
+      listeners.add(listener);
+      start = timer == -1;
+      if (start) {
+        timer = vertx.setPeriodic(period, l -> poll());
+      }
+    }
+    if (start) {
+      poll();
+    }
+  }
+
+  /**
+   * Removes a listener, and stops watching if it was the last one.
+   *
+   * @param listener the listener
+   */
+  public synchronized void removeListener(Listener listener) {
+    listeners.remove(listener);
+    if (listeners.isEmpty() && timer != -1) {
+      vertx.cancelTimer(timer);
+      timer = -1;
+      statuses = null;
+      report = null;
+    }
+  }
+
+  /**
+   * @return the last report, {@code null} if none has been computed yet.
+   */
+  public synchronized JsonObject report() {
+    return report;
+  }
+
+  private void poll() {
+    synchronized (this) {
+      // Skip the period if the previous execution is still running.
+      if (polling || timer == -1) {
+        return;
+      }
+      polling = true;
+    }
+    healthChecks.invoke(this::onReport);
+  }
+
+  private void onReport(JsonObject json) {
+    long now = System.currentTimeMillis();
+    List<JsonObject> changes = new ArrayList<>();
+    synchronized (this) {
+      polling = false;
+      if (timer == -1) {
+        return;
+      }
+      Map<String, String> current = StatusHelper.statuses(json);
+      if (statuses != null) {
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+          String previous = statuses.get(entry.getKey());
+          if (!entry.getValue().equals(previous)) {
+            changes.add(change(entry.getKey(), previous, entry.getValue(), now));
+          }
+        }
+        for (Map.Entry<String, String> entry : statuses.entrySet()) {
+          if (!current.containsKey(entry.getKey())) {
+            changes.add(change(entry.getKey(), entry.getValue(), null, now));
+          }
+        }
+      }
+      statuses = current;
+      report = json;
+    }
+
+    for (Listener listener : listeners) {
+      listener.onUpdate(json, changes);
+    }
+  }
+
+  private static JsonObject change(String path, String previous, String status, long timestamp) {
+    JsonObject json = new JsonObject().put("path", path);
+    if (previous != null) {
+      json.put("previous", previous);
+    }
+    if (status != null) {
+      json.put("status", status);
+    }
+    return json.put("timestamp", timestamp);
+  }
+}
@@ -0,0 +1,68 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import static me.escoffier.vertx.healthchecks.impl.StatusHelper.millis;
+
+/**
+ * Collects the timings of the procedures and groups executed by a traced invocation. Times are recorded using
+ * {@link System#nanoTime()}, and reported in milliseconds relative to the beginning of the invocation.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+class Trace {
+
+  private final long origin = System.nanoTime();
+  private final JsonArray entries = new JsonArray();
+
+  /**
+   * Records the execution of a procedure.
+   *
+   * @param path      the path of the procedure
+   * @param scheduled when the execution of the procedure has been requested
+   * @param started   when the procedure has been called
+   * @param completed when the procedure has completed
+   * @param timeout   whether the procedure has timed out
+   */
+  void procedure(String path, long scheduled, long started, long completed, boolean timeout) {
+    JsonObject entry = entry("procedure", path, scheduled, started, completed)
+      .put("timeout", timeout);
+    synchronized (this) {
+      entries.add(entry);
+    }
+  }
+
+  /**
+   * Records the execution of a group.
+   *
+   * @param path      the path of the group
+   * @param scheduled when the execution of the group has been requested
+   * @param started   when the group has started calling its children
+   * @param joined    when all the children have completed
+   * @param completed when the result of the group has been computed
+   */
+  void group(String path, long scheduled, long started, long joined, long completed) {
+    JsonObject entry = entry("group", path, scheduled, started, completed)
+      .put("aggregation", millis(completed - joined));
+    synchronized (this) {
+      entries.add(entry);
+    }
+  }
+
+  private JsonObject entry(String type, String path, long scheduled, long started, long completed) {
+    return new JsonObject()
+      .put("type", type)
+      .put("path", path == null ? "/" : path)
+      .put("scheduled", millis(scheduled - origin))
+      .put("started", millis(started - origin))
+      .put("duration", millis(completed - started));
+  }
+
+  /**
+   * @return the recorded entries, in completion order.
+   */
+  synchronized JsonArray toJson() {
+    return entries.copy();
+  }
+}
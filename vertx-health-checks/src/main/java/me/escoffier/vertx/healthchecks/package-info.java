@@ -42,6 +42,19 @@
  *
  * Once you have created this object you can register and unregister procedures. See more about this below.
  *
+ * When a verticle is deployed with several instances, each instance creating its own object would execute the
+ * same procedures once per instance. Instead, the instances can use the object shared by all the users of the
+ * Vert.x instance:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#shared(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The procedures are then executed once per invocation, whatever the number of verticle instances. Registering a
+ * procedure with an existing name replaces it, so each instance can register the same procedures. Several shared
+ * objects can be used by passing a name to {@link me.escoffier.vertx.healthchecks.HealthChecks#shared(io.vertx.core.Vertx, java.lang.String)}.
+ *
  * === Registering the Vert.x Web handler
  *
  * To create the Vert.x Web handler managing your health check you can either:
@@ -89,6 +102,46 @@
  * {@link examples.Examples#example4(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
  * ----
  *
+ * Procedures completing without data can use the shared {@link me.escoffier.vertx.healthchecks.Status#UP} and
+ * {@link me.escoffier.vertx.healthchecks.Status#DOWN} statuses instead of
+ * {@link me.escoffier.vertx.healthchecks.Status#OK()} and {@link me.escoffier.vertx.healthchecks.Status#KO()}. They
+ * cannot be modified, and their executions allocate no {@link me.escoffier.vertx.healthchecks.Status}, which matters
+ * for procedures probed at high rates.
+ *
+ * Numeric measurements, such as a pool usage or a queue depth, can be attached as _gauges_. Gauges are stored
+ * without boxing, can be read from the {@link me.escoffier.vertx.healthchecks.Status} without parsing JSON, and are
+ * reported in the data of the procedure:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#gauges(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * Procedures can also be registered with {@link me.escoffier.vertx.healthchecks.ProcedureOptions} configuring their
+ * timeout, and their _rise_ and _fall_ thresholds. With thresholds, a procedure reported as `UP` is only reported as
+ * `DOWN` after several consecutive failures (and the other way around), so a single slow or failed execution does
+ * not make a load balancer drain the node:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#thresholds(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The first result is reported as is. The data of these procedures contains the `raw-status` (the status of the
+ * last execution) and the `debounced-status` (the reported status).
+ *
+ * Procedures are called on the event loop, so they must not block. When a _blocking threshold_ is configured
+ * (the detection is disabled by default), the time spent by a procedure before returning is measured, and
+ * executions exceeding the threshold are reported in the `blocking` entry of the procedure data and in the metrics.
+ * Procedures blocking the event loop several consecutive times can also be moved to a worker thread:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#blocking(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * This is a safety net, procedures doing blocking operations should rather use `executeBlocking` themselves.
+ *
  * Procedures can be organised by groups. The procedure name indicates the group. The procedures are organized as a
  * tree and the structure is mapped to HTTP urls (see below).
  *
@@ -163,6 +216,239 @@
  * If a procedure throws an error, reports a failure (exception), the JSON document provides the `cause` in the
  * `data` section. If a procedure does not report back before a timeout, the indicated cause is `Timeout`.
  *
+ * == Procedure history
+ *
+ * Each procedure keeps its last 32 results, so you can understand how the checks behaved during an outage. The
+ * history is retrieved using {@link me.escoffier.vertx.healthchecks.HealthChecks#history(java.lang.String)}. Each
+ * entry contains the completion `timestamp`, the `status`, the execution `latency` in milliseconds, and the `error`
+ * kind (`failure`, `timeout` or `exception`) if the procedure did not complete normally. The results are stored in
+ * a fixed-size buffer, so the memory used by each procedure is bounded.
+ *
+ * The history can also be exposed by the Vert.x web handler, using the `history` query parameter (for instance
+ * `/health/my-procedure?history=true`):
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#history(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The execution time of each procedure is also recorded in a histogram. The latency percentiles are included in
+ * the report when the `latencies` query parameter is set (for instance `/health?latencies=true`), or when the
+ * procedures are invoked with {@link me.escoffier.vertx.healthchecks.InvocationOptions#setLatencies(boolean)}. The
+ * data of each procedure then contains:
+ *
+ * [source]
+ * ----
+ * "latency" : {
+ *   "count" : 1250,
+ *   "p50" : 2.5,
+ *   "p99" : 12.0,
+ *   "max" : 31.2
+ * }
+ * ----
+ *
+ * `count` is the number of executions, and the other values are execution times in milliseconds (percentiles are
+ * within 12.5% of the actual values).
+ *
+ * == Metrics
+ *
+ * The executions of the procedures can be reported to your metrics system by implementing
+ * {@link me.escoffier.vertx.healthchecks.spi.HealthCheckMetrics} and passing it when creating the
+ * {@link me.escoffier.vertx.healthchecks.HealthChecks}. It receives the executions, failures, timeouts and durations of
+ * the procedures and groups, the gauges reported by the procedures, the unregistered paths, and, when a
+ * {@link me.escoffier.vertx.healthchecks.HealthCheckHandler} is created from this object, the HTTP probes and the
+ * authentication failures. The {@link me.escoffier.vertx.healthchecks.spi.InMemoryHealthCheckMetrics} keeps these
+ * metrics in memory:
+ *
+ * [source, java]
+ * ----
+ * {@link examples.Examples#metrics(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * Without metrics, a no-op implementation is used.
+ *
+ * == Tracing slow invocations
+ *
+ * To understand which procedure makes an invocation slow, the execution can be traced using the `trace` query
+ * parameter (for instance `/health?trace=true`), or {@link me.escoffier.vertx.healthchecks.InvocationOptions#setTrace(boolean)}.
+ * The report then contains a `trace` section with an entry per procedure and group:
+ *
+ * [source]
+ * ----
+ * "trace" : [
+ *   { "type" : "procedure", "path" : "my-group/my-procedure", "scheduled" : 0.012, "started" : 0.015,
+ *     "duration" : 1000.4, "timeout" : true },
+ *   { "type" : "group", "path" : "my-group", "scheduled" : 0.008, "started" : 0.009, "duration" : 1000.9,
+ *     "aggregation" : 0.021 },
+ *   ...
+ * ]
+ * ----
+ *
+ * `scheduled` and `started` are relative to the beginning of the invocation, and all times are in milliseconds.
+ * `aggregation` is the time spent by a group to compute its outcome once all its children have completed.
+ * Untraced invocations do not record anything.
+ *
+ * == Streaming the results
+ *
+ * With large trees, the whole response waits for the slowest procedure. When the request sets the `Accept` header to
+ * `application/x-ndjson` (or passes the `stream=true` parameter), the Vert.x web handler writes the result of each
+ * procedure as soon as it completes, one JSON document per line, in a chunked response. Each line contains the
+ * `path` of the procedure in the tree. The last line contains the overall `outcome` and the `code` the regular
+ * response would have used:
+ *
+ * [source]
+ * ----
+ * {"id":"A","status":"UP","path":"A"}
+ * {"id":"C1","status":"DOWN","path":"my-group/C1"}
+ * {"outcome":"DOWN","code":503}
+ * ----
+ *
+ * The streamed response always uses the `200` status code, except when no procedures are executed or the
+ * procedure cannot be found. In this case the regular response is sent. The same behavior is available
+ * programmatically using {@link me.escoffier.vertx.healthchecks.HealthChecks#invoke(java.lang.String,
+ * io.vertx.core.Handler, io.vertx.core.Handler)}.
+ *
+ * == Pushing status changes to dashboards
+ *
+ * Instead of polling the health checks, dashboards can subscribe to a stream of Server-Sent Events using the
+ * {@link me.escoffier.vertx.healthchecks.HealthCheckEventStreamHandler}:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#eventStream(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * Upon subscription, the client receives a `snapshot` event containing the current report. Then, it only
+ * receives `delta` events when procedures or groups change state:
+ *
+ * [source]
+ * ----
+ * event: delta
+ * data: {"changes":[{"path":"my-group/C1","previous":"UP","status":"DOWN","timestamp":1487081234567}]}
+ * ----
+ *
+ * The root of the tree is identified by the `/` path. The procedures are executed once per period whatever the
+ * number of subscribers, and only while there is at least one subscriber. Events are not buffered for slow
+ * subscribers: when its write queue is full, a subscriber misses the events, and receives a new `snapshot` once the
+ * queue has drained.
+ *
+ * Backend services can also be notified of the changes using the
+ * {@link me.escoffier.vertx.healthchecks.HealthStatusNotifier}. It publishes a message on the event bus for each
+ * transition, once the new status has been stable for the debounce window:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#statusNotifications(io.vertx.core.Vertx)}
+ * ----
+ *
+ * Procedures flapping within the debounce window and going back to their previous status do not publish anything.
+ *
+ * == Built-in procedures
+ *
+ * The `me.escoffier.vertx.healthchecks.procedures` package provides ready-to-use procedures for common checks.
+ * They report their numeric values as gauges, so they are available in the procedure data and in the metrics.
+ *
+ * === JVM resources
+ *
+ * {@link me.escoffier.vertx.healthchecks.procedures.JvmProcedures} checks the heap usage, the time spent in
+ * garbage collection, the number of live threads, the open file descriptors and the deadlocked threads:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#jvm(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The JVM is sampled at most once per configured interval, the probes received in between report the last
+ * sample. The deadlock detection, which can take time with many threads, runs on a worker thread.
+ *
+ * === Event loop lag
+ *
+ * {@link me.escoffier.vertx.healthchecks.procedures.EventLoopLagProcedure} measures how late the event loops
+ * execute their tasks, which is often the first sign of an overloaded or blocked application:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#eventLoopLag(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * A sampler verticle is deployed on each event loop, and measures the delay of a periodic timer. The procedure
+ * reports `DOWN` when the maximum lag of an event loop over the rolling window exceeds the threshold. Its data
+ * contains the maximum, median, 99th percentile and last lags of each event loop.
+ *
+ * === Disk space
+ *
+ * {@link me.escoffier.vertx.healthchecks.procedures.DiskSpaceProcedure} checks the usable space and the
+ * writability of the file systems containing the configured paths. The minimum usable space is expressed in bytes,
+ * in percent of the total space, or both:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#diskSpace(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The file stores are read on a worker thread, at most once per configured interval. The data contains the total
+ * and usable space of each path, which are also reported as gauges.
+ *
+ * === JDBC validation
+ *
+ * {@link me.escoffier.vertx.healthchecks.procedures.JdbcProcedure} takes a connection from the pool of a JDBC client
+ * and runs a validation query. The validation has its own timeout, so a saturated pool reports `DOWN` instead of
+ * blocking the health check:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#jdbcValidation(io.vertx.core.Vertx, io.vertx.ext.jdbc.JDBCClient, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The validation timeout must be below the timeout of the procedure (1 second by default), otherwise the procedure
+ * times out first and the report does not contain the error of the validation.
+ *
+ * The time spent waiting for a connection and the latency of the query are reported as the `pool-wait` and
+ * `query-latency` gauges, in milliseconds. Concurrent executions share the same validation, so a burst of probes
+ * takes at most one connection from the pool. Each execution has its own timeout. A validation outliving the
+ * executions that timed out keeps its connection until the query completes, and the executions in the meantime wait
+ * for its result.
+ *
+ * === HTTP and TCP endpoints
+ *
+ * {@link me.escoffier.vertx.healthchecks.procedures.HttpEndpointProcedure} sends a `GET` request to an HTTP endpoint,
+ * and checks the status code and the latency of the response.
+ * {@link me.escoffier.vertx.healthchecks.procedures.TcpConnectProcedure} checks that a TCP connection can be
+ * established with an endpoint. Each procedure has its own timeout and latency threshold:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#endpoints(io.vertx.core.Vertx, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * Unlike a client created in the procedure, the HTTP procedure keeps its client and a keep-alive connection between
+ * the probes, so the connection and the TLS handshake are not paid on every probe. By default, the successful and
+ * redirection status codes are expected, `maxStatus` sets the highest expected status code. The data contains the
+ * `status-code` and the `latency` gauge in milliseconds. The clients are closed with the `close` method of the
+ * procedures.
+ *
+ * The probe timeout of these procedures (500 ms by default) must be below the timeout of their registration (1 second
+ * by default), otherwise the procedure times out first and the report does not contain the error of the probe.
+ *
+ * === Service discovery
+ *
+ * {@link me.escoffier.vertx.healthchecks.procedures.ServiceDiscoveryBridge} watches a service discovery, and
+ * registers a procedure per record in a group. The procedures are registered and unregistered as the records are
+ * published and unpublished:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#serviceDiscovery(io.vertx.core.Vertx, io.vertx.servicediscovery.ServiceDiscovery, io.vertx.ext.web.Router)}
+ * ----
+ *
+ * The procedures of HTTP endpoints probe the root of the endpoint with a
+ * {@link me.escoffier.vertx.healthchecks.procedures.HttpEndpointProcedure}, so each endpoint keeps its client, and so
+ * its connection, between the probes. An endpoint is reported `UP` when it answers with a status code below 500, as
+ * the root of a service is not necessarily a page. The procedures of the other records report the status of the
+ * record. When the group is checked, the records are probed in batches: at most the configured number of probes run
+ * concurrently. The probe timeout (500 ms by default) must be below the timeout of the procedure (1 second by
+ * default), otherwise the procedure times out first and the report does not contain the error of the probe.
+ *
  * == Examples of procedures
  *
  * This section provides example of common health checks.
@@ -185,6 +471,10 @@
  * {@link examples.Examples#service}
  * ----
  *
+ * To check all the records of a service discovery, prefer the built-in
+ * {@link me.escoffier.vertx.healthchecks.procedures.ServiceDiscoveryBridge}, which reuses the clients between the
+ * probes.
+ *
  * === Event bus
  *
  * This check reports whether a consumer is ready on the event bus. The protocol, in this example, is a simple
@@ -212,16 +502,67 @@
  * The resulting object is passed to the auth provider to authenticate the request. If the authentication failed, it
  * returns a `403 - FORBIDDEN` response.
  *
+ * You can restrict the credentials to a set of headers / parameters using
+ * {@link me.escoffier.vertx.healthchecks.HealthCheckHandler#setCredentialNames(java.lang.String...)}. Probes are
+ * often sent by the same monitoring agent with the same credentials. To avoid calling the auth provider for each
+ * probe, successful authentications can be cached for a given time-to-live using
+ * {@link me.escoffier.vertx.healthchecks.HealthCheckHandler#setAuthenticationCache(int, long)}. The cache is
+ * bounded and keyed by a hash of the credentials:
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#authenticationCache(io.vertx.core.Vertx, io.vertx.ext.auth.AuthProvider)}
+ * ----
+ *
  * == Exposing health checks on the event bus
  *
  * While exposing the health checks using HTTP with the Vert.x web handler is convenient, it can be useful
- * to expose the data differently. This section gives an example to expose the data on the event bus:
+ * to expose the data differently. The {@link me.escoffier.vertx.healthchecks.HealthCheckService} exposes the
+ * health checks on the event bus:
  *
  * [source, $lang]
  * ----
  * {@link examples.Examples#publishOnEventBus(io.vertx.core.Vertx, me.escoffier.vertx.healthchecks.HealthChecks)}
  * ----
  *
+ * The service replies to each message with the health report. The message body is ignored, but the following
+ * headers configure the invocation:
+ *
+ * * `path` - the path of the invoked procedure, the root if not set
+ * * `detail` - the detail level of the reply: `outcome` (only the overall outcome), `status` (the status of each
+ * procedure without the data) or `full` (the whole report, default)
+ * * `timeout` - the deadline of the invocation in milliseconds. Procedures that have not completed before the
+ * deadline are considered as timed out.
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#queryOnEventBus(io.vertx.core.Vertx)}
+ * ----
+ *
+ * If the procedure cannot be found, the message is failed with the `404` code. Invalid headers fail the message
+ * with the `400` code.
+ *
+ * Concurrent invocations of the same procedure (with the same deadline) share the same execution, whether they
+ * come from the event bus, the Vert.x web handler or the {@link me.escoffier.vertx.healthchecks.HealthChecks}
+ * API. So, orchestrators can poll the health at high rates without multiplying the load on the checked
+ * dependencies. Each invocation still gets its result on the context it was made from.
+ *
+ * == Mounting remote health checks
+ *
+ * A gateway can include the health of the services behind it in its own report. The remote health checks are
+ * mounted as a subtree of the local procedures, and are reached either on the event bus (using the address of a
+ * {@link me.escoffier.vertx.healthchecks.HealthCheckService}) or over HTTP (using the URL of a
+ * {@link me.escoffier.vertx.healthchecks.HealthCheckHandler}):
+ *
+ * [source, $lang]
+ * ----
+ * {@link examples.Examples#mount(io.vertx.core.Vertx)}
+ * ----
+ *
+ * The remote report is cached for the configured time to live. Once expired, the cached report is still used
+ * while it is refreshed in the background, so the gateway probes do not wait for the remote calls (except for
+ * the very first one). If the remote health checks cannot be reached in time, the mounted subtree is `DOWN`.
+ *
  */
 @ModuleGen(name = "vertx-health-checks", groupPackage = "me.escoffier.vertx")
 @Document(fileName = "index.adoc")
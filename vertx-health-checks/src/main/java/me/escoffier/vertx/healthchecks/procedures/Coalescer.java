@@ -0,0 +1,66 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shares an operation, such as a probe or a sample, between the concurrent executions of a procedure. The first
+ * execution starts the operation, the executions arriving while it is in progress wait for its result.
+ *
+ * @param <T> the type of result
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+final class Coalescer<T> {
+
+  /**
+   * The executions waiting for the operation, {@code null} when no operation is in progress.
+   */
+  private List<Future<T>> waiters;
+
+  /**
+   * Adds an execution waiting for the operation.
+   *
+   * @param future the future of the execution
+   * @return {@code true} if no operation was in progress, so the caller must start it
+   */
+  synchronized boolean join(Future<T> future) {
+    boolean start = waiters == null;
+    if (start) {
+      waiters = new ArrayList<>();
+    }
+    waiters.add(future);
+    return start;
+  }
+
+  /**
+   * Ends the operation, and completes the executions waiting for it.
+   *
+   * @param result the result
+   */
+  void done(AsyncResult<T> result) {
+    List<Future<T>> futures;
+    synchronized (this) {
+      futures = waiters;
+      waiters = null;
+    }
+    if (futures != null) {
+      complete(futures, result);
+    }
+  }
+
+  private static <T> void complete(List<Future<T>> futures, AsyncResult<T> result) {
+    for (Future<T> future : futures) {
+      // The execution may have timed out
+      if (!future.isComplete()) {
+        if (result.succeeded()) {
+          future.complete(result.result());
+        } else {
+          future.fail(result.cause());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options configuring the {@link DiskSpaceProcedure}: the checked paths, and the minimum usable space, expressed
+ * in bytes or as a percentage of the total space.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class DiskSpaceOptions {
+
+  /**
+   * The default interval between two reads of the file stores: 10 seconds.
+   */
+  public static final long DEFAULT_INTERVAL = 10000;
+
+  /**
+   * The default minimum usable space in bytes: 0, only the percentage is checked.
+   */
+  public static final long DEFAULT_MIN_USABLE_SPACE = 0;
+
+  /**
+   * The default minimum usable space in percent of the total space: 10.
+   */
+  public static final double DEFAULT_MIN_USABLE_PERCENTAGE = 10;
+
+  /**
+   * Whether the paths must be writable by default: {@code true}.
+   */
+  public static final boolean DEFAULT_WRITABLE = true;
+
+  private List<String> paths = new ArrayList<>();
+
+  private long interval = DEFAULT_INTERVAL;
+
+  private long minUsableSpace = DEFAULT_MIN_USABLE_SPACE;
+
+  private double minUsablePercentage = DEFAULT_MIN_USABLE_PERCENTAGE;
+
+  private boolean writable = DEFAULT_WRITABLE;
+
+  public DiskSpaceOptions() {
+    // Empty constructor
+  }
+
+  public DiskSpaceOptions(DiskSpaceOptions other) {
+    this.paths = new ArrayList<>(other.paths);
+    this.interval = other.interval;
+    this.minUsableSpace = other.minUsableSpace;
+    this.minUsablePercentage = other.minUsablePercentage;
+    this.writable = other.writable;
+  }
+
+  public DiskSpaceOptions(JsonObject json) {
+    this();
+    DiskSpaceOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    DiskSpaceOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the checked paths.
+   */
+  public List<String> getPaths() {
+    return paths;
+  }
+
+  /**
+   * Sets the checked paths. Each path is checked on the file store containing it.
+   *
+   * @param paths the paths
+   * @return the current options
+   */
+  public DiskSpaceOptions setPaths(List<String> paths) {
+    this.paths = paths == null ? new ArrayList<>() : new ArrayList<>(paths);
+    return this;
+  }
+
+  /**
+   * Adds a checked path.
+   *
+   * @param path the path
+   * @return the current options
+   */
+  public DiskSpaceOptions addPath(String path) {
+    this.paths.add(path);
+    return this;
+  }
+
+  /**
+   * @return the interval between two reads of the file stores, in milliseconds.
+   */
+  public long getInterval() {
+    return interval;
+  }
+
+  /**
+   * Sets the interval between two reads of the file stores. The procedures executed in between report the last
+   * read.
+   *
+   * @param interval the interval in milliseconds
+   * @return the current options
+   */
+  public DiskSpaceOptions setInterval(long interval) {
+    this.interval = interval;
+    return this;
+  }
+
+  /**
+   * @return the minimum usable space in bytes.
+   */
+  public long getMinUsableSpace() {
+    return minUsableSpace;
+  }
+
+  /**
+   * Sets the minimum usable space. The procedure reports {@code DOWN} when less space is usable on a path.
+   *
+   * @param minUsableSpace the space in bytes, {@code 0} to only check the percentage
+   * @return the current options
+   */
+  public DiskSpaceOptions setMinUsableSpace(long minUsableSpace) {
+    this.minUsableSpace = minUsableSpace;
+    return this;
+  }
+
+  /**
+   * @return the minimum usable space in percent of the total space.
+   */
+  public double getMinUsablePercentage() {
+    return minUsablePercentage;
+  }
+
+  /**
+   * Sets the minimum usable space in percent of the total space. The procedure reports {@code DOWN} when a smaller
+   * part of the space is usable on a path.
+   *
+   * @param minUsablePercentage the percentage, between 0 and 100, {@code 0} to only check the space in bytes
+   * @return the current options
+   */
+  public DiskSpaceOptions setMinUsablePercentage(double minUsablePercentage) {
+    this.minUsablePercentage = minUsablePercentage;
+    return this;
+  }
+
+  /**
+   * @return whether the paths must be writable.
+   */
+  public boolean isWritable() {
+    return writable;
+  }
+
+  /**
+   * Sets whether the paths must be writable. When enabled, the procedure reports {@code DOWN} when a path cannot be
+   * written, for instance because its file system has been remounted read-only.
+   *
+   * @param writable {@code true} to check that the paths are writable
+   * @return the current options
+   */
+  public DiskSpaceOptions setWritable(boolean writable) {
+    this.writable = writable;
+    return this;
+  }
+}
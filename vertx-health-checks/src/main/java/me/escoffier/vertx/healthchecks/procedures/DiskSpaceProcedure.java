@@ -0,0 +1,96 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A procedure checking the usable space and the writability of the file stores of the configured paths. The file
+ * stores are read on a worker thread, at most once per configured interval.
+ * <p>
+ * The data contains an entry per path, with the {@code total} and {@code usable} space in bytes, the
+ * {@code usable-percentage}, and whether the path is {@code writable}. Paths that cannot be read contain the
+ * {@code error}. The numeric values are also reported as gauges named {@code path:total}, {@code path:usable} and
+ * {@code path:usable-percentage}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class DiskSpaceProcedure implements Handler<Future<Status>> {
+
+  private final SampledProcedure sampler;
+
+  /**
+   * Creates the procedure.
+   *
+   * @param vertx   the Vert.x instance
+   * @param options the options
+   * @return the procedure
+   */
+  public static DiskSpaceProcedure create(Vertx vertx, DiskSpaceOptions options) {
+    return new DiskSpaceProcedure(vertx, options);
+  }
+
+  private DiskSpaceProcedure(Vertx vertx, DiskSpaceOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    if (options.getPaths().isEmpty()) {
+      throw new IllegalArgumentException("At least one path must be configured");
+    }
+    List<Path> paths = new ArrayList<>();
+    for (String path : options.getPaths()) {
+      paths.add(Paths.get(path));
+    }
+    long minUsableSpace = options.getMinUsableSpace();
+    double minUsablePercentage = options.getMinUsablePercentage();
+    boolean writable = options.isWritable();
+
+    this.sampler = new SampledProcedure(vertx, options.getInterval()) {
+      @Override
+      protected Status sample() {
+        Status status = new Status();
+        JsonObject data = new JsonObject();
+        boolean up = true;
+        for (Path path : paths) {
+          String name = path.toString();
+          JsonObject entry = new JsonObject();
+          try {
+            FileStore store = Files.getFileStore(path);
+            long total = store.getTotalSpace();
+            long usable = store.getUsableSpace();
+            double percentage = total <= 0 ? 0 : usable * 100.0 / total;
+            boolean canWrite = Files.isWritable(path);
+            entry.put("total", total)
+              .put("usable", usable)
+              .put("usable-percentage", percentage)
+              .put("writable", canWrite);
+            status.gauge(name + ":total", total)
+              .gauge(name + ":usable", usable)
+              .gauge(name + ":usable-percentage", percentage);
+            up = up && usable >= minUsableSpace && percentage >= minUsablePercentage && (canWrite || !writable);
+          } catch (IOException | RuntimeException e) {
+            entry.put("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+            up = false;
+          }
+          data.put(name, entry);
+        }
+        return status.setOk(up).setData(data);
+      }
+    };
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    sampler.handle(future);
+  }
+}
@@ -0,0 +1,137 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the {@link EventLoopLagProcedure}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class EventLoopLagOptions {
+
+  /**
+   * The default interval between two measures of the lag of an event loop: 100 ms.
+   */
+  public static final long DEFAULT_INTERVAL = 100;
+
+  /**
+   * The default duration of the rolling window on which the lag is computed: 10 seconds.
+   */
+  public static final long DEFAULT_WINDOW = 10000;
+
+  /**
+   * The default maximum lag: 500 ms.
+   */
+  public static final long DEFAULT_MAX_LAG = 500;
+
+  /**
+   * The default number of event loops to measure: the default size of the event loop pool.
+   */
+  public static final int DEFAULT_EVENT_LOOPS = VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE;
+
+  private long interval = DEFAULT_INTERVAL;
+
+  private long window = DEFAULT_WINDOW;
+
+  private long maxLag = DEFAULT_MAX_LAG;
+
+  private int eventLoops = DEFAULT_EVENT_LOOPS;
+
+  public EventLoopLagOptions() {
+    // Empty constructor
+  }
+
+  public EventLoopLagOptions(EventLoopLagOptions other) {
+    this.interval = other.interval;
+    this.window = other.window;
+    this.maxLag = other.maxLag;
+    this.eventLoops = other.eventLoops;
+  }
+
+  public EventLoopLagOptions(JsonObject json) {
+    this();
+    EventLoopLagOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    EventLoopLagOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the interval between two measures of the lag of an event loop, in milliseconds.
+   */
+  public long getInterval() {
+    return interval;
+  }
+
+  /**
+   * Sets the interval between two measures of the lag of an event loop.
+   *
+   * @param interval the interval in milliseconds
+   * @return the current options
+   */
+  public EventLoopLagOptions setInterval(long interval) {
+    this.interval = interval;
+    return this;
+  }
+
+  /**
+   * @return the duration of the rolling window on which the lag is computed, in milliseconds.
+   */
+  public long getWindow() {
+    return window;
+  }
+
+  /**
+   * Sets the duration of the rolling window on which the maximum and the percentiles of the lag are computed.
+   *
+   * @param window the duration in milliseconds
+   * @return the current options
+   */
+  public EventLoopLagOptions setWindow(long window) {
+    this.window = window;
+    return this;
+  }
+
+  /**
+   * @return the maximum lag in milliseconds.
+   */
+  public long getMaxLag() {
+    return maxLag;
+  }
+
+  /**
+   * Sets the maximum lag. The procedure reports {@code DOWN} when the maximum lag of an event loop over the
+   * rolling window exceeds it.
+   *
+   * @param maxLag the maximum lag in milliseconds
+   * @return the current options
+   */
+  public EventLoopLagOptions setMaxLag(long maxLag) {
+    this.maxLag = maxLag;
+    return this;
+  }
+
+  /**
+   * @return the number of event loops to measure.
+   */
+  public int getEventLoops() {
+    return eventLoops;
+  }
+
+  /**
+   * Sets the number of event loops to measure, generally the size of the event loop pool of the Vert.x instance.
+   *
+   * @param eventLoops the number of event loops
+   * @return the current options
+   */
+  public EventLoopLagOptions setEventLoops(int eventLoops) {
+    this.eventLoops = eventLoops;
+    return this;
+  }
+}
@@ -0,0 +1,196 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A procedure checking the scheduling lag of the event loops. A sampler is deployed per configured event loop, and
+ * measures how late its periodic timer fires. Samplers landing on an event loop already sampled stay idle. The lag
+ * of each event loop is kept over a rolling window, and the procedure reports {@code DOWN} when the maximum lag of an
+ * event loop exceeds the configured threshold.
+ * <p>
+ * The data contains the {@code max}, {@code p50}, {@code p99} and {@code last} lags of each event loop in
+ * milliseconds, and the {@code max-lag} and {@code p99-lag} gauges (the worst values over all the event loops).
+ * <p>
+ * The samplers are undeployed with {@link #close()}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class EventLoopLagProcedure implements Handler<Future<Status>> {
+
+  private final Vertx vertx;
+  private final long interval;
+  private final long maxLag;
+  private final int size;
+
+  /**
+   * The lags of each event loop, by thread name.
+   */
+  private final Map<String, Window> loops = new ConcurrentSkipListMap<>();
+  private final List<String> deployments = new CopyOnWriteArrayList<>();
+  private volatile boolean closed;
+
+  /**
+   * Creates the procedure, and starts measuring the lag of the event loops.
+   *
+   * @param vertx   the Vert.x instance
+   * @param options the options
+   * @return the procedure
+   */
+  public static EventLoopLagProcedure create(Vertx vertx, EventLoopLagOptions options) {
+    return new EventLoopLagProcedure(vertx, options);
+  }
+
+  private EventLoopLagProcedure(Vertx vertx, EventLoopLagOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    if (options.getInterval() <= 0) {
+      throw new IllegalArgumentException("The interval must be strictly positive");
+    }
+    if (options.getWindow() < options.getInterval()) {
+      throw new IllegalArgumentException("The window must be longer than the interval");
+    }
+    if (options.getEventLoops() <= 0) {
+      throw new IllegalArgumentException("The number of event loops must be strictly positive");
+    }
+    this.interval = TimeUnit.MILLISECONDS.toNanos(options.getInterval());
+    this.maxLag = TimeUnit.MILLISECONDS.toNanos(options.getMaxLag());
+    this.size = (int) (options.getWindow() / options.getInterval());
+
+    // The event loops are usually assigned to the verticles in turn, but it is not guaranteed: a sampler deployed on
+    // an event loop already sampled stays idle
+    for (int i = 0; i < options.getEventLoops(); i++) {
+      vertx.deployVerticle(new Sampler(options.getInterval()), ar -> {
+        if (ar.succeeded()) {
+          deployments.add(ar.result());
+          if (closed) {
+            undeploy();
+          }
+        }
+      });
+    }
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    boolean up = true;
+    double worst = 0;
+    double worstP99 = 0;
+    JsonObject data = new JsonObject();
+    for (Map.Entry<String, Window> entry : loops.entrySet()) {
+      int[] lags = entry.getValue().snapshot();
+      if (lags.length == 0) {
+        continue;
+      }
+      int last = lags[lags.length - 1];
+      Arrays.sort(lags);
+      int max = lags[lags.length - 1];
+      int p99 = percentile(lags, 99);
+      up = up && TimeUnit.MICROSECONDS.toNanos(max) <= maxLag;
+      worst = Math.max(worst, max / 1000.0);
+      worstP99 = Math.max(worstP99, p99 / 1000.0);
+      data.put(entry.getKey(), new JsonObject()
+        .put("max", max / 1000.0)
+        .put("p50", percentile(lags, 50) / 1000.0)
+        .put("p99", p99 / 1000.0)
+        .put("last", last / 1000.0));
+    }
+    future.complete(new Status().setOk(up)
+      .setData(new JsonObject().put("loops", data))
+      .gauge("max-lag", worst)
+      .gauge("p99-lag", worstP99));
+  }
+
+  private static int percentile(int[] sorted, int percentile) {
+    int rank = (int) Math.ceil(sorted.length * percentile / 100.0);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  /**
+   * Stops measuring the lag of the event loops.
+   */
+  public void close() {
+    closed = true;
+    undeploy();
+  }
+
+  private void undeploy() {
+    for (String id : deployments) {
+      if (deployments.remove(id)) {
+        vertx.undeploy(id);
+      }
+    }
+  }
+
+  /**
+   * Measures the lag of the event loop it is deployed on: the delay between the expected and the actual execution
+   * of a periodic timer. Only the first sampler deployed on an event loop measures it.
+   */
+  private class Sampler extends AbstractVerticle {
+
+    private final long period;
+    private long previous;
+
+    Sampler(long period) {
+      this.period = period;
+    }
+
+    @Override
+    public void start() {
+      Window window = new Window(size);
+      if (loops.putIfAbsent(Thread.currentThread().getName(), window) != null) {
+        // Another sampler already measures this event loop
+        return;
+      }
+      previous = System.nanoTime();
+      vertx.setPeriodic(period, id -> {
+        long now = System.nanoTime();
+        window.record(Math.max(0, now - previous - interval));
+        previous = now;
+      });
+    }
+  }
+
+  /**
+   * The last lags of an event loop, in microseconds.
+   */
+  private static class Window {
+    private final int[] lags;
+    private int next;
+    private int count;
+
+    Window(int size) {
+      lags = new int[size];
+    }
+
+    synchronized void record(long lag) {
+      lags[next] = (int) Math.min(Integer.MAX_VALUE, lag / 1000);
+      next = (next + 1) % lags.length;
+      count = Math.min(count + 1, lags.length);
+    }
+
+    /**
+     * @return the recorded lags, oldest first
+     */
+    synchronized int[] snapshot() {
+      int[] snapshot = new int[count];
+      int start = (next - count + lags.length) % lags.length;
+      for (int i = 0; i < count; i++) {
+        snapshot[i] = lags[(start + i) % lags.length];
+      }
+      return snapshot;
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options configuring the {@link HttpEndpointProcedure}: the probed endpoint, the expected status codes, and the
+ * timeout and latency threshold of the probes.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class HttpEndpointOptions {
+
+  /**
+   * The default host: {@code localhost}.
+   */
+  public static final String DEFAULT_HOST = "localhost";
+
+  /**
+   * The default port: 80.
+   */
+  public static final int DEFAULT_PORT = 80;
+
+  /**
+   * The default requested URI: {@code /}.
+   */
+  public static final String DEFAULT_URI = "/";
+
+  /**
+   * Whether the endpoint uses TLS by default: {@code false}.
+   */
+  public static final boolean DEFAULT_SSL = false;
+
+  /**
+   * The default maximum expected status code, when no status code is set: 399, the successful and redirection status
+   * codes are expected.
+   */
+  public static final int DEFAULT_MAX_STATUS = 399;
+
+  /**
+   * The default timeout of a probe: 500 ms.
+   */
+  public static final long DEFAULT_TIMEOUT = 500;
+
+  /**
+   * The default maximum latency: -1, the latency is not checked.
+   */
+  public static final long DEFAULT_MAX_LATENCY = -1;
+
+  private String host = DEFAULT_HOST;
+
+  private int port = DEFAULT_PORT;
+
+  private String uri = DEFAULT_URI;
+
+  private boolean ssl = DEFAULT_SSL;
+
+  private List<Integer> expectedStatus = new ArrayList<>();
+
+  private int maxStatus = DEFAULT_MAX_STATUS;
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  private long maxLatency = DEFAULT_MAX_LATENCY;
+
+  public HttpEndpointOptions() {
+    // Empty constructor
+  }
+
+  public HttpEndpointOptions(HttpEndpointOptions other) {
+    this.host = other.host;
+    this.port = other.port;
+    this.uri = other.uri;
+    this.ssl = other.ssl;
+    this.expectedStatus = new ArrayList<>(other.expectedStatus);
+    this.maxStatus = other.maxStatus;
+    this.timeout = other.timeout;
+    this.maxLatency = other.maxLatency;
+  }
+
+  public HttpEndpointOptions(JsonObject json) {
+    this();
+    HttpEndpointOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    HttpEndpointOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the host of the endpoint.
+   */
+  public String getHost() {
+    return host;
+  }
+
+  /**
+   * Sets the host of the endpoint.
+   *
+   * @param host the host
+   * @return the current options
+   */
+  public HttpEndpointOptions setHost(String host) {
+    this.host = host;
+    return this;
+  }
+
+  /**
+   * @return the port of the endpoint.
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Sets the port of the endpoint.
+   *
+   * @param port the port
+   * @return the current options
+   */
+  public HttpEndpointOptions setPort(int port) {
+    this.port = port;
+    return this;
+  }
+
+  /**
+   * @return the requested URI.
+   */
+  public String getUri() {
+    return uri;
+  }
+
+  /**
+   * Sets the URI requested with a {@code GET} request, such as the health or readiness route of the endpoint.
+   *
+   * @param uri the URI
+   * @return the current options
+   */
+  public HttpEndpointOptions setUri(String uri) {
+    this.uri = uri;
+    return this;
+  }
+
+  /**
+   * @return whether the endpoint uses TLS.
+   */
+  public boolean isSsl() {
+    return ssl;
+  }
+
+  /**
+   * Sets whether the endpoint uses TLS. The TLS handshake is only paid when the connection is opened, the
+   * connection is then kept alive between the probes.
+   *
+   * @param ssl {@code true} to use TLS
+   * @return the current options
+   */
+  public HttpEndpointOptions setSsl(boolean ssl) {
+    this.ssl = ssl;
+    return this;
+  }
+
+  /**
+   * @return the expected status codes.
+   */
+  public List<Integer> getExpectedStatus() {
+    return expectedStatus;
+  }
+
+  /**
+   * Sets the expected status codes. The procedure reports {@code DOWN} when the endpoint answers with another status.
+   * When empty, the status codes from {@code 200} to the {@linkplain #setMaxStatus(int) maximum status} are expected.
+   *
+   * @param expectedStatus the status codes
+   * @return the current options
+   */
+  public HttpEndpointOptions setExpectedStatus(List<Integer> expectedStatus) {
+    this.expectedStatus = expectedStatus == null ? new ArrayList<>() : new ArrayList<>(expectedStatus);
+    return this;
+  }
+
+  /**
+   * Adds an expected status code.
+   *
+   * @param status the status code
+   * @return the current options
+   */
+  public HttpEndpointOptions addExpectedStatus(int status) {
+    this.expectedStatus.add(status);
+    return this;
+  }
+
+  /**
+   * @return the maximum expected status code, when no status code is set.
+   */
+  public int getMaxStatus() {
+    return maxStatus;
+  }
+
+  /**
+   * Sets the maximum expected status code, used when no status code is set: the status codes from {@code 200} to
+   * this maximum are expected. The default expects the successful ({@code 2xx}) and redirection ({@code 3xx}) status
+   * codes. Set to {@code 499} to only report the server errors, for endpoints whose URI is not necessarily a page.
+   *
+   * @param maxStatus the maximum status code, included
+   * @return the current options
+   */
+  public HttpEndpointOptions setMaxStatus(int maxStatus) {
+    this.maxStatus = maxStatus;
+    return this;
+  }
+
+  /**
+   * @return the timeout of a probe in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the timeout of a probe. It applies to the connection to the endpoint, and then to the response. It must be
+   * shorter than the timeout of the procedure, so the report contains the error and the latency of the probe.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return the current options
+   */
+  public HttpEndpointOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return the maximum latency in milliseconds, -1 if the latency is not checked.
+   */
+  public long getMaxLatency() {
+    return maxLatency;
+  }
+
+  /**
+   * Sets the maximum latency. The procedure reports {@code DOWN} when the endpoint answers slower, even with an
+   * expected status. Set to -1 to not check the latency.
+   *
+   * @param maxLatency the maximum latency in milliseconds
+   * @return the current options
+   */
+  public HttpEndpointOptions setMaxLatency(long maxLatency) {
+    this.maxLatency = maxLatency;
+    return this;
+  }
+}
@@ -0,0 +1,127 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.down;
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.millis;
+
+/**
+ * A procedure sending a {@code GET} request to an HTTP endpoint, and checking the status code and the latency of the
+ * response. The procedure keeps its client, and so a keep-alive connection to the endpoint, between the probes: the
+ * TCP connection and the TLS handshake are not paid on every probe. Concurrent executions share the same request.
+ * <p>
+ * The data contains the {@code status-code}, and the {@code latency} gauge in milliseconds. When the endpoint cannot
+ * be reached, answers with an unexpected status or too slowly, the procedure is {@code DOWN} and the data contains
+ * the {@code error}.
+ * <p>
+ * The client is closed with {@link #close()}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HttpEndpointProcedure implements Handler<Future<Status>> {
+
+  private final HttpClient client;
+  private final String uri;
+  private final Set<Integer> expectedStatus;
+  private final int maxStatus;
+  private final long timeout;
+  private final long maxLatency;
+
+  /**
+   * The executions waiting for the current request.
+   */
+  private final Coalescer<Status> probes = new Coalescer<>();
+
+  /**
+   * Creates the procedure.
+   *
+   * @param vertx   the Vert.x instance
+   * @param options the options
+   * @return the procedure
+   */
+  public static HttpEndpointProcedure create(Vertx vertx, HttpEndpointOptions options) {
+    return new HttpEndpointProcedure(vertx, options);
+  }
+
+  private HttpEndpointProcedure(Vertx vertx, HttpEndpointOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(options.getHost(), "The host must be set");
+    if (options.getTimeout() <= 0) {
+      throw new IllegalArgumentException("The timeout must be strictly positive");
+    }
+    this.uri = options.getUri() == null || options.getUri().isEmpty() ? "/" : options.getUri();
+    this.expectedStatus = new HashSet<>(options.getExpectedStatus());
+    this.maxStatus = options.getMaxStatus();
+    this.timeout = options.getTimeout();
+    this.maxLatency = options.getMaxLatency();
+    // The requests are not concurrent, so a single connection is kept alive between them
+    this.client = vertx.createHttpClient(new HttpClientOptions()
+      .setDefaultHost(options.getHost())
+      .setDefaultPort(options.getPort())
+      .setSsl(options.isSsl())
+      .setKeepAlive(true)
+      .setMaxPoolSize(1)
+      .setConnectTimeout((int) Math.min(Integer.MAX_VALUE, options.getTimeout())));
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    if (probes.join(future)) {
+      probe();
+    }
+  }
+
+  private void probe() {
+    Future<Status> probe = Future.future();
+    probe.setHandler(probes::done);
+
+    long start = System.nanoTime();
+    try {
+      HttpClientRequest request = client.get(uri, response -> {
+        response.exceptionHandler(failure -> complete(probe, down(failure)));
+        response.endHandler(v -> complete(probe, status(response.statusCode(), System.nanoTime() - start)));
+      });
+      request.exceptionHandler(failure -> complete(probe, down(failure)));
+      request.setTimeout(timeout);
+      request.end();
+    } catch (RuntimeException e) {
+      complete(probe, down(e));
+    }
+  }
+
+  private Status status(int code, long latency) {
+    JsonObject data = new JsonObject().put("status-code", code);
+    boolean expected = expectedStatus.isEmpty() ? code >= 200 && code <= maxStatus : expectedStatus.contains(code);
+    if (!expected) {
+      data.put("error", "Unexpected status code " + code);
+    } else if (maxLatency >= 0 && latency > maxLatency * 1000 * 1000) {
+      data.put("error", "The latency exceeds " + maxLatency + " ms");
+    }
+    return new Status().setOk(!data.containsKey("error")).setData(data).gauge("latency", millis(latency));
+  }
+
+  /**
+   * Closes the client, and the connection to the endpoint.
+   */
+  public void close() {
+    client.close();
+  }
+
+  private static void complete(Future<Status> probe, Status status) {
+    if (!probe.isComplete()) {
+      probe.complete(status);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.ext.sql.SQLConnection;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.Objects;
+
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.down;
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.millis;
+
+/**
+ * A procedure validating a pooled JDBC client: it takes a connection from the pool and runs a validation query,
+ * with its own timeout. The concurrent executions share the same validation, so a burst of probes never takes more
+ * than one connection from the pool. Each execution has its own timeout: an execution timing out is {@code DOWN},
+ * but the validation keeps its connection until the query completes, and the executions in the meantime wait for its
+ * result.
+ * <p>
+ * The status reports the {@code pool-wait} (the time waiting for a connection) and the {@code query-latency} in
+ * milliseconds as gauges. When the validation fails or times out, the procedure is {@code DOWN} and the data
+ * contains the {@code error}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class JdbcProcedure implements Handler<Future<Status>> {
+
+  private final Vertx vertx;
+  private final JDBCClient client;
+  private final String query;
+  private final long timeout;
+
+  /**
+   * The executions waiting for the current validation. A validation is in progress until its connection is returned
+   * to the pool, even after timing out.
+   */
+  private final Coalescer<Status> validations = new Coalescer<>();
+
+  /**
+   * Creates the procedure.
+   *
+   * @param vertx   the Vert.x instance
+   * @param client  the JDBC client
+   * @param options the options
+   * @return the procedure
+   */
+  public static JdbcProcedure create(Vertx vertx, JDBCClient client, JdbcProcedureOptions options) {
+    return new JdbcProcedure(vertx, client, options);
+  }
+
+  private JdbcProcedure(Vertx vertx, JDBCClient client, JdbcProcedureOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.client = Objects.requireNonNull(client);
+    Objects.requireNonNull(options);
+    this.query = Objects.requireNonNull(options.getQuery(), "The validation query must be set");
+    if (options.getTimeout() <= 0) {
+      throw new IllegalArgumentException("The timeout must be strictly positive");
+    }
+    this.timeout = options.getTimeout();
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    // On timeout, only this execution is answered: the validation stays in progress until the connection is returned
+    // to the pool, and the executions arriving in the meantime wait for its result instead of taking another
+    // connection
+    long timer = vertx.setTimer(timeout, l -> {
+      if (!future.isComplete()) {
+        future.complete(down("Validation timed out after " + timeout + " ms"));
+      }
+    });
+    Future<Status> execution = Future.<Status>future().setHandler(ar -> {
+      vertx.cancelTimer(timer);
+      if (!future.isComplete()) {
+        future.complete(ar.result());
+      }
+    });
+    if (validations.join(execution)) {
+      validate();
+    }
+  }
+
+  private void validate() {
+    long start = System.nanoTime();
+    try {
+      client.getConnection(connection -> {
+        long acquired = System.nanoTime();
+        if (connection.failed()) {
+          done(down(connection.cause()).gauge("pool-wait", millis(acquired - start)));
+          return;
+        }
+        SQLConnection sql = connection.result();
+        sql.query(query, result -> {
+          long latency = System.nanoTime() - acquired;
+          Status status = result.failed() ? down(result.cause()) : new Status().setOk(true);
+          status.gauge("pool-wait", millis(acquired - start)).gauge("query-latency", millis(latency));
+          sql.close(closed -> done(status));
+        });
+      });
+    } catch (Exception e) {
+      done(down(e));
+    }
+  }
+
+  private void done(Status status) {
+    validations.done(Future.succeededFuture(status));
+  }
+}
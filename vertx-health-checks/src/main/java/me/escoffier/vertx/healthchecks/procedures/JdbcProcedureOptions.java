@@ -0,0 +1,86 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the {@link JdbcProcedure}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class JdbcProcedureOptions {
+
+  /**
+   * The default validation query: {@code SELECT 1}.
+   */
+  public static final String DEFAULT_QUERY = "SELECT 1";
+
+  /**
+   * The default timeout of the validation: 500 ms.
+   */
+  public static final long DEFAULT_TIMEOUT = 500;
+
+  private String query = DEFAULT_QUERY;
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  public JdbcProcedureOptions() {
+    // Empty constructor
+  }
+
+  public JdbcProcedureOptions(JdbcProcedureOptions other) {
+    this.query = other.query;
+    this.timeout = other.timeout;
+  }
+
+  public JdbcProcedureOptions(JsonObject json) {
+    this();
+    JdbcProcedureOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    JdbcProcedureOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the validation query.
+   */
+  public String getQuery() {
+    return query;
+  }
+
+  /**
+   * Sets the query validating the connection. It must be cheap, and accepted by the database: some databases
+   * require a table, such as {@code SELECT 1 FROM DUAL} on Oracle, or
+   * {@code SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS} on HSQLDB.
+   *
+   * @param query the query
+   * @return the current options
+   */
+  public JdbcProcedureOptions setQuery(String query) {
+    this.query = query;
+    return this;
+  }
+
+  /**
+   * @return the timeout of the validation in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the timeout of the validation, including the time waiting for a connection from the pool. It must be
+   * shorter than the timeout of the procedure, so the report contains the error and the timings of the validation.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return the current options
+   */
+  public JdbcProcedureOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+}
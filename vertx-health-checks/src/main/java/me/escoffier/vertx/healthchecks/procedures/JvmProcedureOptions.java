@@ -0,0 +1,190 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the JVM procedures: how often the JVM is sampled, and the thresholds above which the
+ * procedures report {@code DOWN}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class JvmProcedureOptions {
+
+  /**
+   * The default group of the procedures: {@code jvm}.
+   */
+  public static final String DEFAULT_GROUP = "jvm";
+
+  /**
+   * The default sampling interval: 5 seconds.
+   */
+  public static final long DEFAULT_INTERVAL = 5000;
+
+  /**
+   * The default maximum ratio of used heap: 0.9.
+   */
+  public static final double DEFAULT_MAX_HEAP_USAGE = 0.9;
+
+  /**
+   * The default maximum fraction of time spent in garbage collection: 0.1.
+   */
+  public static final double DEFAULT_MAX_GC_TIME = 0.1;
+
+  /**
+   * The default maximum number of live threads: 5000.
+   */
+  public static final int DEFAULT_MAX_THREADS = 5000;
+
+  /**
+   * The default maximum ratio of open file descriptors: 0.9.
+   */
+  public static final double DEFAULT_MAX_FILE_DESCRIPTOR_USAGE = 0.9;
+
+  private String group = DEFAULT_GROUP;
+
+  private long interval = DEFAULT_INTERVAL;
+
+  private double maxHeapUsage = DEFAULT_MAX_HEAP_USAGE;
+
+  private double maxGcTime = DEFAULT_MAX_GC_TIME;
+
+  private int maxThreads = DEFAULT_MAX_THREADS;
+
+  private double maxFileDescriptorUsage = DEFAULT_MAX_FILE_DESCRIPTOR_USAGE;
+
+  public JvmProcedureOptions() {
+    // Empty constructor
+  }
+
+  public JvmProcedureOptions(JvmProcedureOptions other) {
+    this.group = other.group;
+    this.interval = other.interval;
+    this.maxHeapUsage = other.maxHeapUsage;
+    this.maxGcTime = other.maxGcTime;
+    this.maxThreads = other.maxThreads;
+    this.maxFileDescriptorUsage = other.maxFileDescriptorUsage;
+  }
+
+  public JvmProcedureOptions(JsonObject json) {
+    this();
+    JvmProcedureOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    JvmProcedureOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the group in which the procedures are registered.
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  /**
+   * Sets the group in which the procedures are registered.
+   *
+   * @param group the group name
+   * @return the current options
+   */
+  public JvmProcedureOptions setGroup(String group) {
+    this.group = group;
+    return this;
+  }
+
+  /**
+   * @return the sampling interval in milliseconds.
+   */
+  public long getInterval() {
+    return interval;
+  }
+
+  /**
+   * Sets the sampling interval. The JVM is sampled at most once per interval, the procedures executed in between
+   * report the last sample.
+   *
+   * @param interval the interval in milliseconds
+   * @return the current options
+   */
+  public JvmProcedureOptions setInterval(long interval) {
+    this.interval = interval;
+    return this;
+  }
+
+  /**
+   * @return the maximum ratio of used heap.
+   */
+  public double getMaxHeapUsage() {
+    return maxHeapUsage;
+  }
+
+  /**
+   * Sets the maximum ratio of used heap, relative to the maximum heap size (or the committed heap when the maximum
+   * is not defined).
+   *
+   * @param maxHeapUsage the ratio, between 0 and 1
+   * @return the current options
+   */
+  public JvmProcedureOptions setMaxHeapUsage(double maxHeapUsage) {
+    this.maxHeapUsage = maxHeapUsage;
+    return this;
+  }
+
+  /**
+   * @return the maximum fraction of time spent in garbage collection.
+   */
+  public double getMaxGcTime() {
+    return maxGcTime;
+  }
+
+  /**
+   * Sets the maximum fraction of time spent in garbage collection between two samples.
+   *
+   * @param maxGcTime the fraction, between 0 and 1
+   * @return the current options
+   */
+  public JvmProcedureOptions setMaxGcTime(double maxGcTime) {
+    this.maxGcTime = maxGcTime;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of live threads.
+   */
+  public int getMaxThreads() {
+    return maxThreads;
+  }
+
+  /**
+   * Sets the maximum number of live threads.
+   *
+   * @param maxThreads the number of threads
+   * @return the current options
+   */
+  public JvmProcedureOptions setMaxThreads(int maxThreads) {
+    this.maxThreads = maxThreads;
+    return this;
+  }
+
+  /**
+   * @return the maximum ratio of open file descriptors.
+   */
+  public double getMaxFileDescriptorUsage() {
+    return maxFileDescriptorUsage;
+  }
+
+  /**
+   * Sets the maximum ratio of open file descriptors, relative to the maximum allowed by the operating system.
+   *
+   * @param maxFileDescriptorUsage the ratio, between 0 and 1
+   * @return the current options
+   */
+  public JvmProcedureOptions setMaxFileDescriptorUsage(double maxFileDescriptorUsage) {
+    this.maxFileDescriptorUsage = maxFileDescriptorUsage;
+    return this;
+  }
+}
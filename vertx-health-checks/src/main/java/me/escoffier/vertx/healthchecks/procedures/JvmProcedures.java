@@ -0,0 +1,214 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Objects;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Procedures checking the resources of the JVM: heap usage, time spent in garbage collection, live threads, open
+ * file descriptors and deadlocked threads. The JVM is sampled at most once per configured interval, and the numeric
+ * values are reported as gauges.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class JvmProcedures {
+
+  private JvmProcedures() {
+    // Avoid direct instantiation
+  }
+
+  /**
+   * Registers all the JVM procedures in the group configured in the options: {@code heap}, {@code gc},
+   * {@code threads}, {@code file-descriptors} and {@code deadlocks}.
+   *
+   * @param vertx        the Vert.x instance, used to detect deadlocks on a worker thread
+   * @param healthChecks the health checks
+   * @param options      the options
+   */
+  public static void register(Vertx vertx, HealthChecks healthChecks, JvmProcedureOptions options) {
+    Objects.requireNonNull(healthChecks);
+    String group = options.getGroup();
+    String prefix = group == null || group.isEmpty() ? "" : group + "/";
+    healthChecks
+      .register(prefix + "heap", heap(options))
+      .register(prefix + "gc", gc(options))
+      .register(prefix + "threads", threads(options))
+      .register(prefix + "file-descriptors", fileDescriptors(options))
+      .register(prefix + "deadlocks", deadlocks(vertx, options));
+  }
+
+  /**
+   * Creates a procedure checking the ratio of used heap. It reports the {@code used}, {@code committed} and
+   * {@code max} heap sizes in bytes, and the {@code usage} ratio.
+   *
+   * @param options the options
+   * @return the procedure
+   */
+  public static Handler<Future<Status>> heap(JvmProcedureOptions options) {
+    double threshold = options.getMaxHeapUsage();
+    return new SampledProcedure(null, options.getInterval()) {
+      @Override
+      protected Status sample() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() < 0 ? heap.getCommitted() : heap.getMax();
+        double usage = max <= 0 ? 0 : (double) heap.getUsed() / max;
+        return new Status().setOk(usage <= threshold)
+          .gauge("used", heap.getUsed())
+          .gauge("committed", heap.getCommitted())
+          .gauge("max", max)
+          .gauge("usage", usage);
+      }
+    };
+  }
+
+  /**
+   * Creates a procedure checking the fraction of time spent in garbage collection since the previous sample (since
+   * the start of the JVM for the first sample). It reports the {@code gc-time} fraction, and the number of
+   * {@code collections} since the previous sample.
+   *
+   * @param options the options
+   * @return the procedure
+   */
+  public static Handler<Future<Status>> gc(JvmProcedureOptions options) {
+    double threshold = options.getMaxGcTime();
+    return new SampledProcedure(null, options.getInterval()) {
+      private long lastTime;
+      private long lastCount;
+      private long lastUptime;
+
+      @Override
+      protected synchronized Status sample() {
+        long time = 0;
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+          // -1 when not supported by the collector
+          time += Math.max(0, gc.getCollectionTime());
+          count += Math.max(0, gc.getCollectionCount());
+        }
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        long elapsed = uptime - lastUptime;
+        double fraction = elapsed <= 0 ? 0 : Math.min(1, (double) (time - lastTime) / elapsed);
+        long collections = count - lastCount;
+        lastTime = time;
+        lastCount = count;
+        lastUptime = uptime;
+        return new Status().setOk(fraction <= threshold)
+          .gauge("gc-time", fraction)
+          .gauge("collections", collections);
+      }
+    };
+  }
+
+  /**
+   * Creates a procedure checking the number of live threads. It reports the number of {@code threads},
+   * {@code daemon-threads}, and the {@code peak-threads}.
+   *
+   * @param options the options
+   * @return the procedure
+   */
+  public static Handler<Future<Status>> threads(JvmProcedureOptions options) {
+    int threshold = options.getMaxThreads();
+    return new SampledProcedure(null, options.getInterval()) {
+      @Override
+      protected Status sample() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int count = threads.getThreadCount();
+        return new Status().setOk(count <= threshold)
+          .gauge("threads", count)
+          .gauge("daemon-threads", threads.getDaemonThreadCount())
+          .gauge("peak-threads", threads.getPeakThreadCount());
+      }
+    };
+  }
+
+  /**
+   * Creates a procedure checking the ratio of open file descriptors. It reports the number of {@code open}
+   * descriptors, the {@code max} allowed, and the {@code usage} ratio. On platforms not exposing the file
+   * descriptors, the procedure reports {@code UP} without data.
+   *
+   * @param options the options
+   * @return the procedure
+   */
+  public static Handler<Future<Status>> fileDescriptors(JvmProcedureOptions options) {
+    double threshold = options.getMaxFileDescriptorUsage();
+    return new SampledProcedure(null, options.getInterval()) {
+      @Override
+      protected Status sample() {
+        long open = operatingSystemAttribute("OpenFileDescriptorCount");
+        long max = operatingSystemAttribute("MaxFileDescriptorCount");
+        if (open < 0 || max < 0) {
+          return Status.UP;
+        }
+        double usage = max <= 0 ? 0 : (double) open / max;
+        return new Status().setOk(usage <= threshold)
+          .gauge("open", open)
+          .gauge("max", max)
+          .gauge("usage", usage);
+      }
+    };
+  }
+
+  /**
+   * Creates a procedure checking whether threads are deadlocked, waiting on monitors or ownable synchronizers. It
+   * reports the number of {@code deadlocked-threads}, and their names in {@code threads} when there are some.
+   * As the detection may take time with many threads, it runs on a worker thread.
+   *
+   * @param vertx   the Vert.x instance
+   * @param options the options
+   * @return the procedure
+   */
+  public static Handler<Future<Status>> deadlocks(Vertx vertx, JvmProcedureOptions options) {
+    Objects.requireNonNull(vertx);
+    return new SampledProcedure(vertx, options.getInterval()) {
+      @Override
+      protected Status sample() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] ids = threads.isSynchronizerUsageSupported() ? threads.findDeadlockedThreads()
+          : threads.findMonitorDeadlockedThreads();
+        if (ids == null) {
+          return new Status().setOk(true).gauge("deadlocked-threads", 0);
+        }
+        JsonArray names = new JsonArray();
+        for (ThreadInfo info : threads.getThreadInfo(ids)) {
+          if (info != null) {
+            names.add(info.getThreadName());
+          }
+        }
+        return new Status().setOk(false)
+          .setData(new JsonObject().put("threads", names))
+          .gauge("deadlocked-threads", ids.length);
+      }
+    };
+  }
+
+  /**
+   * Reads a numeric attribute of the operating system MBean. The file descriptor counts are only exposed by some JVMs
+   * on Unix, so they are read by name through the MBean server rather than through a JDK-specific interface.
+   *
+   * @param attribute the attribute name
+   * @return the value, {@code -1} if the attribute is not exposed
+   */
+  private static long operatingSystemAttribute(String attribute) {
+    try {
+      Object value = ManagementFactory.getPlatformMBeanServer()
+        .getAttribute(new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME), attribute);
+      return value instanceof Number ? ((Number) value).longValue() : -1;
+    } catch (JMException e) {
+      return -1;
+    }
+  }
+}
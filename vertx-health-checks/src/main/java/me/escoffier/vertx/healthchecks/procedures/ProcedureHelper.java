@@ -0,0 +1,47 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.Status;
+
+/**
+ * Helpers shared by the procedures.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+final class ProcedureHelper {
+
+  private ProcedureHelper() {
+    // Avoid direct instantiation
+  }
+
+  /**
+   * Converts a duration measured with {@link System#nanoTime()} to milliseconds, keeping microseconds.
+   *
+   * @param nanos the duration in nanoseconds
+   * @return the duration in milliseconds
+   */
+  static double millis(long nanos) {
+    return nanos / 1000 / 1000.0;
+  }
+
+  /**
+   * Creates a {@code DOWN} status reporting the given {@code error}.
+   *
+   * @param error the error message
+   * @return the status
+   */
+  static Status down(String error) {
+    return new Status().setOk(false).setData(new JsonObject().put("error", error));
+  }
+
+  /**
+   * Creates a {@code DOWN} status reporting the given failure as {@code error}: its message, or its class name when
+   * it has no message.
+   *
+   * @param failure the failure
+   * @return the status
+   */
+  static Status down(Throwable failure) {
+    return down(failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName());
+  }
+}
@@ -0,0 +1,90 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A procedure computing its status from a sample taken at most once per interval. The executions in between
+ * report the status of the last sample, so frequent probes do not multiply the cost of the sampling.
+ * <p>
+ * When created with a {@link Vertx} instance, the sample is taken on a worker thread, and the executions
+ * waiting for it are completed together.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+abstract class SampledProcedure implements Handler<Future<Status>> {
+
+  private final Vertx vertx;
+  private final long interval;
+
+  private Status status;
+  private long sampledAt;
+
+  /**
+   * The executions waiting for the sample being taken on a worker thread.
+   */
+  private final Coalescer<Status> samples = new Coalescer<>();
+
+  /**
+   * Creates a new procedure.
+   *
+   * @param vertx    the Vert.x instance used to sample on a worker thread, {@code null} to sample on the calling
+   *                 thread
+   * @param interval the sampling interval in milliseconds
+   */
+  SampledProcedure(Vertx vertx, long interval) {
+    if (interval < 0) {
+      throw new IllegalArgumentException("The sampling interval must not be negative");
+    }
+    this.vertx = vertx;
+    this.interval = TimeUnit.MILLISECONDS.toNanos(interval);
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    Status current;
+    boolean sample = false;
+    synchronized (this) {
+      current = status;
+      if (current != null && System.nanoTime() - sampledAt >= interval) {
+        current = null;
+      }
+      if (current == null && vertx != null) {
+        sample = samples.join(future);
+      }
+    }
+
+    if (current != null) {
+      future.complete(current);
+    } else if (vertx == null) {
+      future.complete(sampled(sample()));
+    } else if (sample) {
+      vertx.<Status>executeBlocking(f -> f.complete(sample()), false, ar -> {
+        if (ar.succeeded()) {
+          sampled(ar.result());
+        }
+        samples.done(ar);
+      });
+    }
+  }
+
+  private Status sampled(Status result) {
+    synchronized (this) {
+      status = result;
+      sampledAt = System.nanoTime();
+    }
+    return result;
+  }
+
+  /**
+   * Takes a sample and computes the status. The returned status is shared by the executions until the next sample,
+   * it must not be modified afterwards.
+   *
+   * @return the status
+   */
+  protected abstract Status sample();
+}
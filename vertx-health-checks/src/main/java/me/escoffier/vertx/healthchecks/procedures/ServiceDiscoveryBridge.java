@@ -0,0 +1,290 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.servicediscovery.Record;
+import io.vertx.servicediscovery.ServiceDiscovery;
+import io.vertx.servicediscovery.types.HttpEndpoint;
+import io.vertx.servicediscovery.types.HttpLocation;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.down;
+
+/**
+ * Watches a {@link ServiceDiscovery} and registers a procedure per record in the configured group. The procedures are
+ * registered for the records present when the bridge is created, and then registered, replaced and unregistered as
+ * the service discovery announces the changes of the records.
+ * <p>
+ * The procedures of HTTP endpoints probe the root of the endpoint with an {@link HttpEndpointProcedure}, which
+ * reports {@code UP} when the endpoint answers with a status below 500: the root of a service may not be a page, an
+ * endpoint answering {@code 404} is reachable. Each endpoint uses its own keep-alive client, created on the first
+ * probe, reused across the probes and closed when the record is unregistered. The procedures of the other records
+ * report the status of the record.
+ * <p>
+ * At most the configured number of records are probed concurrently, the other probes wait for a slot, so checking
+ * the group probes the records in batches. Concurrent executions of the procedure of a record share the same probe.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class ServiceDiscoveryBridge {
+
+  private final Vertx vertx;
+  private final HealthChecks healthChecks;
+  private final String prefix;
+  private final long timeout;
+  private final Limiter limiter;
+  private final MessageConsumer<JsonObject> consumer;
+
+  /**
+   * The procedures by registration id of the record, guarded by {@code this}.
+   */
+  private final Map<String, RecordProcedure> procedures = new HashMap<>();
+  private boolean closed;
+
+  /**
+   * Creates the bridge, and starts watching the service discovery.
+   *
+   * @param vertx        the Vert.x instance
+   * @param healthChecks the health checks in which the procedures are registered
+   * @param discovery    the service discovery
+   * @param options      the options
+   * @return the bridge
+   */
+  public static ServiceDiscoveryBridge create(Vertx vertx, HealthChecks healthChecks, ServiceDiscovery discovery,
+                                              ServiceDiscoveryBridgeOptions options) {
+    return create(vertx, healthChecks, discovery, options, null);
+  }
+
+  /**
+   * Creates the bridge, and starts watching the service discovery.
+   *
+   * @param vertx             the Vert.x instance
+   * @param healthChecks      the health checks in which the procedures are registered
+   * @param discovery         the service discovery
+   * @param options           the options
+   * @param completionHandler called when the procedures of the records present in the service discovery have been
+   *                          registered, may be {@code null}
+   * @return the bridge
+   */
+  public static ServiceDiscoveryBridge create(Vertx vertx, HealthChecks healthChecks, ServiceDiscovery discovery,
+                                              ServiceDiscoveryBridgeOptions options,
+                                              Handler<AsyncResult<Void>> completionHandler) {
+    ServiceDiscoveryBridge bridge = new ServiceDiscoveryBridge(vertx, healthChecks, options);
+    bridge.start(Objects.requireNonNull(discovery), completionHandler);
+    return bridge;
+  }
+
+  private ServiceDiscoveryBridge(Vertx vertx, HealthChecks healthChecks, ServiceDiscoveryBridgeOptions options) {
+    this.vertx = Objects.requireNonNull(vertx);
+    this.healthChecks = Objects.requireNonNull(healthChecks);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(options.getAnnounceAddress(), "The announce address must be set");
+    if (options.getConcurrency() <= 0) {
+      throw new IllegalArgumentException("The concurrency must be strictly positive");
+    }
+    if (options.getTimeout() <= 0) {
+      throw new IllegalArgumentException("The timeout must be strictly positive");
+    }
+    String group = options.getGroup();
+    this.prefix = group == null || group.isEmpty() ? "" : group + "/";
+    this.timeout = options.getTimeout();
+    this.limiter = new Limiter(options.getConcurrency());
+    this.consumer = vertx.eventBus().consumer(options.getAnnounceAddress(),
+      message -> announced(new Record(message.body()), true));
+  }
+
+  private void start(ServiceDiscovery discovery, Handler<AsyncResult<Void>> completionHandler) {
+    discovery.getRecords(record -> true, true, ar -> {
+      if (ar.succeeded()) {
+        for (Record record : ar.result()) {
+          // The announcements received in the meantime are more recent
+          announced(record, false);
+        }
+      }
+      if (completionHandler != null) {
+        completionHandler.handle(ar.succeeded() ? Future.succeededFuture() : Future.failedFuture(ar.cause()));
+      }
+    });
+  }
+
+  private synchronized void announced(Record record, boolean replace) {
+    String registration = record.getRegistration();
+    if (closed || registration == null || (!replace && procedures.containsKey(registration))) {
+      return;
+    }
+    RecordProcedure previous = procedures.remove(registration);
+    if (previous != null) {
+      healthChecks.unregister(previous.name);
+      previous.close();
+    }
+    if (record.getStatus() == io.vertx.servicediscovery.Status.DOWN) {
+      return;
+    }
+    RecordProcedure procedure = new RecordProcedure(name(record), record);
+    procedures.put(registration, procedure);
+    healthChecks.register(procedure.name, procedure);
+  }
+
+  /**
+   * @return the name of the procedure of the record, made unique with the registration id when several records have
+   * the same name
+   */
+  private String name(Record record) {
+    String name = prefix + record.getName();
+    for (RecordProcedure procedure : procedures.values()) {
+      if (procedure.name.equals(name)) {
+        return name + "-" + record.getRegistration();
+      }
+    }
+    return name;
+  }
+
+  /**
+   * Stops watching the service discovery, unregisters the procedures and closes their clients.
+   */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    consumer.unregister();
+    for (RecordProcedure procedure : procedures.values()) {
+      healthChecks.unregister(procedure.name);
+      procedure.close();
+    }
+    procedures.clear();
+  }
+
+  /**
+   * The procedure of a record.
+   */
+  private class RecordProcedure implements Handler<Future<Status>> {
+
+    private final String name;
+    private final Record record;
+
+    /**
+     * The procedure probing the endpoint, created on the first probe, guarded by {@code this}.
+     */
+    private HttpEndpointProcedure endpoint;
+    private boolean closed;
+
+    RecordProcedure(String name, Record record) {
+      this.name = name;
+      this.record = record;
+    }
+
+    @Override
+    public void handle(Future<Status> future) {
+      if (record.getStatus() == io.vertx.servicediscovery.Status.OUT_OF_SERVICE
+        || !HttpEndpoint.TYPE.equals(record.getType())) {
+        future.complete(new Status().setOk(record.getStatus() == io.vertx.servicediscovery.Status.UP)
+          .setData(new JsonObject().put("status", record.getStatus().name())));
+        return;
+      }
+      HttpEndpointProcedure procedure;
+      try {
+        procedure = endpoint();
+      } catch (RuntimeException e) {
+        // Invalid location, the record cannot be probed
+        future.complete(down(e));
+        return;
+      }
+      if (procedure == null) {
+        future.complete(down("The record has been unregistered"));
+        return;
+      }
+      // The concurrent probes of the record are shared by the endpoint procedure
+      limiter.submit(slot -> {
+        Future<Status> probe = Future.future();
+        probe.setHandler(ar -> {
+          slot.complete();
+          if (!future.isComplete()) {
+            future.complete(ar.result());
+          }
+        });
+        procedure.handle(probe);
+      });
+    }
+
+    /**
+     * @return the procedure probing the endpoint, {@code null} once closed
+     */
+    private synchronized HttpEndpointProcedure endpoint() {
+      if (endpoint == null && !closed) {
+        HttpLocation location = new HttpLocation(record.getLocation());
+        endpoint = HttpEndpointProcedure.create(vertx, new HttpEndpointOptions()
+          .setHost(location.getHost())
+          .setPort(location.getPort())
+          .setSsl(location.isSsl())
+          .setUri(location.getRoot())
+          // All but the server errors: an endpoint answering 404 is reachable
+          .setMaxStatus(499)
+          .setTimeout(timeout));
+      }
+      return endpoint;
+    }
+
+    synchronized void close() {
+      closed = true;
+      if (endpoint != null) {
+        endpoint.close();
+      }
+    }
+  }
+
+  /**
+   * Runs the probes, with at most a given number of probes in progress. A probe completes the given future when it
+   * is done, releasing its slot to the next waiting probe.
+   */
+  private static class Limiter {
+
+    private final int concurrency;
+    private final Deque<Handler<Future<Void>>> pending = new ArrayDeque<>();
+    private int active;
+
+    Limiter(int concurrency) {
+      this.concurrency = concurrency;
+    }
+
+    void submit(Handler<Future<Void>> task) {
+      synchronized (this) {
+        if (active >= concurrency) {
+          pending.add(task);
+          return;
+        }
+        active++;
+      }
+      run(task);
+    }
+
+    private void run(Handler<Future<Void>> task) {
+      Future<Void> slot = Future.future();
+      slot.setHandler(v -> next());
+      task.handle(slot);
+    }
+
+    private void next() {
+      Handler<Future<Void>> task;
+      synchronized (this) {
+        task = pending.poll();
+        if (task == null) {
+          active--;
+          return;
+        }
+      }
+      run(task);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the {@link ServiceDiscoveryBridge}: the group of the procedures, and how the records are probed.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class ServiceDiscoveryBridgeOptions {
+
+  /**
+   * The default group of the procedures: {@code services}.
+   */
+  public static final String DEFAULT_GROUP = "services";
+
+  /**
+   * The default address on which the service discovery announces the changes of the records:
+   * {@code vertx.discovery.announce}.
+   */
+  public static final String DEFAULT_ANNOUNCE_ADDRESS = "vertx.discovery.announce";
+
+  /**
+   * The default maximum number of records probed concurrently: 4.
+   */
+  public static final int DEFAULT_CONCURRENCY = 4;
+
+  /**
+   * The default timeout of a probe: 500 ms.
+   */
+  public static final long DEFAULT_TIMEOUT = 500;
+
+  private String group = DEFAULT_GROUP;
+
+  private String announceAddress = DEFAULT_ANNOUNCE_ADDRESS;
+
+  private int concurrency = DEFAULT_CONCURRENCY;
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  public ServiceDiscoveryBridgeOptions() {
+    // Empty constructor
+  }
+
+  public ServiceDiscoveryBridgeOptions(ServiceDiscoveryBridgeOptions other) {
+    this.group = other.group;
+    this.announceAddress = other.announceAddress;
+    this.concurrency = other.concurrency;
+    this.timeout = other.timeout;
+  }
+
+  public ServiceDiscoveryBridgeOptions(JsonObject json) {
+    this();
+    ServiceDiscoveryBridgeOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    ServiceDiscoveryBridgeOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the group in which the procedures are registered.
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  /**
+   * Sets the group in which the procedures are registered. Each record gets a procedure named after the record in
+   * this group.
+   *
+   * @param group the group
+   * @return the current options
+   */
+  public ServiceDiscoveryBridgeOptions setGroup(String group) {
+    this.group = group;
+    return this;
+  }
+
+  /**
+   * @return the address on which the service discovery announces the changes of the records.
+   */
+  public String getAnnounceAddress() {
+    return announceAddress;
+  }
+
+  /**
+   * Sets the address on which the service discovery announces the changes of the records. It must match the
+   * announce address configured on the service discovery.
+   *
+   * @param announceAddress the address
+   * @return the current options
+   */
+  public ServiceDiscoveryBridgeOptions setAnnounceAddress(String announceAddress) {
+    this.announceAddress = announceAddress;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of records probed concurrently.
+   */
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  /**
+   * Sets the maximum number of records probed concurrently. When the group is checked, the probes are run in
+   * batches of this size, the other probes wait for a slot.
+   *
+   * @param concurrency the maximum number of concurrent probes
+   * @return the current options
+   */
+  public ServiceDiscoveryBridgeOptions setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * @return the timeout of a probe in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the timeout of a probe, once it has started. It does not include the time waiting for a slot. It must be
+   * shorter than the timeout of the procedure, so the report contains the error of the probe.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return the current options
+   */
+  public ServiceDiscoveryBridgeOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+}
@@ -0,0 +1,133 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring the {@link TcpConnectProcedure}: the probed endpoint, and the timeout and latency threshold
+ * of the connections.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@DataObject(generateConverter = true)
+public class TcpConnectOptions {
+
+  /**
+   * The default host: {@code localhost}.
+   */
+  public static final String DEFAULT_HOST = "localhost";
+
+  /**
+   * The default timeout of a connection: 500 ms.
+   */
+  public static final long DEFAULT_TIMEOUT = 500;
+
+  /**
+   * The default maximum latency: -1, the latency is not checked.
+   */
+  public static final long DEFAULT_MAX_LATENCY = -1;
+
+  private String host = DEFAULT_HOST;
+
+  private int port;
+
+  private long timeout = DEFAULT_TIMEOUT;
+
+  private long maxLatency = DEFAULT_MAX_LATENCY;
+
+  public TcpConnectOptions() {
+    // Empty constructor
+  }
+
+  public TcpConnectOptions(TcpConnectOptions other) {
+    this.host = other.host;
+    this.port = other.port;
+    this.timeout = other.timeout;
+    this.maxLatency = other.maxLatency;
+  }
+
+  public TcpConnectOptions(JsonObject json) {
+    this();
+    TcpConnectOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    TcpConnectOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * @return the host of the endpoint.
+   */
+  public String getHost() {
+    return host;
+  }
+
+  /**
+   * Sets the host of the endpoint.
+   *
+   * @param host the host
+   * @return the current options
+   */
+  public TcpConnectOptions setHost(String host) {
+    this.host = host;
+    return this;
+  }
+
+  /**
+   * @return the port of the endpoint.
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Sets the port of the endpoint. It must be set.
+   *
+   * @param port the port
+   * @return the current options
+   */
+  public TcpConnectOptions setPort(int port) {
+    this.port = port;
+    return this;
+  }
+
+  /**
+   * @return the timeout of a connection in milliseconds.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the timeout of a connection to the endpoint. It must be shorter than the timeout of the procedure, so the
+   * report contains the error of the connection.
+   *
+   * @param timeout the timeout in milliseconds
+   * @return the current options
+   */
+  public TcpConnectOptions setTimeout(long timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * @return the maximum latency in milliseconds, -1 if the latency is not checked.
+   */
+  public long getMaxLatency() {
+    return maxLatency;
+  }
+
+  /**
+   * Sets the maximum time to establish a connection. The procedure reports {@code DOWN} when the connection takes
+   * longer. Set to -1 to not check the latency.
+   *
+   * @param maxLatency the maximum latency in milliseconds
+   * @return the current options
+   */
+  public TcpConnectOptions setMaxLatency(long maxLatency) {
+    this.maxLatency = maxLatency;
+    return this;
+  }
+}
@@ -0,0 +1,86 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.Objects;
+
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.down;
+import static me.escoffier.vertx.healthchecks.procedures.ProcedureHelper.millis;
+
+/**
+ * A procedure checking that a TCP connection can be established with an endpoint. The connection is closed as soon as
+ * it is established. The procedure keeps its client between the probes.
+ * <p>
+ * The data contains the {@code latency} gauge, the time to establish the connection in milliseconds. When the
+ * connection fails, times out or is established too slowly, the procedure is {@code DOWN} and the data contains the
+ * {@code error}.
+ * <p>
+ * The client is closed with {@link #close()}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class TcpConnectProcedure implements Handler<Future<Status>> {
+
+  private final NetClient client;
+  private final String host;
+  private final int port;
+  private final long maxLatency;
+
+  /**
+   * Creates the procedure.
+   *
+   * @param vertx   the Vert.x instance
+   * @param options the options
+   * @return the procedure
+   */
+  public static TcpConnectProcedure create(Vertx vertx, TcpConnectOptions options) {
+    return new TcpConnectProcedure(vertx, options);
+  }
+
+  private TcpConnectProcedure(Vertx vertx, TcpConnectOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    this.host = Objects.requireNonNull(options.getHost(), "The host must be set");
+    if (options.getPort() <= 0) {
+      throw new IllegalArgumentException("The port must be set");
+    }
+    if (options.getTimeout() <= 0) {
+      throw new IllegalArgumentException("The timeout must be strictly positive");
+    }
+    this.port = options.getPort();
+    this.maxLatency = options.getMaxLatency();
+    this.client = vertx.createNetClient(new NetClientOptions()
+      .setConnectTimeout((int) Math.min(Integer.MAX_VALUE, options.getTimeout())));
+  }
+
+  @Override
+  public void handle(Future<Status> future) {
+    long start = System.nanoTime();
+    client.connect(port, host, ar -> {
+      long latency = System.nanoTime() - start;
+      if (ar.failed()) {
+        future.complete(down(ar.cause()));
+        return;
+      }
+      ar.result().close();
+      Status status = new Status().setOk(true);
+      if (maxLatency >= 0 && latency > maxLatency * 1000 * 1000) {
+        status.setOk(false).setData(new JsonObject().put("error", "The latency exceeds " + maxLatency + " ms"));
+      }
+      future.complete(status.gauge("latency", millis(latency)));
+    });
+  }
+
+  /**
+   * Closes the client.
+   */
+  public void close() {
+    client.close();
+  }
+}
@@ -0,0 +1,118 @@
+package me.escoffier.vertx.healthchecks.spi;
+
+import me.escoffier.vertx.healthchecks.Status;
+
+/**
+ * The metrics SPI called by the health checks. All the methods do nothing by default, implementations only override
+ * the events they are interested in. Methods are called from the event loop or from the thread completing the
+ * procedures, so implementations must be thread-safe and must not block.
+ * <p>
+ * Procedures and groups are identified by their path in the procedure tree, the root group by {@code /}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public interface HealthCheckMetrics {
+
+  /**
+   * The implementation doing nothing, used when no metrics are configured.
+   */
+  HealthCheckMetrics NOOP = new HealthCheckMetrics() {
+  };
+
+  /**
+   * Called when the execution of a procedure starts.
+   *
+   * @param path the path of the procedure
+   */
+  default void procedureStarted(String path) {
+  }
+
+  /**
+   * Called when a procedure completes its future.
+   *
+   * @param path     the path of the procedure
+   * @param duration the execution time in nanoseconds
+   * @param up       whether the procedure reported {@code UP}
+   */
+  default void procedureCompleted(String path, long duration, boolean up) {
+  }
+
+  /**
+   * Called when a procedure fails its future or throws an exception.
+   *
+   * @param path     the path of the procedure
+   * @param duration the execution time in nanoseconds
+   */
+  default void procedureFailed(String path, long duration) {
+  }
+
+  /**
+   * Called when a procedure does not complete before its timeout.
+   *
+   * @param path     the path of the procedure
+   * @param duration the execution time in nanoseconds
+   */
+  default void procedureTimedOut(String path, long duration) {
+  }
+
+  /**
+   * Called when the synchronous part of a procedure blocked the event loop longer than its blocking threshold.
+   *
+   * @param path     the path of the procedure
+   * @param duration the time spent on the event loop in nanoseconds
+   */
+  default void procedureBlocked(String path, long duration) {
+  }
+
+  /**
+   * Called when a procedure blocked the event loop too many times and is now executed on a worker thread.
+   *
+   * @param path the path of the procedure
+   */
+  default void procedureOffloaded(String path) {
+  }
+
+  /**
+   * Called when a procedure completes with a {@link Status} carrying gauges. The gauges are read using
+   * {@link Status#gaugeCount()}, {@link Status#gaugeName(int)} and {@link Status#gaugeDouble(int)}.
+   *
+   * @param path   the path of the procedure
+   * @param status the status, must not be retained
+   */
+  default void gauges(String path, Status status) {
+  }
+
+  /**
+   * Called when a procedure or a group is unregistered. The procedures and groups under a removed group are removed
+   * too, so implementations keeping state per path should drop the state of the given path and of the paths under
+   * it.
+   *
+   * @param path the path of the unregistered procedure or group
+   */
+  default void unregistered(String path) {
+  }
+
+  /**
+   * Called when all the procedures of a group have completed.
+   *
+   * @param path     the path of the group
+   * @param duration the execution time in nanoseconds
+   * @param up       whether the outcome of the group is {@code UP}
+   */
+  default void groupCompleted(String path, long duration, boolean up) {
+  }
+
+  /**
+   * Called when the web handler has sent a response.
+   *
+   * @param statusCode the HTTP status code of the response
+   */
+  default void httpProbe(int statusCode) {
+  }
+
+  /**
+   * Called when the web handler rejects a request as the authentication failed.
+   */
+  default void authenticationFailed() {
+  }
+}
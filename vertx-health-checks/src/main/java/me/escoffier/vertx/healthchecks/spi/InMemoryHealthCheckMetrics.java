@@ -0,0 +1,173 @@
+package me.escoffier.vertx.healthchecks.spi;
+
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.Status;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link HealthCheckMetrics} implementation keeping the metrics in memory. The metrics are retrieved as JSON
+ * using {@link #toJson()}. The metrics of the unregistered procedures and groups are dropped.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class InMemoryHealthCheckMetrics implements HealthCheckMetrics {
+
+  private final Map<String, Metrics> procedures = new ConcurrentHashMap<>();
+  private final Map<String, Metrics> groups = new ConcurrentHashMap<>();
+  private final Map<Integer, LongAdder> probes = new ConcurrentHashMap<>();
+  private final LongAdder authenticationFailures = new LongAdder();
+
+  @Override
+  public void procedureStarted(String path) {
+    metrics(procedures, path).inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void procedureCompleted(String path, long duration, boolean up) {
+    completed(metrics(procedures, path), duration, up).inFlight.decrementAndGet();
+  }
+
+  @Override
+  public void procedureFailed(String path, long duration) {
+    Metrics metrics = completed(metrics(procedures, path), duration, false);
+    metrics.failures.increment();
+    metrics.inFlight.decrementAndGet();
+  }
+
+  @Override
+  public void procedureTimedOut(String path, long duration) {
+    Metrics metrics = completed(metrics(procedures, path), duration, false);
+    metrics.timeouts.increment();
+    metrics.inFlight.decrementAndGet();
+  }
+
+  @Override
+  public void procedureBlocked(String path, long duration) {
+    metrics(procedures, path).blocked.increment();
+  }
+
+  @Override
+  public void procedureOffloaded(String path) {
+    metrics(procedures, path).offloaded = true;
+  }
+
+  @Override
+  public void gauges(String path, Status status) {
+    Metrics metrics = metrics(procedures, path);
+    for (int i = 0; i < status.gaugeCount(); i++) {
+      metrics.gauges.put(status.gaugeName(i), status.gaugeDouble(i));
+    }
+  }
+
+  @Override
+  public void groupCompleted(String path, long duration, boolean up) {
+    completed(metrics(groups, path), duration, up);
+  }
+
+  @Override
+  public void unregistered(String path) {
+    String prefix = path + "/";
+    procedures.keySet().removeIf(key -> key.equals(path) || key.startsWith(prefix));
+    groups.keySet().removeIf(key -> key.equals(path) || key.startsWith(prefix));
+  }
+
+  @Override
+  public void httpProbe(int statusCode) {
+    probes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void authenticationFailed() {
+    authenticationFailures.increment();
+  }
+
+  private static Metrics metrics(Map<String, Metrics> map, String path) {
+    Metrics metrics = map.get(path);
+    if (metrics == null) {
+      metrics = map.computeIfAbsent(path, key -> new Metrics());
+    }
+    return metrics;
+  }
+
+  private static Metrics completed(Metrics metrics, long duration, boolean up) {
+    metrics.executions.increment();
+    if (!up) {
+      metrics.down.increment();
+    }
+    metrics.durations.record(duration);
+    return metrics;
+  }
+
+  /**
+   * Gets a snapshot of the metrics:
+   * <pre>
+   * {
+   *   "procedures" : {
+   *     "my-group/my-procedure" : {
+   *       "executions" : 10, "down" : 2, "failures" : 1, "timeouts" : 1, "in-flight" : 0,
+   *       "blocked" : 0, "offloaded" : false,
+   *       "latency" : { "count" : 10, "p50" : 1.2, "p99" : 1000.0, "max" : 1001.3 },
+   *       "gauges" : { "usage" : 0.8 }
+   *     }
+   *   },
+   *   "groups" : {
+   *     "/" : { "executions" : 10, "down" : 2, "latency" : { ... } }
+   *   },
+   *   "probes" : { "200" : 8, "503" : 2 },
+   *   "authentication-failures" : 0
+   * }
+   * </pre>
+   *
+   * @return the metrics
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    JsonObject procs = new JsonObject();
+    procedures.forEach((path, metrics) -> {
+      JsonObject procedure = metrics.toJson()
+        .put("failures", metrics.failures.sum())
+        .put("timeouts", metrics.timeouts.sum())
+        .put("in-flight", metrics.inFlight.get())
+        .put("blocked", metrics.blocked.sum())
+        .put("offloaded", metrics.offloaded);
+      if (!metrics.gauges.isEmpty()) {
+        JsonObject gauges = new JsonObject();
+        metrics.gauges.forEach(gauges::put);
+        procedure.put("gauges", gauges);
+      }
+      procs.put(path, procedure);
+    });
+    JsonObject grps = new JsonObject();
+    groups.forEach((path, metrics) -> grps.put(path, metrics.toJson()));
+    JsonObject codes = new JsonObject();
+    probes.forEach((code, count) -> codes.put(Integer.toString(code), count.sum()));
+    return json
+      .put("procedures", procs)
+      .put("groups", grps)
+      .put("probes", codes)
+      .put("authentication-failures", authenticationFailures.sum());
+  }
+
+  private static class Metrics {
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder down = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder blocked = new LongAdder();
+    private volatile boolean offloaded;
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private final Map<String, Double> gauges = new ConcurrentHashMap<>();
+
+    JsonObject toJson() {
+      return new JsonObject()
+        .put("executions", executions.sum())
+        .put("down", down.sum())
+        .put("latency", durations.toJson());
+    }
+  }
+}
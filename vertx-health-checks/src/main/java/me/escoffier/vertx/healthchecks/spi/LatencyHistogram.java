@@ -0,0 +1,136 @@
+package me.escoffier.vertx.healthchecks.spi;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of execution times. Values are recorded in microseconds, in log-linear buckets: each power
+ * of two is split in 8 buckets, so the reported percentiles are within 12.5% of the actual values, from 1 microsecond
+ * to more than an hour, using 240 counters. Recording does not allocate (except the counters, on the first record).
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 31;
+  private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+  private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+  private volatile AtomicLongArray counts;
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records an execution time.
+   *
+   * @param nanos the execution time in nanoseconds
+   */
+  public void record(long nanos) {
+    long value = Math.min(MAX_VALUE, Math.max(0, nanos / 1000));
+    AtomicLongArray array = counts;
+    if (array == null) {
+      array = init();
+    }
+    array.incrementAndGet(index(value));
+
+    long current;
+    while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+      // Retry
+    }
+  }
+
+  private synchronized AtomicLongArray init() {
+    if (counts == null) {
+      counts = new AtomicLongArray(BUCKETS);
+    }
+    return counts;
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + sub;
+  }
+
+  /**
+   * @return the highest value stored in the bucket with the given index.
+   */
+  static long highestValue(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << (exponent - SUB_BUCKET_BITS);
+    return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * @return the number of recorded executions.
+   */
+  public long count() {
+    AtomicLongArray array = counts;
+    long count = 0;
+    if (array != null) {
+      for (int i = 0; i < BUCKETS; i++) {
+        count += array.get(i);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the longest recorded execution time in milliseconds.
+   */
+  public double max() {
+    return max.get() / 1000.0;
+  }
+
+  /**
+   * Computes a percentile of the recorded execution times.
+   *
+   * @param percentile the percentile, between {@code 0} and {@code 100}
+   * @return the execution time in milliseconds, {@code 0} if nothing has been recorded
+   */
+  public double percentile(double percentile) {
+    AtomicLongArray array = counts;
+    if (array == null) {
+      return 0;
+    }
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = array.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValue(i), max.get()) / 1000.0;
+      }
+    }
+    return max();
+  }
+
+  /**
+   * @return the summary of the recorded execution times: {@code count}, and {@code p50}, {@code p99} and
+   * {@code max} in milliseconds.
+   */
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("count", count())
+      .put("p50", percentile(50))
+      .put("p99", percentile(99))
+      .put("max", max());
+  }
+}
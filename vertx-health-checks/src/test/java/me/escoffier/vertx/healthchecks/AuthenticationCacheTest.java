@@ -0,0 +1,155 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.restassured.RestAssured;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.User;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class AuthenticationCacheTest extends HealthCheckTestBase {
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicReference<JsonObject> lastCredentials = new AtomicReference<>();
+
+  @Override
+  AuthProvider getAuthProvider() {
+    return (jsonObject, handler) -> {
+      calls.incrementAndGet();
+      lastCredentials.set(jsonObject);
+      if ("admin".equals(jsonObject.getString("X-Username"))
+        && "admin".equals(jsonObject.getString("X-Password"))) {
+        handler.handle(Future.succeededFuture(new FakeUser()));
+      } else {
+        handler.handle(Future.failedFuture("Not Authorized"));
+      }
+    };
+  }
+
+  private static void probe(String password, int status) {
+    RestAssured
+      .given()
+      .header("X-Username", "admin")
+      .header("X-Password", password)
+      .get("/health")
+      .then()
+      .statusCode(status);
+  }
+
+  @Test
+  public void testSelectedCredentials() {
+    handler.setCredentialNames("X-Username", "X-Password");
+
+    RestAssured
+      .given()
+      .header("X-Username", "admin")
+      .param("X-Password", "admin")
+      .param("other", "value")
+      .get("/health")
+      .then()
+      .statusCode(204);
+
+    assertThat(lastCredentials.get().fieldNames()).containsOnly("X-Username", "X-Password");
+  }
+
+  @Test
+  public void testWithoutCacheTheProviderIsAlwaysCalled() {
+    probe("admin", 204);
+    probe("admin", 204);
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testSuccessfulAuthenticationsAreCached() {
+    handler
+      .setCredentialNames("X-Username", "X-Password")
+      .setAuthenticationCache(10, 60000);
+
+    probe("admin", 204);
+    probe("admin", 204);
+    probe("admin", 204);
+    assertThat(calls.get()).isEqualTo(1);
+
+    // Other credentials are not served from the cache
+    probe("wrong password", 403);
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testFailedAuthenticationsAreNotCached() {
+    handler
+      .setCredentialNames("X-Username", "X-Password")
+      .setAuthenticationCache(10, 60000);
+
+    probe("wrong password", 403);
+    probe("wrong password", 403);
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCachedAuthenticationsExpire() throws InterruptedException {
+    handler
+      .setCredentialNames("X-Username", "X-Password")
+      .setAuthenticationCache(10, 200);
+
+    probe("admin", 204);
+    probe("admin", 204);
+    assertThat(calls.get()).isEqualTo(1);
+
+    TimeUnit.MILLISECONDS.sleep(300);
+    probe("admin", 204);
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    handler
+      .setCredentialNames("X-Username", "X-Password", "X-Agent")
+      .setAuthenticationCache(1, 60000);
+
+    RestAssured.given().header("X-Username", "admin").header("X-Password", "admin").header("X-Agent", "a")
+      .get("/health").then().statusCode(204);
+    RestAssured.given().header("X-Username", "admin").header("X-Password", "admin").header("X-Agent", "b")
+      .get("/health").then().statusCode(204);
+    assertThat(calls.get()).isEqualTo(2);
+
+    // `a` has been evicted by `b`
+    RestAssured.given().header("X-Username", "admin").header("X-Password", "admin").header("X-Agent", "a")
+      .get("/health").then().statusCode(204);
+    assertThat(calls.get()).isEqualTo(3);
+  }
+
+  private static class FakeUser implements User {
+
+    @Override
+    public User isAuthorised(String s, Handler<AsyncResult<Boolean>> handler) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public User clearCache() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public JsonObject principal() {
+      return new JsonObject().put("login", "admin");
+    }
+
+    @Override
+    public void setAuthProvider(AuthProvider authProvider) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
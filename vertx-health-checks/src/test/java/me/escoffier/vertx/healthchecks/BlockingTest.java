@@ -0,0 +1,131 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.spi.InMemoryHealthCheckMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class BlockingTest {
+
+  private Vertx vertx;
+  private InMemoryHealthCheckMetrics metrics;
+  private HealthChecks healthChecks;
+
+  private final AtomicBoolean onWorker = new AtomicBoolean();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    metrics = new InMemoryHealthCheckMetrics();
+    healthChecks = HealthChecks.create(vertx, metrics)
+      .register("fast", future -> future.complete(Status.OK()))
+      .register("slow", new ProcedureOptions().setBlockingThreshold(20).setOffloadAfter(2), future -> {
+        onWorker.set(Context.isOnWorkerThread());
+        sleep(100);
+        future.complete(Status.OK());
+      })
+      .register("slow-then-async", new ProcedureOptions().setBlockingThreshold(20), future -> {
+        sleep(60);
+        vertx.setTimer(10, l -> future.complete(Status.OK()));
+      })
+      .register("unchecked", new ProcedureOptions().setBlockingThreshold(-1), future -> {
+        sleep(60);
+        future.complete(Status.OK());
+      })
+      .register("default", future -> {
+        sleep(60);
+        future.complete(Status.OK());
+      });
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  private static void sleep(long ms) {
+    try {
+      Thread.sleep(ms);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  public void testBlockingProceduresAreReported(TestContext tc) {
+    Async async = tc.async();
+    vertx.runOnContext(v ->
+      healthChecks.invoke("slow", tc.asyncAssertSuccess(slow -> {
+        JsonObject blocking = slow.getJsonObject("data").getJsonObject("blocking");
+        tc.assertTrue(blocking.getDouble("duration") >= 100.0);
+        tc.assertFalse(blocking.getBoolean("offloaded"));
+
+        healthChecks.invoke("slow-then-async", tc.asyncAssertSuccess(json -> {
+          tc.assertTrue(json.getJsonObject("data").getJsonObject("blocking").getDouble("duration") >= 60.0);
+
+          healthChecks.invoke("fast", tc.asyncAssertSuccess(fast -> {
+            tc.assertFalse(fast.containsKey("data"));
+
+            healthChecks.invoke("unchecked", tc.asyncAssertSuccess(unchecked -> {
+              tc.assertFalse(unchecked.containsKey("data"));
+
+              JsonObject procedures = metrics.toJson().getJsonObject("procedures");
+              tc.assertEquals(1L, procedures.getJsonObject("slow").getLong("blocked"));
+              tc.assertEquals(1L, procedures.getJsonObject("slow-then-async").getLong("blocked"));
+              tc.assertEquals(0L, procedures.getJsonObject("fast").getLong("blocked"));
+              tc.assertEquals(0L, procedures.getJsonObject("unchecked").getLong("blocked"));
+              async.complete();
+            }));
+          }));
+        }));
+      })));
+  }
+
+  @Test
+  public void testDetectionIsDisabledByDefault(TestContext tc) {
+    Async async = tc.async();
+    vertx.runOnContext(v ->
+      healthChecks.invoke("default", tc.asyncAssertSuccess(json -> {
+        tc.assertFalse(json.containsKey("data"));
+        tc.assertEquals(0L, metrics.toJson().getJsonObject("procedures").getJsonObject("default").getLong("blocked"));
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void testRepeatOffendersAreOffloaded(TestContext tc) {
+    Async async = tc.async();
+    vertx.runOnContext(v ->
+      healthChecks.invoke("slow", tc.asyncAssertSuccess(first -> {
+        tc.assertFalse(onWorker.get());
+        healthChecks.invoke("slow", tc.asyncAssertSuccess(second -> {
+          tc.assertFalse(onWorker.get());
+          tc.assertTrue(metrics.toJson().getJsonObject("procedures").getJsonObject("slow").getBoolean("offloaded"));
+
+          healthChecks.invoke("slow", tc.asyncAssertSuccess(third -> {
+            tc.assertTrue(onWorker.get());
+            tc.assertTrue(Context.isOnEventLoopThread());
+            JsonObject blocking = third.getJsonObject("data").getJsonObject("blocking");
+            tc.assertTrue(blocking.getBoolean("offloaded"));
+            tc.assertFalse(blocking.containsKey("duration"));
+            tc.assertEquals(2L, metrics.toJson().getJsonObject("procedures").getJsonObject("slow").getLong("blocked"));
+            async.complete();
+          }));
+        }));
+      })));
+  }
+}
@@ -0,0 +1,140 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class EventStreamTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private HttpClient client;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    healthChecks = HealthChecks.create(vertx);
+    Router router = Router.router(vertx);
+    router.get("/events").handler(HealthCheckEventStreamHandler.create(vertx, healthChecks, 100));
+
+    AtomicBoolean done = new AtomicBoolean();
+    vertx.createHttpServer()
+      .requestHandler(router::accept)
+      .listen(8080, ar -> done.set(ar.succeeded()));
+    await().untilAtomic(done, is(true));
+
+    // Each subscription keeps its connection open
+    client = vertx.createHttpClient(new HttpClientOptions().setMaxPoolSize(20));
+  }
+
+  @After
+  public void tearDown() {
+    AtomicBoolean done = new AtomicBoolean();
+    vertx.close(v -> done.set(v.succeeded()));
+    await().untilAtomic(done, is(true));
+  }
+
+  private List<String> subscribe() {
+    List<String> events = new CopyOnWriteArrayList<>();
+    StringBuilder pending = new StringBuilder();
+    client.getNow(8080, "localhost", "/events", response -> {
+      assertThat(response.statusCode()).isEqualTo(200);
+      assertThat(response.getHeader("content-type")).startsWith("text/event-stream");
+      response.handler(buffer -> {
+        pending.append(buffer.toString());
+        int index;
+        while ((index = pending.indexOf("\n\n")) != -1) {
+          events.add(pending.substring(0, index));
+          pending.delete(0, index + 2);
+        }
+      });
+    });
+    return events;
+  }
+
+  private static JsonObject data(String event) {
+    return new JsonObject(event.substring(event.indexOf("data: ") + "data: ".length()));
+  }
+
+  @Test
+  public void testSnapshotThenDeltas() throws InterruptedException {
+    AtomicBoolean healthy = new AtomicBoolean(true);
+    healthChecks
+      .register("A", future -> future.complete(Status.OK()))
+      .register("sub/B", future -> future.complete(healthy.get() ? Status.OK() : Status.KO()));
+
+    List<String> events = subscribe();
+    await().until(() -> events.size() == 1);
+    assertThat(events.get(0)).startsWith("event: snapshot");
+    assertThat(data(events.get(0)).getString("outcome")).isEqualTo("UP");
+
+    // Nothing changes, so nothing is pushed
+    TimeUnit.MILLISECONDS.sleep(500);
+    assertThat(events).hasSize(1);
+
+    healthy.set(false);
+    await().until(() -> events.size() == 2);
+    assertThat(events.get(1)).startsWith("event: delta");
+
+    JsonObject delta = data(events.get(1));
+    assertThat(delta.getJsonArray("changes")).hasSize(3);
+    assertThat(delta.encode())
+      .contains("\"path\":\"/\"", "\"path\":\"sub\"", "\"path\":\"sub/B\"")
+      .doesNotContain("\"path\":\"A\"");
+    JsonObject change = delta.getJsonArray("changes").getJsonObject(2);
+    assertThat(change.getString("previous")).isEqualTo("UP");
+    assertThat(change.getString("status")).isEqualTo("DOWN");
+    assertThat(change.getLong("timestamp")).isPositive();
+  }
+
+  @Test
+  public void testSubscribersShareExecutions() throws InterruptedException {
+    AtomicInteger executions = new AtomicInteger();
+    healthChecks.register("counted", future -> {
+      executions.incrementAndGet();
+      future.complete();
+    });
+
+    List<List<String>> subscriptions = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      subscriptions.add(subscribe());
+    }
+    await().until(() -> subscriptions.stream().allMatch(events -> events.size() == 1));
+    subscriptions.forEach(events -> assertThat(events.get(0)).startsWith("event: snapshot"));
+
+    TimeUnit.MILLISECONDS.sleep(1000);
+    // Around 10 executions for 1 second, independently of the number of subscribers.
+    assertThat(executions.get()).isLessThan(20);
+  }
+
+  @Test
+  public void testLateSubscriberReceivesTheCurrentSnapshot() {
+    healthChecks.register("A", future -> future.complete(Status.KO()));
+
+    List<String> first = subscribe();
+    await().until(() -> first.size() == 1);
+
+    List<String> second = subscribe();
+    await().until(() -> second.size() == 1);
+    assertThat(second.get(0)).startsWith("event: snapshot");
+    assertThat(data(second.get(0)).getString("outcome")).isEqualTo("DOWN");
+  }
+}
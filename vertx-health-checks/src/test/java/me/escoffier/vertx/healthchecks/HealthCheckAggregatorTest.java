@@ -0,0 +1,156 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.test.fakecluster.FakeClusterManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HealthCheckAggregatorTest {
+
+  private final List<Vertx> nodes = new ArrayList<>();
+  private final List<HealthCheckService> services = new ArrayList<>();
+
+  @Before
+  public void setUp() throws InterruptedException {
+    for (int i = 1; i <= 3; i++) {
+      Vertx vertx = startNode();
+      HealthChecks healthChecks = HealthChecks.create(vertx)
+        .register("procedure", future -> future.complete(Status.OK()));
+      if (i == 3) {
+        healthChecks.register("failing", future -> future.complete(Status.KO()));
+      }
+      services.add(HealthCheckService.create(vertx, healthChecks, HealthCheckService.DEFAULT_ADDRESS, "node-" + i));
+      nodes.add(vertx);
+    }
+  }
+
+  private static Vertx startNode() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicReference<Vertx> reference = new AtomicReference<>();
+    VertxOptions options = new VertxOptions()
+      .setClustered(true)
+      .setClusterHost("localhost")
+      .setClusterManager(new FakeClusterManager());
+    Vertx.clusteredVertx(options, ar -> {
+      reference.set(ar.result());
+      latch.countDown();
+    });
+    assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(reference.get()).isNotNull();
+    return reference.get();
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(nodes.size());
+    nodes.forEach(vertx -> vertx.close(v -> latch.countDown()));
+    latch.await(10, TimeUnit.SECONDS);
+    FakeClusterManager.reset();
+  }
+
+  private static JsonObject gather(HealthCheckAggregator aggregator) {
+    AtomicReference<JsonObject> result = new AtomicReference<>();
+    aggregator.gather(result::set);
+    await().untilAtomic(result, notNullValue());
+    return result.get();
+  }
+
+  @Test
+  public void testGatheringTheHealthOfAllNodes() {
+    HealthCheckAggregator aggregator = HealthCheckAggregator.create(nodes.get(0),
+      HealthCheckService.DEFAULT_ADDRESS, 500, 10);
+
+    JsonObject report = gather(aggregator);
+    assertThat(report.getString("outcome")).isEqualTo("DOWN");
+    JsonObject reports = report.getJsonObject("nodes");
+    assertThat(reports.fieldNames()).containsOnly("node-1", "node-2", "node-3");
+    assertThatCheck(reports.getJsonObject("node-1")).hasOutcomeUp().hasChildren(1);
+    assertThatCheck(reports.getJsonObject("node-2")).hasOutcomeUp().hasChildren(1);
+    assertThatCheck(reports.getJsonObject("node-3")).hasOutcomeDown().hasChildren(2);
+  }
+
+  @Test
+  public void testMissingNodesAreReportedAsUnknown() {
+    HealthCheckAggregator aggregator = HealthCheckAggregator.create(nodes.get(0),
+      HealthCheckService.DEFAULT_ADDRESS, 500, 10)
+      .expect("node-4");
+
+    JsonObject report = gather(aggregator);
+    assertThat(report.getJsonObject("nodes").getJsonObject("node-4").getString("outcome")).isEqualTo("UNKNOWN");
+
+    // node-2 stops replying
+    services.get(1).close();
+
+    report = gather(aggregator);
+    assertThat(report.getString("outcome")).isEqualTo("DOWN");
+    assertThat(report.getJsonObject("nodes").getJsonObject("node-2").getString("outcome")).isEqualTo("UNKNOWN");
+    assertThat(report.getJsonObject("nodes").getJsonObject("node-1").getString("outcome")).isEqualTo("UP");
+  }
+
+  @Test
+  public void testGatheringCompletesOnceTheExpectedNodesHaveReplied() {
+    HealthCheckAggregator aggregator = HealthCheckAggregator.create(nodes.get(0),
+      HealthCheckService.DEFAULT_ADDRESS, 10000, 10)
+      .expect("node-1").expect("node-2").expect("node-3");
+
+    long begin = System.currentTimeMillis();
+    AtomicReference<JsonObject> result = new AtomicReference<>();
+    aggregator.gather(result::set);
+    await().atMost(5, TimeUnit.SECONDS).untilAtomic(result, notNullValue());
+    assertThat(System.currentTimeMillis() - begin).isLessThan(5000);
+    assertThat(result.get().getJsonObject("nodes").fieldNames()).containsOnly("node-1", "node-2", "node-3");
+  }
+
+  @Test
+  public void testServicesAreIdentifiedByTheClusterNodeId() {
+    Vertx vertx = nodes.get(0);
+    HealthCheckService service = HealthCheckService.create(vertx, HealthChecks.create(vertx), "other-address");
+    try {
+      assertThat(service.nodeId()).isEqualTo(((VertxInternal) vertx).getClusterManager().getNodeID());
+    } finally {
+      service.close();
+    }
+  }
+
+  @Test
+  public void testTheNumberOfGatheredReportsIsBounded() {
+    HealthCheckAggregator aggregator = HealthCheckAggregator.create(nodes.get(0),
+      HealthCheckService.DEFAULT_ADDRESS, 500, 2);
+
+    JsonObject report = gather(aggregator);
+    assertThat(report.getJsonObject("nodes").size()).isEqualTo(2);
+    assertThat(report.getBoolean("truncated")).isTrue();
+  }
+
+  @Test
+  public void testGatheringWithAPathAndDetailLevel() {
+    HealthCheckAggregator aggregator = HealthCheckAggregator.create(nodes.get(1));
+
+    AtomicReference<JsonObject> result = new AtomicReference<>();
+    aggregator.gather("procedure", HealthCheckService.DETAIL_OUTCOME, result::set);
+    await().atMost(5, TimeUnit.SECONDS).untilAtomic(result, notNullValue());
+
+    JsonObject report = result.get();
+    assertThat(report.getString("outcome")).isEqualTo("UP");
+    assertThat(report.getJsonObject("nodes").getJsonObject("node-3"))
+      .isEqualTo(new JsonObject().put("outcome", "UP"));
+  }
+}
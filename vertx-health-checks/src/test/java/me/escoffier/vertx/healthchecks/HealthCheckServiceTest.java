@@ -0,0 +1,170 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThat;
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class HealthCheckServiceTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+
+    healthChecks = HealthChecks.create(vertx)
+      .register("A", future -> future.complete(Status.OK()))
+      .register("sub/B", future -> future.complete(Status.KO(new JsonObject().put("foo", "bar"))))
+      .register("sub/C", future -> future.complete(Status.OK()));
+
+    HealthCheckService.create(vertx, healthChecks);
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testFullReport(TestContext tc) {
+    Async async = tc.async();
+    vertx.eventBus().<JsonObject>send("health", "", reply -> {
+      assertThat(reply).succeeded().hasContent();
+      assertThatCheck(reply.result().body())
+        .hasOutcomeDown()
+        .hasChildren(2)
+        .hasAndGetCheck("sub").hasStatusDown()
+        .hasAndGetCheck("B").hasStatusDown().hasData("foo", "bar");
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testPathHeader(TestContext tc) {
+    Async async = tc.async();
+    vertx.eventBus().<JsonObject>send("health", "", new DeliveryOptions().addHeader("path", "sub/C"), reply -> {
+      assertThat(reply).succeeded().hasContent();
+      assertThatCheck(reply.result().body()).hasId("C").hasStatusUp().hasOutcomeUp();
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testMissingProcedure(TestContext tc) {
+    Async async = tc.async();
+    vertx.eventBus().<JsonObject>send("health", "", new DeliveryOptions().addHeader("path", "missing"), reply -> {
+      tc.assertTrue(reply.failed());
+      tc.assertEquals(404, ((ReplyException) reply.cause()).failureCode());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testInvalidHeaders(TestContext tc) {
+    Async async = tc.async(2);
+    vertx.eventBus().<JsonObject>send("health", "", new DeliveryOptions().addHeader("detail", "everything"),
+      reply -> {
+        tc.assertEquals(400, ((ReplyException) reply.cause()).failureCode());
+        async.countDown();
+      });
+    vertx.eventBus().<JsonObject>send("health", "", new DeliveryOptions().addHeader("timeout", "soon"),
+      reply -> {
+        tc.assertEquals(400, ((ReplyException) reply.cause()).failureCode());
+        async.countDown();
+      });
+  }
+
+  @Test
+  public void testOutcomeDetail(TestContext tc) {
+    Async async = tc.async();
+    vertx.eventBus().<JsonObject>send("health", "", new DeliveryOptions().addHeader("detail", "outcome"), reply -> {
+      assertThat(reply).succeeded().hasContent();
+      tc.assertEquals(new JsonObject().put("outcome", "DOWN"), reply.result().body());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testStatusDetail(TestContext tc) {
+    Async async = tc.async();
+    vertx.eventBus().<JsonObject>send("health", "", new DeliveryOptions().addHeader("detail", "status"), reply -> {
+      assertThat(reply).succeeded().hasContent();
+      JsonObject json = reply.result().body();
+      assertThatCheck(json)
+        .hasOutcomeDown()
+        .hasAndGetCheck("sub").hasStatusDown()
+        .hasAndGetCheck("B").hasStatusDown();
+      tc.assertFalse(json.encode().contains("foo"));
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testTimeoutHeader(TestContext tc) {
+    healthChecks.register("slow", future -> {
+      // Never completes
+    });
+
+    Async async = tc.async();
+    // The procedure timeout is 1 second, the deadline must be enforced before
+    long begin = System.currentTimeMillis();
+    DeliveryOptions options = new DeliveryOptions().addHeader("path", "slow").addHeader("timeout", "100");
+    vertx.eventBus().<JsonObject>send("health", "", options, reply -> {
+      assertThat(reply).succeeded().hasContent();
+      assertThatCheck(reply.result().body()).isDown().hasData("cause", "Timeout");
+      tc.assertTrue(System.currentTimeMillis() - begin < 1000);
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testConcurrentInvocationsShareTheExecution(TestContext tc) {
+    AtomicInteger executions = new AtomicInteger();
+    healthChecks.register("counted", future -> {
+      executions.incrementAndGet();
+      vertx.setTimer(200, l -> future.complete());
+    });
+
+    Async async = tc.async();
+    AtomicInteger replies = new AtomicInteger();
+    Handler<Void> onReply = v -> {
+      if (replies.incrementAndGet() == 6) {
+        tc.assertEquals(1, executions.get());
+        async.complete();
+      }
+    };
+
+    healthChecks.invoke("counted", ar -> {
+      tc.assertTrue(ar.succeeded());
+      onReply.handle(null);
+    });
+    DeliveryOptions options = new DeliveryOptions().addHeader("path", "counted");
+    for (int i = 0; i < 5; i++) {
+      vertx.eventBus().<JsonObject>send("health", "", options, reply -> {
+        assertThat(reply).succeeded().hasContent();
+        assertThatCheck(reply.result().body()).isUp();
+        onReply.handle(null);
+      });
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class HealthStatusNotifierTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private final AtomicBoolean healthy = new AtomicBoolean(true);
+  private final List<JsonObject> messages = new CopyOnWriteArrayList<>();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+
+    healthChecks = HealthChecks.create(vertx)
+      .register("A", future -> future.complete(healthy.get() ? Status.OK() : Status.KO()));
+
+    vertx.eventBus().<JsonObject>consumer(HealthStatusNotifier.DEFAULT_ADDRESS,
+      message -> messages.add(message.body()));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testTransitionsArePublished(TestContext tc) {
+    HealthStatusNotifier.create(vertx, healthChecks, HealthStatusNotifier.DEFAULT_ADDRESS, 50, 0);
+
+    Async async = tc.async();
+    vertx.setTimer(200, l -> {
+      // No transition yet
+      tc.assertTrue(messages.isEmpty());
+      healthy.set(false);
+      vertx.setTimer(200, x -> {
+        tc.assertEquals(2, messages.size());
+        for (JsonObject message : messages) {
+          tc.assertEquals("UP", message.getString("previous"));
+          tc.assertEquals("DOWN", message.getString("status"));
+          tc.assertNotNull(message.getLong("timestamp"));
+        }
+        tc.assertTrue(messages.stream().anyMatch(json -> "A".equals(json.getString("path"))));
+        tc.assertTrue(messages.stream().anyMatch(json -> "/".equals(json.getString("path"))));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testFlappingIsNotPublished(TestContext tc) {
+    HealthStatusNotifier.create(vertx, healthChecks, HealthStatusNotifier.DEFAULT_ADDRESS, 20, 300);
+
+    Async async = tc.async();
+    vertx.setTimer(100, l -> {
+      healthy.set(false);
+      vertx.setTimer(100, x -> healthy.set(true));
+      vertx.setTimer(800, x -> {
+        tc.assertTrue(messages.isEmpty(), "Unexpected messages: " + messages);
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testStableTransitionsArePublishedAfterTheWindow(TestContext tc) {
+    HealthStatusNotifier.create(vertx, healthChecks, HealthStatusNotifier.DEFAULT_ADDRESS, 20, 300);
+
+    Async async = tc.async();
+    vertx.setTimer(100, l -> {
+      healthy.set(false);
+      vertx.setTimer(150, x -> tc.assertTrue(messages.isEmpty()));
+      vertx.setTimer(800, x -> {
+        tc.assertEquals(2, messages.size());
+        tc.assertEquals("DOWN", messages.get(0).getString("status"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testClose(TestContext tc) {
+    HealthStatusNotifier notifier = HealthStatusNotifier
+      .create(vertx, healthChecks, HealthStatusNotifier.DEFAULT_ADDRESS, 20, 0);
+
+    Async async = tc.async();
+    vertx.setTimer(100, l -> {
+      notifier.close();
+      healthy.set(false);
+      vertx.setTimer(200, x -> {
+        tc.assertTrue(messages.isEmpty());
+        async.complete();
+      });
+    });
+  }
+}
@@ -0,0 +1,101 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HistoryTest extends HealthCheckTestBase {
+
+  @Test
+  public void testHistoryIsNotExposedByDefault() {
+    handler.register("A", future -> future.complete(Status.OK()));
+
+    JsonObject json = get("A?history=true", 200);
+    assertThat(json.getString("outcome")).isEqualTo("UP");
+    assertThat(json.containsKey("history")).isFalse();
+  }
+
+  @Test
+  public void testHistory() {
+    AtomicBoolean healthy = new AtomicBoolean(true);
+    handler
+      .setHistoryEnabled(true)
+      .register("group/A", future -> future.complete(healthy.get() ? Status.OK() : Status.KO()))
+      .register("group/B", future -> future.fail("boom"))
+      .register("group/C", future -> {
+        throw new IllegalStateException("bad");
+      });
+
+    // C throws an exception, so the status code is 500
+    get(500);
+    healthy.set(false);
+    get(500);
+
+    JsonArray history = get("group/A?history=true", 200).getJsonArray("history");
+    assertThat(history).hasSize(2);
+    assertThat(history.getJsonObject(0).getString("status")).isEqualTo("UP");
+    assertThat(history.getJsonObject(0).getLong("timestamp")).isPositive();
+    assertThat(history.getJsonObject(0).getDouble("latency")).isGreaterThanOrEqualTo(0.0);
+    assertThat(history.getJsonObject(0).containsKey("error")).isFalse();
+    assertThat(history.getJsonObject(1).getString("status")).isEqualTo("DOWN");
+
+    history = get("group/B?history=true", 200).getJsonArray("history");
+    assertThat(history).hasSize(2);
+    assertThat(history.getJsonObject(0).getString("error")).isEqualTo("failure");
+
+    history = get("group/C?history=true", 200).getJsonArray("history");
+    assertThat(history.getJsonObject(0).getString("error")).isEqualTo("exception");
+  }
+
+  @Test
+  public void testHistoryOfTimedOutProcedures() {
+    handler
+      .setHistoryEnabled(true)
+      .register("A", future -> {
+        // Never completed
+      });
+
+    get(500);
+
+    JsonArray history = get("A?history=true", 200).getJsonArray("history");
+    assertThat(history).hasSize(1);
+    assertThat(history.getJsonObject(0).getString("error")).isEqualTo("timeout");
+    assertThat(history.getJsonObject(0).getDouble("latency")).isGreaterThanOrEqualTo(900.0);
+  }
+
+  @Test
+  public void testExceptionsNamedTimeoutAreNotTimeouts() {
+    handler
+      .setHistoryEnabled(true)
+      .register("A", future -> {
+        throw new IllegalStateException("Timeout");
+      });
+
+    get(500);
+
+    JsonArray history = get("A?history=true", 200).getJsonArray("history");
+    assertThat(history).hasSize(1);
+    assertThat(history.getJsonObject(0).getString("error")).isEqualTo("exception");
+  }
+
+  @Test
+  public void testHistoryOfUnknownProcedures() {
+    handler
+      .setHistoryEnabled(true)
+      .register("group/A", future -> future.complete(Status.OK()));
+
+    RestAssured.get("/health/missing?history=true").then().statusCode(404);
+    // Groups have no history
+    RestAssured.get("/health/group?history=true").then().statusCode(404);
+    // Not executed yet
+    assertThat(get("group/A?history=true", 200).getJsonArray("history")).isEmpty();
+  }
+}
@@ -0,0 +1,92 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class HysteresisTest extends HealthCheckTestBase {
+
+  private final AtomicBoolean healthy = new AtomicBoolean(true);
+
+  private void check(int code, String debounced, String raw) {
+    JsonObject json = get("A", code);
+    assertThat(json.getString("status")).isEqualTo(debounced);
+    assertThat(json.getJsonObject("data").getString("debounced-status")).isEqualTo(debounced);
+    assertThat(json.getJsonObject("data").getString("raw-status")).isEqualTo(raw);
+  }
+
+  @Test
+  public void testRiseAndFallThresholds() {
+    handler.register("A", new ProcedureOptions().setFall(3).setRise(2),
+      future -> future.complete(healthy.get() ? Status.OK() : Status.KO()));
+
+    check(200, "UP", "UP");
+
+    healthy.set(false);
+    check(200, "UP", "DOWN");
+    check(200, "UP", "DOWN");
+    check(503, "DOWN", "DOWN");
+
+    healthy.set(true);
+    check(503, "DOWN", "UP");
+    check(200, "UP", "UP");
+  }
+
+  @Test
+  public void testFlappingProcedureStaysUp() {
+    handler.register("A", new ProcedureOptions().setFall(2),
+      future -> future.complete(healthy.getAndSet(!healthy.get()) ? Status.OK() : Status.KO()));
+
+    for (int i = 0; i < 3; i++) {
+      check(200, "UP", "UP");
+      check(200, "UP", "DOWN");
+    }
+  }
+
+  @Test
+  public void testFirstResultIsReportedAsIs() {
+    healthy.set(false);
+    handler.register("A", new ProcedureOptions().setFall(3).setRise(3),
+      future -> future.complete(healthy.get() ? Status.OK() : Status.KO()));
+
+    check(503, "DOWN", "DOWN");
+  }
+
+  @Test
+  public void testTimeoutsCountAsFailures() {
+    handler.register("A", new ProcedureOptions().setTimeout(100).setFall(2),
+      future -> {
+        if (healthy.get()) {
+          future.complete(Status.OK());
+        }
+      });
+
+    check(200, "UP", "UP");
+    healthy.set(false);
+    check(200, "UP", "DOWN");
+    // The timeout is reported as a procedure error
+    JsonObject json = get("A", 500);
+    assertThatCheck(json).hasStatusDown().hasData("procedure-execution-failure", true);
+  }
+
+  @Test
+  public void testWithoutThresholds() {
+    handler.register("A", future -> future.complete(healthy.get() ? Status.OK() : Status.KO()));
+
+    assertThat(get("A", 200).containsKey("data")).isFalse();
+    healthy.set(false);
+    assertThat(get("A", 503).containsKey("data")).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidThresholds() {
+    handler.register("A", new ProcedureOptions().setRise(0), future -> future.complete());
+  }
+}
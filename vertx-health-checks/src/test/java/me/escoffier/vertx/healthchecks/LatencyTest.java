@@ -0,0 +1,51 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class LatencyTest extends HealthCheckTestBase {
+
+  @Test
+  public void testLatenciesAreNotReportedByDefault() {
+    handler.register("A", future -> future.complete(Status.OK()));
+
+    JsonObject json = get(200);
+    assertThatCheck(json).hasAndGetCheck("A").hasStatusUp();
+    assertThat(json.getJsonArray("checks").getJsonObject(0).containsKey("data")).isFalse();
+  }
+
+  @Test
+  public void testLatenciesAreReportedOnDemand() {
+    handler
+      .register("A", future -> future.complete(Status.OK(new JsonObject().put("foo", "bar"))))
+      .register("group/B", future -> vertx.setTimer(100, l -> future.complete(Status.OK())));
+
+    get(200);
+    JsonObject json = get("?latencies=true", 200);
+
+    JsonObject a = json.getJsonArray("checks").getJsonObject(0);
+    JsonObject b = json.getJsonArray("checks").getJsonObject(1);
+    if (!"A".equals(a.getString("id"))) {
+      JsonObject tmp = a;
+      a = b;
+      b = tmp;
+    }
+    assertThat(a.getJsonObject("data").getString("foo")).isEqualTo("bar");
+    assertThat(a.getJsonObject("data").getJsonObject("latency").getLong("count")).isEqualTo(2L);
+
+    JsonObject latency = b.getJsonArray("checks").getJsonObject(0).getJsonObject("data").getJsonObject("latency");
+    assertThat(latency.getLong("count")).isEqualTo(2L);
+    assertThat(latency.getDouble("p50")).isGreaterThanOrEqualTo(80.0);
+    assertThat(latency.getDouble("max")).isGreaterThanOrEqualTo(latency.getDouble("p50"));
+
+    // Not reported anymore
+    json = get(200);
+    assertThat(json.encode()).doesNotContain("latency");
+  }
+}
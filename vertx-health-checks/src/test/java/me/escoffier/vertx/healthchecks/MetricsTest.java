@@ -0,0 +1,105 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+import me.escoffier.vertx.healthchecks.spi.InMemoryHealthCheckMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class MetricsTest {
+
+  private Vertx vertx;
+  private InMemoryHealthCheckMetrics metrics;
+  private HealthChecks healthChecks;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    metrics = new InMemoryHealthCheckMetrics();
+    healthChecks = HealthChecks.create(vertx, metrics)
+      .register("A", future -> future.complete(new Status().setOk(true).gauge("depth", 3)))
+      .register("group/B", future -> future.fail("boom"))
+      .register("group/C", new ProcedureOptions().setTimeout(50), future -> {
+        // Never completed
+      });
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testProcedureMetrics(TestContext tc) {
+    Async async = tc.async();
+    healthChecks.invoke(first -> healthChecks.invoke(second -> {
+      JsonObject json = metrics.toJson();
+
+      JsonObject a = json.getJsonObject("procedures").getJsonObject("A");
+      tc.assertEquals(2L, a.getLong("executions"));
+      tc.assertEquals(0L, a.getLong("down"));
+      tc.assertEquals(0L, a.getLong("in-flight"));
+      tc.assertEquals(2L, a.getJsonObject("latency").getLong("count"));
+      tc.assertEquals(3.0, a.getJsonObject("gauges").getDouble("depth"));
+
+      JsonObject b = json.getJsonObject("procedures").getJsonObject("group/B");
+      tc.assertEquals(2L, b.getLong("failures"));
+      tc.assertEquals(2L, b.getLong("down"));
+
+      JsonObject c = json.getJsonObject("procedures").getJsonObject("group/C");
+      tc.assertEquals(2L, c.getLong("timeouts"));
+      tc.assertEquals(0L, c.getLong("in-flight"));
+      tc.assertTrue(c.getJsonObject("latency").getDouble("max") >= 40.0);
+
+      tc.assertEquals(2L, json.getJsonObject("groups").getJsonObject("/").getLong("down"));
+      tc.assertEquals(2L, json.getJsonObject("groups").getJsonObject("group").getLong("executions"));
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testMetricsOfUnregisteredPathsAreDropped(TestContext tc) {
+    Async async = tc.async();
+    healthChecks.invoke(result -> {
+      healthChecks.unregister("group").unregister("A");
+      JsonObject json = metrics.toJson();
+      tc.assertTrue(json.getJsonObject("procedures").isEmpty());
+      tc.assertFalse(json.getJsonObject("groups").containsKey("group"));
+      tc.assertTrue(json.getJsonObject("groups").containsKey("/"));
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testInFlight(TestContext tc) {
+    healthChecks.invoke(json -> { });
+    JsonObject c = metrics.toJson().getJsonObject("procedures").getJsonObject("group/C");
+    tc.assertEquals(1L, c.getLong("in-flight"));
+  }
+
+  @Test
+  public void testHttpProbes(TestContext tc) {
+    Router router = Router.router(vertx);
+    router.get("/health*").handler(HealthCheckHandler.create(healthChecks));
+    Async async = tc.async();
+    vertx.createHttpServer().requestHandler(router::accept).listen(8080, tc.asyncAssertSuccess(server ->
+      vertx.createHttpClient().getNow(8080, "localhost", "/health/A", first -> first.bodyHandler(b1 ->
+        vertx.createHttpClient().getNow(8080, "localhost", "/health/missing", second -> second.bodyHandler(b2 -> {
+          JsonObject probes = metrics.toJson().getJsonObject("probes");
+          tc.assertEquals(1L, probes.getLong("200"));
+          tc.assertEquals(1L, probes.getLong("404"));
+          async.complete();
+        }))))));
+  }
+}
@@ -0,0 +1,191 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class MountTest {
+
+  private Vertx vertx;
+  private HealthChecks remote;
+  private HealthChecks local;
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicBoolean healthy = new AtomicBoolean(true);
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+
+    remote = HealthChecks.create(vertx)
+      .register("db", future -> {
+        calls.incrementAndGet();
+        future.complete(healthy.get() ? Status.OK() : Status.KO());
+      })
+      .register("queues/orders", future -> future.complete(Status.OK()));
+    HealthCheckService.create(vertx, remote, "remote-health");
+
+    Router router = Router.router(vertx);
+    router.get("/health*").handler(HealthCheckHandler.create(remote));
+    vertx.createHttpServer().requestHandler(router::accept).listen(8089, tc.asyncAssertSuccess());
+
+    local = HealthChecks.create(vertx)
+      .register("local", future -> future.complete(Status.OK()));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testMountOverTheEventBus(TestContext tc) {
+    local.mount("services/remote", new MountOptions().setAddress("remote-health"));
+
+    Async async = tc.async();
+    local.invoke(json -> {
+      assertThatCheck(json)
+        .hasOutcomeUp()
+        .hasChildren(2)
+        .hasAndGetCheck("services")
+        .hasAndGetCheck("remote").hasStatusUp().hasChildren(2)
+        .hasAndGetCheck("queues")
+        .hasAndGetCheck("orders").hasStatusUp();
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testMountOverHttp(TestContext tc) {
+    local.mount("remote", new MountOptions().setUrl("http://localhost:8089/health"));
+    healthy.set(false);
+
+    Async async = tc.async();
+    local.invoke(json -> {
+      assertThatCheck(json)
+        .hasOutcomeDown()
+        .hasAndGetCheck("remote").hasStatusDown()
+        .hasAndGetCheck("db").hasStatusDown();
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testMountOverHttpWithProcedureError(TestContext tc) {
+    // The remote handler answers 500, with the report in the body
+    remote.register("broken", future -> {
+      throw new IllegalStateException("boom");
+    });
+    local.mount("remote", new MountOptions().setUrl("http://localhost:8089/health"));
+
+    Async async = tc.async();
+    local.invoke(json -> {
+      assertThatCheck(json)
+        .hasOutcomeDown()
+        .hasAndGetCheck("remote").hasStatusDown().hasChildren(3)
+        .hasAndGetCheck("db").hasStatusUp();
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testRemoteCallIsBoundedByTheInvocationDeadline(TestContext tc) {
+    local.mount("remote", new MountOptions().setAddress("missing").setTimeout(10000));
+
+    long begin = System.currentTimeMillis();
+    local.invoke("remote", new InvocationOptions().setTimeout(100), tc.asyncAssertSuccess(json -> {
+      assertThatCheck(json).hasStatusDown();
+      tc.assertTrue(System.currentTimeMillis() - begin < 5000);
+    }));
+  }
+
+  @Test
+  public void testRemountReplacesTheMount(TestContext tc) {
+    local.mount("remote", new MountOptions().setUrl("http://localhost:8089/health"));
+    local.mount("remote", new MountOptions().setAddress("remote-health"));
+
+    Async async = tc.async();
+    local.invoke(json -> {
+      assertThatCheck(json).hasOutcomeUp().hasChildren(2)
+        .hasAndGetCheck("remote").hasStatusUp().hasChildren(2);
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testResultIsCached(TestContext tc) {
+    local.mount("remote", new MountOptions().setAddress("remote-health").setTtl(60000));
+
+    Async async = tc.async();
+    local.invoke(first -> local.invoke(second -> local.invoke(third -> {
+      tc.assertEquals(1, calls.get());
+      assertThatCheck(third).hasOutcomeUp().hasAndGetCheck("remote").hasStatusUp();
+      async.complete();
+    })));
+  }
+
+  @Test
+  public void testStaleResultIsReturnedWhileRefreshing(TestContext tc) {
+    local.mount("remote", new MountOptions().setAddress("remote-health").setTtl(50));
+
+    Async async = tc.async();
+    local.invoke(first -> {
+      healthy.set(false);
+      vertx.setTimer(100, l -> local.invoke(stale -> {
+        // The expired result is returned, and refreshed in the background
+        assertThatCheck(stale).hasOutcomeUp();
+        vertx.setTimer(100, x -> local.invoke(refreshed -> {
+          assertThatCheck(refreshed).hasOutcomeDown()
+            .hasAndGetCheck("remote").hasStatusDown();
+          tc.assertEquals(2, calls.get());
+          async.complete();
+        }));
+      }));
+    });
+  }
+
+  @Test
+  public void testUnreachableRemote(TestContext tc) {
+    local.mount("remote", new MountOptions().setAddress("missing").setTimeout(100));
+
+    Async async = tc.async();
+    local.invoke(json -> {
+      assertThatCheck(json).hasOutcomeDown()
+        .hasAndGetCheck("remote").hasStatusDown();
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testUnmount(TestContext tc) {
+    local.mount("remote", new MountOptions().setUrl("http://localhost:8089/health"));
+    local.unregister("remote");
+
+    Async async = tc.async();
+    local.invoke(json -> {
+      assertThatCheck(json).hasOutcomeUp().hasChildren(1);
+      async.complete();
+    });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingLocation() {
+    local.mount("remote", new MountOptions());
+  }
+}
@@ -0,0 +1,100 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class SharedHealthChecksTest {
+
+  private static final AtomicInteger CALLS = new AtomicInteger();
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp(TestContext tc) {
+    CALLS.set(0);
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testSameInstanceIsReturned(TestContext tc) {
+    tc.assertTrue(HealthChecks.shared(vertx) == HealthChecks.shared(vertx));
+    tc.assertTrue(HealthChecks.shared(vertx) == HealthChecks.shared(vertx, HealthChecks.DEFAULT_SHARED_NAME));
+    tc.assertTrue(HealthChecks.shared(vertx, "a") == HealthChecks.shared(vertx, "a"));
+    tc.assertFalse(HealthChecks.shared(vertx, "a") == HealthChecks.shared(vertx, "b"));
+
+    Vertx other = Vertx.vertx();
+    try {
+      tc.assertFalse(HealthChecks.shared(vertx) == HealthChecks.shared(other));
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test
+  public void testProceduresAreExecutedOncePerInvocation(TestContext tc) {
+    Async async = tc.async();
+    vertx.deployVerticle(MyVerticle.class.getName(), new DeploymentOptions().setInstances(4),
+      tc.asyncAssertSuccess(id ->
+        HealthChecks.shared(vertx).invoke(json -> {
+          assertThatCheck(json).hasOutcomeUp().hasChildren(1);
+          tc.assertEquals(1, CALLS.get());
+          async.complete();
+        })));
+  }
+
+  @Test
+  public void testSharedExecutionsCompleteOnTheCallerContext(TestContext tc) {
+    HealthChecks healthChecks = HealthChecks.shared(vertx);
+    healthChecks.register("slow", future -> {
+      CALLS.incrementAndGet();
+      // Completed on the context of the first invocation
+      vertx.setTimer(100, l -> future.complete(Status.OK()));
+    });
+
+    Async async = tc.async(2);
+    Context first = vertx.getOrCreateContext();
+    Context second = vertx.getOrCreateContext();
+    for (Context context : Arrays.asList(first, second)) {
+      context.runOnContext(v -> healthChecks.invoke(json -> {
+        assertThatCheck(json).hasOutcomeUp();
+        tc.assertTrue(Vertx.currentContext() == context);
+        tc.assertEquals(1, CALLS.get());
+        async.countDown();
+      }));
+    }
+  }
+
+  public static class MyVerticle extends AbstractVerticle {
+    @Override
+    public void start() {
+      HealthChecks.shared(vertx).register("A", future -> {
+        CALLS.incrementAndGet();
+        future.complete(Status.OK());
+      });
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.impl.StatusHelper;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class StatusTest {
+
+  @Test
+  public void testGauges() {
+    Status status = new Status().setOk(true)
+      .gauge("depth", 42)
+      .gauge("usage", 0.75);
+
+    assertThat(status.gaugeCount()).isEqualTo(2);
+    assertThat(status.gaugeName(0)).isEqualTo("depth");
+    assertThat(status.gaugeIsLong(0)).isTrue();
+    assertThat(status.gaugeLong(0)).isEqualTo(42L);
+    assertThat(status.gaugeDouble(0)).isEqualTo(42.0);
+    assertThat(status.gaugeName(1)).isEqualTo("usage");
+    assertThat(status.gaugeIsLong(1)).isFalse();
+    assertThat(status.gaugeDouble(1)).isEqualTo(0.75);
+    assertThat(status.gaugeIndex("usage")).isEqualTo(1);
+    assertThat(status.gaugeIndex("missing")).isEqualTo(-1);
+    // Gauges are not data
+    assertThat(status.hasData()).isFalse();
+  }
+
+  @Test
+  public void testGaugesAreReplacedAndGrow() {
+    Status status = new Status();
+    for (int i = 0; i < 10; i++) {
+      status.gauge("g" + i, i);
+    }
+    status.gauge("g3", 3.5);
+
+    assertThat(status.gaugeCount()).isEqualTo(10);
+    assertThat(status.gaugeIsLong(3)).isFalse();
+    assertThat(status.gaugeDouble(3)).isEqualTo(3.5);
+    assertThat(status.gaugeLong(9)).isEqualTo(9L);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testInvalidGaugeIndex() {
+    new Status().gauge("a", 1).gaugeName(1);
+  }
+
+  @Test
+  public void testFactoryStatusesAcceptGauges() {
+    Status status = Status.OK().gauge("a", 1);
+    assertThat(status.gaugeCount()).isEqualTo(1);
+    assertThat(Status.OK().gaugeCount()).isZero();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSharedStatusesHaveNoGauges() {
+    Status.UP.gauge("a", 1);
+  }
+
+  @Test
+  public void testSharedStatusesCannotBeModified() {
+    assertThat(Status.UP.isOk()).isTrue();
+    assertThat(Status.DOWN.isOk()).isFalse();
+    assertThat(Status.UP.hasData()).isFalse();
+    assertThat(Status.UP.getData()).isEmpty();
+    Status.UP.getData().put("foo", "bar");
+    assertThat(Status.UP.hasData()).isFalse();
+
+    for (Runnable mutation : new Runnable[]{
+      () -> Status.UP.setOk(false),
+      Status.DOWN::setOK,
+      () -> Status.UP.setData(new JsonObject()),
+      () -> Status.DOWN.setProcedureInError(true)}) {
+      try {
+        mutation.run();
+        fail("The shared statuses must not be modified");
+      } catch (IllegalStateException e) {
+        // Expected
+      }
+    }
+    assertThat(Status.UP.isOk()).isTrue();
+    assertThat(Status.DOWN.isProcedureInError()).isFalse();
+
+    // Copies can be modified
+    assertThat(new Status(Status.UP).setData(new JsonObject().put("foo", "bar")).hasData()).isTrue();
+  }
+
+  @Test
+  public void testCopyAndJson() {
+    Status status = new Status().setOk(true).gauge("depth", 42).gauge("usage", 0.5);
+
+    Status copy = new Status(status);
+    status.gauge("depth", 1);
+    assertThat(copy.gaugeLong(0)).isEqualTo(42L);
+
+    Status decoded = new Status(copy.toJson());
+    assertThat(decoded.isOk()).isTrue();
+    assertThat(decoded.gaugeCount()).isEqualTo(2);
+    assertThat(decoded.gaugeLong(decoded.gaugeIndex("depth"))).isEqualTo(42L);
+    assertThat(decoded.gaugeIsLong(decoded.gaugeIndex("usage"))).isFalse();
+    assertThat(decoded.gaugeDouble(decoded.gaugeIndex("usage"))).isEqualTo(0.5);
+  }
+
+  @Test
+  public void testGaugesAreReportedInTheData() {
+    Status status = Status.KO(new JsonObject().put("foo", "bar"))
+      .gauge("depth", 42)
+      .gauge("usage", 0.5);
+
+    JsonObject json = StatusHelper.from("queue", Future.succeededFuture(status));
+    assertThat(json.getString("status")).isEqualTo("DOWN");
+    JsonObject data = json.getJsonObject("data");
+    assertThat(data.getString("foo")).isEqualTo("bar");
+    assertThat(data.getLong("depth")).isEqualTo(42L);
+    assertThat(data.getDouble("usage")).isEqualTo(0.5);
+    // The data of the status is not modified
+    assertThat(status.getData().fieldNames()).containsExactly("foo");
+
+    json = StatusHelper.from("queue", Future.succeededFuture(new Status().setOk(true).gauge("depth", 1)));
+    assertThat(json.getJsonObject("data").getLong("depth")).isEqualTo(1L);
+  }
+}
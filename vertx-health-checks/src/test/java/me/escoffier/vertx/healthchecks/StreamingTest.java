@@ -0,0 +1,101 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class StreamingTest extends HealthCheckTestBase {
+
+  private static List<JsonObject> stream(String path) {
+    String body = RestAssured.given()
+      .header("Accept", "application/x-ndjson")
+      .get(path)
+      .then()
+      .statusCode(200)
+      .header("content-type", "application/x-ndjson;charset=UTF-8")
+      .extract().asString();
+    List<JsonObject> lines = new ArrayList<>();
+    for (String line : body.split("\n")) {
+      if (!line.trim().isEmpty()) {
+        lines.add(new JsonObject(line));
+      }
+    }
+    return lines;
+  }
+
+  @Test
+  public void testResultsAreStreamedAsTheyComplete() {
+    handler
+      .register("fast", future -> future.complete(Status.OK()))
+      .register("sub/slow", future -> vertx.setTimer(200, l -> future.complete(Status.KO())));
+
+    List<JsonObject> lines = stream("/health");
+    assertThat(lines).hasSize(3);
+
+    assertThatCheck(lines.get(0)).hasId("fast").hasStatusUp();
+    assertThat(lines.get(0).getString("path")).isEqualTo("fast");
+    assertThatCheck(lines.get(1)).hasId("slow").hasStatusDown();
+    assertThat(lines.get(1).getString("path")).isEqualTo("sub/slow");
+
+    assertThatCheck(lines.get(2)).hasOutcomeDown();
+    assertThat(lines.get(2).getInteger("code")).isEqualTo(503);
+  }
+
+  @Test
+  public void testStreamingASubTreeUsingTheParameter() {
+    handler
+      .register("sub/A", future -> future.complete(Status.OK()))
+      .register("sub/B", future -> future.complete(Status.OK()))
+      .register("other", future -> future.complete(Status.KO()));
+
+    String body = RestAssured.given()
+      .param("stream", "true")
+      .get("/health/sub")
+      .then()
+      .statusCode(200)
+      .extract().asString();
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(3);
+    assertThat(body).contains("\"path\":\"sub/A\"", "\"path\":\"sub/B\"").doesNotContain("other");
+    assertThatCheck(new JsonObject(lines[2])).hasOutcomeUp();
+  }
+
+  @Test
+  public void testStreamingWithAFailingProcedure() {
+    handler.register("foo", future -> {
+      throw new IllegalArgumentException("BOOM");
+    });
+
+    List<JsonObject> lines = stream("/health");
+    assertThat(lines).hasSize(2);
+    assertThatCheck(lines.get(0)).isDown().hasData("cause", "BOOM");
+    assertThat(lines.get(1).getInteger("code")).isEqualTo(500);
+  }
+
+  @Test
+  public void testStreamingWithoutProcedures() {
+    RestAssured.given()
+      .header("Accept", "application/x-ndjson")
+      .get("/health")
+      .then()
+      .statusCode(204);
+  }
+
+  @Test
+  public void testStreamingAMissingProcedure() {
+    RestAssured.given()
+      .header("Accept", "application/x-ndjson")
+      .get("/health/missing")
+      .then()
+      .statusCode(404);
+  }
+}
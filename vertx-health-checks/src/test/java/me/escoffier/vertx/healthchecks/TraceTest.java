@@ -0,0 +1,83 @@
+package me.escoffier.vertx.healthchecks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static me.escoffier.vertx.healthchecks.Assertions.assertThatCheck;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class TraceTest extends HealthCheckTestBase {
+
+  private static Map<String, JsonObject> entries(JsonArray trace) {
+    Map<String, JsonObject> entries = new HashMap<>();
+    for (int i = 0; i < trace.size(); i++) {
+      JsonObject entry = trace.getJsonObject(i);
+      entries.put(entry.getString("path"), entry);
+    }
+    return entries;
+  }
+
+  @Test
+  public void testNoTraceByDefault() {
+    handler.register("A", future -> future.complete(Status.OK()));
+
+    assertThat(get(200).containsKey("trace")).isFalse();
+  }
+
+  @Test
+  public void testTrace() {
+    handler
+      .register("fast", future -> future.complete(Status.OK()))
+      .register("group/slow", future -> vertx.setTimer(100, l -> future.complete(Status.OK())))
+      .register("group/stuck", new ProcedureOptions().setTimeout(200), future -> {
+        // Never completed
+      });
+
+    JsonObject json = get("?trace=true", 500);
+    // The regular report is still there
+    assertThatCheck(json).hasOutcomeDown().hasChildren(2);
+
+    Map<String, JsonObject> entries = entries(json.getJsonArray("trace"));
+    assertThat(entries).containsOnlyKeys("/", "fast", "group", "group/slow", "group/stuck");
+
+    JsonObject fast = entries.get("fast");
+    assertThat(fast.getString("type")).isEqualTo("procedure");
+    assertThat(fast.getBoolean("timeout")).isFalse();
+    assertThat(fast.getDouble("started")).isGreaterThanOrEqualTo(fast.getDouble("scheduled"));
+
+    JsonObject slow = entries.get("group/slow");
+    assertThat(slow.getDouble("duration")).isGreaterThanOrEqualTo(90.0);
+    assertThat(slow.getBoolean("timeout")).isFalse();
+
+    JsonObject stuck = entries.get("group/stuck");
+    assertThat(stuck.getBoolean("timeout")).isTrue();
+    assertThat(stuck.getDouble("duration")).isGreaterThanOrEqualTo(190.0);
+
+    JsonObject group = entries.get("group");
+    assertThat(group.getString("type")).isEqualTo("group");
+    assertThat(group.getDouble("duration")).isGreaterThanOrEqualTo(stuck.getDouble("duration"));
+    assertThat(group.getDouble("aggregation")).isGreaterThanOrEqualTo(0.0);
+
+    JsonObject root = entries.get("/");
+    assertThat(root.getDouble("scheduled")).isLessThan(10.0);
+    assertThat(root.getDouble("duration")).isGreaterThanOrEqualTo(group.getDouble("duration"));
+  }
+
+  @Test
+  public void testTraceOfASingleProcedure() {
+    handler.register("group/A", future -> future.complete(Status.KO()));
+
+    JsonObject json = get("group/A?trace=true", 503);
+    assertThatCheck(json).hasId("A").hasStatusDown();
+    JsonArray trace = json.getJsonArray("trace");
+    assertThat(trace).hasSize(1);
+    assertThat(trace.getJsonObject(0).getString("path")).isEqualTo("group/A");
+  }
+}
@@ -0,0 +1,242 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import me.escoffier.vertx.healthchecks.HealthCheckHandler;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
+import me.escoffier.vertx.healthchecks.Status;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks the bytes allocated per invocation and per HTTP probe against the budgets recorded in
+ * {@code allocation-budgets.properties}, using the allocation counters of the JVM. The budgets depend on the JVM, so
+ * the checks are skipped on a JVM other than the one named by the {@code jvm} property of the file.
+ * <p>
+ * Run with {@code -Dallocation-budgets.record=true} to record new budgets instead: the measured values plus
+ * {@link #MARGIN} and the name of the current JVM are written to {@code target/allocation-budgets.properties}.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class AllocationBudgetTest {
+
+  private static final int WARMUP = 2_000;
+  private static final int ITERATIONS = 1_000;
+
+  /**
+   * The margin added to the measured values when recording the budgets: 25%.
+   */
+  private static final double MARGIN = 0.25;
+
+  private static final boolean RECORD = Boolean.getBoolean("allocation-budgets.record");
+  private static final Properties RECORDED = new Properties();
+
+  private com.sun.management.ThreadMXBean threads;
+  private Properties budgets;
+  private Vertx vertx;
+
+  private JsonObject result;
+
+  @Before
+  public void setUp() throws Exception {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    budgets = new Properties();
+    try (InputStream stream = getClass().getResourceAsStream("/allocation-budgets.properties")) {
+      budgets.load(stream);
+    }
+    if (!RECORD) {
+      assumeTrue("The allocation budgets have been recorded on another JVM", jvm().equals(budgets.getProperty("jvm")));
+    }
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    close(vertx);
+  }
+
+  @AfterClass
+  public static void record() throws Exception {
+    if (RECORD && !RECORDED.isEmpty()) {
+      File file = new File("target/allocation-budgets.properties");
+      file.getParentFile().mkdirs();
+      RECORDED.setProperty("jvm", jvm());
+      try (OutputStream stream = new FileOutputStream(file)) {
+        RECORDED.store(stream, "Measured allocations plus " + (int) (MARGIN * 100) + "% on " + jvm());
+      }
+    }
+  }
+
+  @Test
+  public void testInvocationOfFlatTrees() {
+    HealthChecks small = tree(10, false);
+    assertWithinBudget("invoke.flat.10", measure(() -> small.invoke(this::completed)));
+    HealthChecks large = tree(100, false);
+    assertWithinBudget("invoke.flat.100", measure(() -> large.invoke(this::completed)));
+  }
+
+  @Test
+  public void testInvocationOfDeepTree() {
+    HealthChecks healthChecks = tree(100, true);
+    assertWithinBudget("invoke.deep.100", measure(() -> healthChecks.invoke(this::completed)));
+  }
+
+  @Test
+  public void testInvocationOfAProcedure() {
+    HealthChecks healthChecks = tree(100, true);
+    Handler<AsyncResult<JsonObject>> handler = ar -> completed(ar.result());
+    assertWithinBudget("invoke.procedure", measure(() -> healthChecks.invoke("g2/g1/p9", handler)));
+  }
+
+  @Test
+  public void testStatusWithData() {
+    JsonObject up = StatusHelper.from("my-procedure", true);
+    JsonObject down = StatusHelper.from("my-procedure", false);
+    AsyncResult<Status> ok = Future.succeededFuture(Status.OK(new JsonObject().put("connections", 10)));
+    assertWithinBudget("status-helper.data",
+      measure(() -> completed(StatusHelper.from("my-procedure", ok, up, down))));
+  }
+
+  @Test
+  public void testHttpProbe() throws Exception {
+    // The server has a single event loop, so the allocations of the probes are counted on a single thread
+    Vertx server = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+    try {
+      Router router = Router.router(server);
+      router.get("/health*").handler(HealthCheckHandler.create(tree(server, 10, false)));
+      CompletableFuture<Thread> eventLoop = new CompletableFuture<>();
+      HttpServer httpServer = server.createHttpServer().requestHandler(router::accept).listen(0, ar -> {
+        if (ar.succeeded()) {
+          eventLoop.complete(Thread.currentThread());
+        } else {
+          eventLoop.completeExceptionally(ar.cause());
+        }
+      });
+      long id = eventLoop.get(10, TimeUnit.SECONDS).getId();
+      int port = httpServer.actualPort();
+      HttpClient client = vertx.createHttpClient();
+
+      probe(client, port, WARMUP);
+      long before = threads.getThreadAllocatedBytes(id);
+      probe(client, port, ITERATIONS);
+      long allocated = threads.getThreadAllocatedBytes(id) - before;
+
+      assertWithinBudget("http.probe.10", allocated / ITERATIONS);
+    } finally {
+      close(server);
+    }
+  }
+
+  private void probe(HttpClient client, int port, int count) throws Exception {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    AtomicReference<Handler<Integer>> next = new AtomicReference<>();
+    next.set(remaining -> {
+      if (remaining == 0) {
+        done.complete(null);
+        return;
+      }
+      client.getNow(port, "localhost", "/health", response -> response.bodyHandler(body -> {
+        if (response.statusCode() == 200) {
+          next.get().handle(remaining - 1);
+        } else {
+          done.completeExceptionally(new AssertionError("Unexpected status code: " + response.statusCode()));
+        }
+      }));
+    });
+    vertx.runOnContext(v -> next.get().handle(count));
+    done.get(60, TimeUnit.SECONDS);
+  }
+
+  /**
+   * @return the name and version of the current JVM, such as {@code OpenJDK 64-Bit Server VM 1.8.0_121}
+   */
+  private static String jvm() {
+    return System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+  }
+
+  private void completed(JsonObject json) {
+    result = json;
+  }
+
+  /**
+   * @return the average number of bytes allocated by the current thread per execution of the operation
+   */
+  private long measure(Runnable operation) {
+    for (int i = 0; i < WARMUP; i++) {
+      operation.run();
+    }
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+    long allocated = threads.getThreadAllocatedBytes(id) - before;
+    assertThat(result).isNotNull();
+    return allocated / ITERATIONS;
+  }
+
+  private void assertWithinBudget(String name, long allocated) {
+    if (RECORD) {
+      RECORDED.setProperty(name, Long.toString(Math.round(allocated * (1 + MARGIN))));
+      return;
+    }
+    String budget = budgets.getProperty(name);
+    assertThat(budget).as("The allocation budget of %s", name).isNotNull();
+    assertThat(allocated)
+      .as("Bytes allocated per operation by %s, the budget is %s bytes", name, budget)
+      .isLessThanOrEqualTo(Long.parseLong(budget));
+  }
+
+  private HealthChecks tree(int size, boolean deep) {
+    return tree(vertx, size, deep);
+  }
+
+  /**
+   * Creates a tree of synchronous procedures. Deep trees spread the procedures over 2 levels of 4 groups. As in the
+   * benchmarks, the procedures have no timeout, so the timers do not dominate the measures.
+   */
+  private static HealthChecks tree(Vertx vertx, int size, boolean deep) {
+    HealthChecks healthChecks = HealthChecks.create(vertx);
+    ProcedureOptions options = new ProcedureOptions().setTimeout(-1);
+    for (int i = 0; i < size; i++) {
+      String name = deep ? "g" + (i / 4 % 4) + "/g" + (i % 4) + "/p" + i : "p" + i;
+      healthChecks.register(name, options, future -> future.complete(Status.UP));
+    }
+    return healthChecks;
+  }
+
+  private static void close(Vertx vertx) throws Exception {
+    CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(ar -> closed.complete(null));
+    closed.get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,154 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.ProcedureOptions;
+import me.escoffier.vertx.healthchecks.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the procedures completed with the shared statuses allocate no {@link Status}, and that the results of
+ * the procedures completed without data are reused, using the allocation counters of the JVM on real invocations.
+ *
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class StatusAllocationTest {
+
+  private static final int WARMUP = 10_000;
+  private static final int ITERATIONS = 10_000;
+
+  private com.sun.management.ThreadMXBean threads;
+  private Vertx vertx;
+  private JsonObject result;
+  private Status[] statuses;
+
+  @Before
+  public void setUp() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(ar -> closed.complete(null));
+    closed.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testFactoryStatusesAreMutable() {
+    assertThat(Status.OK()).isNotSameAs(Status.OK()).isNotSameAs(Status.UP);
+    assertThat(Status.KO()).isNotSameAs(Status.KO());
+    assertThat(Status.OK().isOk()).isTrue();
+    assertThat(Status.KO().isOk()).isFalse();
+    assertThat(Status.OK().hasData()).isFalse();
+    assertThat(Status.OK().getData()).isNotNull().isEmpty();
+    assertThat(Status.OK().setData(new JsonObject().put("foo", "bar")).hasData()).isTrue();
+    assertThat(Status.KO().setProcedureInError(true).isProcedureInError()).isTrue();
+  }
+
+  @Test
+  public void testDataLessResultsAreReused() {
+    JsonObject up = StatusHelper.from("my-procedure", true);
+    JsonObject down = StatusHelper.from("my-procedure", false);
+
+    assertThat(StatusHelper.from("my-procedure", Future.succeededFuture(Status.OK()), up, down)).isSameAs(up);
+    assertThat(StatusHelper.from("my-procedure", Future.succeededFuture(Status.KO()), up, down)).isSameAs(down);
+    assertThat(StatusHelper.from("my-procedure", Future.succeededFuture(), up, down)).isSameAs(up);
+    assertThat(StatusHelper.from("my-procedure", Future.succeededFuture(Status.UP), up, down)).isSameAs(up);
+    assertThat(StatusHelper.from("my-procedure", Future.succeededFuture(Status.DOWN), up, down)).isSameAs(down);
+  }
+
+  @Test
+  public void testStatusesWithDataAreNotShared() {
+    JsonObject up = StatusHelper.from("my-procedure", true);
+    JsonObject down = StatusHelper.from("my-procedure", false);
+
+    JsonObject json = StatusHelper.from("my-procedure",
+      Future.succeededFuture(Status.OK(new JsonObject().put("foo", "bar"))), up, down);
+    assertThat(json).isNotSameAs(up);
+    assertThat(json.getJsonObject("data").getString("foo")).isEqualTo("bar");
+
+    json = StatusHelper.from("my-procedure", Future.succeededFuture(Status.OK().gauge("depth", 1)), up, down);
+    assertThat(json).isNotSameAs(up);
+    assertThat(json.getJsonObject("data").getLong("depth")).isEqualTo(1L);
+
+    json = StatusHelper.from("my-procedure", Future.failedFuture("boom"), up, down);
+    assertThat(json).isNotSameAs(down);
+    assertThat(json.getString("status")).isEqualTo("DOWN");
+  }
+
+  @Test
+  public void testInvocationOfADataLessProcedure() {
+    // Without timeout, the whole invocation runs on the calling thread
+    HealthChecks healthChecks = HealthChecks.create(vertx)
+      .register("shared", new ProcedureOptions().setTimeout(-1), future -> future.complete(Status.UP))
+      .register("created", new ProcedureOptions().setTimeout(-1), future -> future.complete(Status.OK()));
+
+    long shared = measure(healthChecks, "shared");
+    assertThat(result.getString("status")).isEqualTo("UP");
+    assertThat(result.containsKey("data")).isFalse();
+
+    long created = measure(healthChecks, "created");
+    assertThat(result.getString("status")).isEqualTo("UP");
+
+    // Both invocations follow the same path, except for the status created by the procedure. So, if the engine
+    // allocated a status on the data-less path, the shared invocation would allocate as much as the other one.
+    assertThat(created - shared)
+      .as("Bytes saved per invocation by the shared status (%s bytes, %s bytes with a created status)",
+        shared, created)
+      .isGreaterThanOrEqualTo(statusSize());
+  }
+
+  /**
+   * @return the number of bytes allocated for a {@link Status} without data
+   */
+  private long statusSize() {
+    statuses = new Status[ITERATIONS];
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < ITERATIONS; i++) {
+      statuses[i] = Status.OK();
+    }
+    long allocated = threads.getThreadAllocatedBytes(id) - before;
+    statuses = null;
+    return allocated / ITERATIONS;
+  }
+
+  /**
+   * @return the average number of bytes allocated by the current thread per invocation of the procedure
+   */
+  private long measure(HealthChecks healthChecks, String name) {
+    result = null;
+    Handler<AsyncResult<JsonObject>> handler = ar -> result = ar.result();
+    for (int i = 0; i < WARMUP; i++) {
+      healthChecks.invoke(name, handler);
+    }
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < ITERATIONS; i++) {
+      healthChecks.invoke(name, handler);
+    }
+    long allocated = threads.getThreadAllocatedBytes(id) - before;
+    assertThat(result).isNotNull();
+    return allocated / ITERATIONS;
+  }
+}
@@ -0,0 +1,39 @@
+package me.escoffier.vertx.healthchecks.impl;
+
+import io.vertx.core.json.JsonArray;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class StatusHistoryTest {
+
+  @Test
+  public void testOldestResultsAreReplaced() {
+    StatusHistory history = new StatusHistory(3);
+    for (int i = 0; i < 5; i++) {
+      history.record(i, i % 2 == 0, i * 1_000_000L, i == 4 ? StatusHistory.TIMEOUT : StatusHistory.NO_ERROR);
+    }
+
+    JsonArray json = history.toJson();
+    assertThat(json).hasSize(3);
+    assertThat(json.getJsonObject(0).getLong("timestamp")).isEqualTo(2L);
+    assertThat(json.getJsonObject(0).getString("status")).isEqualTo("UP");
+    assertThat(json.getJsonObject(0).getDouble("latency")).isEqualTo(2.0);
+    assertThat(json.getJsonObject(1).getString("status")).isEqualTo("DOWN");
+    assertThat(json.getJsonObject(2).getLong("timestamp")).isEqualTo(4L);
+    assertThat(json.getJsonObject(2).getString("error")).isEqualTo("timeout");
+  }
+
+  @Test
+  public void testEmptyHistory() {
+    assertThat(new StatusHistory(3).toJson()).isEmpty();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new StatusHistory(0);
+  }
+}
@@ -0,0 +1,89 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class DiskSpaceProcedureTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private String path;
+
+  @Before
+  public void setUp(TestContext tc) throws Exception {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    healthChecks = HealthChecks.create(vertx);
+    path = folder.newFolder().getAbsolutePath();
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testUsableSpace(TestContext tc) {
+    healthChecks.register("disk", DiskSpaceProcedure.create(vertx,
+      new DiskSpaceOptions().addPath(path).setMinUsablePercentage(0)));
+    healthChecks.invoke("disk", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      JsonObject entry = data.getJsonObject(path);
+      tc.assertTrue(entry.getLong("total") > 0);
+      tc.assertTrue(entry.getLong("usable") <= entry.getLong("total"));
+      tc.assertTrue(entry.getBoolean("writable"));
+      tc.assertEquals(entry.getLong("usable"), data.getLong(path + ":usable"));
+    }));
+  }
+
+  @Test
+  public void testThresholdInBytes(TestContext tc) {
+    healthChecks.register("disk", DiskSpaceProcedure.create(vertx,
+      new DiskSpaceOptions().addPath(path).setMinUsablePercentage(0).setMinUsableSpace(Long.MAX_VALUE)));
+    healthChecks.invoke("disk", tc.asyncAssertSuccess(json -> tc.assertEquals("DOWN", json.getString("status"))));
+  }
+
+  @Test
+  public void testThresholdInPercent(TestContext tc) {
+    healthChecks.register("disk", DiskSpaceProcedure.create(vertx,
+      new DiskSpaceOptions().addPath(path).setMinUsablePercentage(101)));
+    healthChecks.invoke("disk", tc.asyncAssertSuccess(json -> tc.assertEquals("DOWN", json.getString("status"))));
+  }
+
+  @Test
+  public void testMissingPath(TestContext tc) {
+    String missing = new File(path, "missing").getAbsolutePath();
+    healthChecks.register("disk", DiskSpaceProcedure.create(vertx,
+      new DiskSpaceOptions().addPath(path).addPath(missing).setMinUsablePercentage(0)));
+    healthChecks.invoke("disk", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      tc.assertTrue(data.getJsonObject(missing).containsKey("error"));
+      tc.assertTrue(data.getJsonObject(path).getBoolean("writable"));
+    }));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWithoutPaths() {
+    DiskSpaceProcedure.create(vertx, new DiskSpaceOptions());
+  }
+}
@@ -0,0 +1,105 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class EventLoopLagProcedureTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private EventLoopLagProcedure procedure;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(2));
+    vertx.exceptionHandler(tc.exceptionHandler());
+    procedure = EventLoopLagProcedure.create(vertx, new EventLoopLagOptions()
+      .setEventLoops(2)
+      .setInterval(10)
+      .setWindow(2000)
+      .setMaxLag(100));
+    healthChecks = HealthChecks.create(vertx).register("event-loops", procedure);
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    procedure.close();
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testLagOfIdleEventLoops(TestContext tc) {
+    Async async = tc.async();
+    vertx.setTimer(300, l -> healthChecks.invoke("event-loops", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      JsonObject loops = data.getJsonObject("loops");
+      tc.assertEquals(2, loops.size());
+      for (String loop : loops.fieldNames()) {
+        JsonObject lag = loops.getJsonObject(loop);
+        tc.assertTrue(lag.getDouble("max") < 100.0);
+        tc.assertTrue(lag.getDouble("p50") <= lag.getDouble("p99"));
+      }
+      tc.assertTrue(data.getDouble("max-lag") < 100.0);
+      async.complete();
+    })));
+  }
+
+  @Test
+  public void testBlockedEventLoop(TestContext tc) {
+    Async async = tc.async();
+    vertx.setTimer(100, l -> {
+      // Blocks the event loop running this timer
+      sleep(300);
+      vertx.setTimer(50, x -> healthChecks.invoke("event-loops", tc.asyncAssertSuccess(json -> {
+        tc.assertEquals("DOWN", json.getString("status"));
+        tc.assertTrue(json.getJsonObject("data").getDouble("max-lag") >= 200.0);
+        async.complete();
+      })));
+    });
+  }
+
+  @Test
+  public void testMoreSamplersThanEventLoops(TestContext tc) {
+    EventLoopLagProcedure extra = EventLoopLagProcedure.create(vertx, new EventLoopLagOptions()
+      .setEventLoops(5)
+      .setInterval(10)
+      .setWindow(2000)
+      .setMaxLag(100));
+    healthChecks.register("extra", extra);
+    Async async = tc.async();
+    vertx.setTimer(300, l -> healthChecks.invoke("extra", tc.asyncAssertSuccess(json -> {
+      extra.close();
+      tc.assertEquals("UP", json.getString("status"));
+      // A single window per event loop
+      tc.assertEquals(2, json.getJsonObject("data").getJsonObject("loops").size());
+      async.complete();
+    })));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidOptions() {
+    EventLoopLagProcedure.create(vertx, new EventLoopLagOptions().setInterval(100).setWindow(10));
+  }
+
+  private static void sleep(long ms) {
+    try {
+      Thread.sleep(ms);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
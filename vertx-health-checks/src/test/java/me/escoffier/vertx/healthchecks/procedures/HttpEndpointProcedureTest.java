@@ -0,0 +1,148 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class HttpEndpointProcedureTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+
+  private final AtomicInteger connections = new AtomicInteger();
+  private int port;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    healthChecks = HealthChecks.create(vertx);
+
+    vertx.createHttpServer()
+      .connectionHandler(connection -> connections.incrementAndGet())
+      .requestHandler(request -> {
+        switch (request.path()) {
+          case "/unavailable":
+            request.response().setStatusCode(503).end();
+            break;
+          case "/missing":
+            request.response().setStatusCode(404).end();
+            break;
+          case "/slow":
+            vertx.setTimer(200, l -> request.response().end("OK"));
+            break;
+          case "/hang":
+            // Never answers
+            break;
+          default:
+            request.response().end("OK");
+        }
+      })
+      .listen(0, tc.asyncAssertSuccess(server -> port = server.actualPort()));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  private HttpEndpointOptions options(String uri) {
+    return new HttpEndpointOptions().setPort(port).setUri(uri);
+  }
+
+  @Test
+  public void testAvailableEndpoint(TestContext tc) {
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx, options("/")));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      tc.assertEquals(200, data.getInteger("status-code"));
+      tc.assertTrue(data.getDouble("latency") >= 0);
+    }));
+  }
+
+  @Test
+  public void testUnexpectedStatus(TestContext tc) {
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx, options("/unavailable")));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      tc.assertEquals(503, json.getJsonObject("data").getInteger("status-code"));
+      tc.assertNotNull(json.getJsonObject("data").getString("error"));
+    }));
+  }
+
+  @Test
+  public void testExpectedStatus(TestContext tc) {
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx,
+      options("/unavailable").addExpectedStatus(503)));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(json ->
+      tc.assertEquals("UP", json.getString("status"))));
+  }
+
+  @Test
+  public void testMaxStatus(TestContext tc) {
+    healthChecks
+      .register("default", HttpEndpointProcedure.create(vertx, options("/missing")))
+      .register("reachable", HttpEndpointProcedure.create(vertx, options("/missing").setMaxStatus(499)));
+    healthChecks.invoke("default", tc.asyncAssertSuccess(json ->
+      tc.assertEquals("DOWN", json.getString("status"))));
+    healthChecks.invoke("reachable", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("status"));
+      tc.assertEquals(404, json.getJsonObject("data").getInteger("status-code"));
+    }));
+  }
+
+  @Test
+  public void testLatencyThreshold(TestContext tc) {
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx, options("/slow").setMaxLatency(50)));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      tc.assertEquals(200, data.getInteger("status-code"));
+      tc.assertTrue(data.getDouble("latency") >= 50);
+      tc.assertTrue(data.getString("error").contains("latency"));
+    }));
+  }
+
+  @Test
+  public void testTimeout(TestContext tc) {
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx, options("/hang").setTimeout(100)));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      tc.assertNotNull(json.getJsonObject("data").getString("error"));
+    }));
+  }
+
+  @Test
+  public void testUnreachableEndpoint(TestContext tc) {
+    // Nothing listens on the port 1
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx, new HttpEndpointOptions().setPort(1)));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      tc.assertNotNull(json.getJsonObject("data").getString("error"));
+    }));
+  }
+
+  @Test
+  public void testConnectionIsReused(TestContext tc) {
+    healthChecks.register("http", HttpEndpointProcedure.create(vertx, options("/")));
+    healthChecks.invoke("http", tc.asyncAssertSuccess(first ->
+      healthChecks.invoke("http", tc.asyncAssertSuccess(second ->
+        healthChecks.invoke("http", tc.asyncAssertSuccess(third -> {
+          tc.assertEquals("UP", third.getString("status"));
+          tc.assertEquals(1, connections.get());
+        }))))));
+  }
+}
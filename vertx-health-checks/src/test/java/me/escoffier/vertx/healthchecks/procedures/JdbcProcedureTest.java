@@ -0,0 +1,158 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class JdbcProcedureTest {
+
+  private static final String QUERY = "SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS";
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private JDBCClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    healthChecks = HealthChecks.create(vertx);
+    client = JDBCClient.createNonShared(vertx, new JsonObject()
+      .put("url", "jdbc:hsqldb:mem:validation?shutdown=true")
+      .put("driver_class", "org.hsqldb.jdbcDriver")
+      .put("max_pool_size", 1));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    client.close();
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testValidation(TestContext tc) {
+    healthChecks.register("database", JdbcProcedure.create(vertx, client,
+      new JdbcProcedureOptions().setQuery(QUERY).setTimeout(5000)));
+    healthChecks.invoke("database", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      tc.assertTrue(data.getDouble("pool-wait") >= 0);
+      tc.assertTrue(data.getDouble("query-latency") >= 0);
+    }));
+  }
+
+  @Test
+  public void testInvalidQuery(TestContext tc) {
+    healthChecks.register("database", JdbcProcedure.create(vertx, client,
+      new JdbcProcedureOptions().setQuery("SELECT 1 FROM MISSING").setTimeout(5000)));
+    healthChecks.invoke("database", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      JsonObject data = json.getJsonObject("data");
+      tc.assertNotNull(data.getString("error"));
+      tc.assertTrue(data.getDouble("query-latency") >= 0);
+    }));
+  }
+
+  @Test
+  public void testConcurrentValidationsAreCoalesced(TestContext tc) {
+    JdbcProcedure procedure = JdbcProcedure.create(vertx, client,
+      new JdbcProcedureOptions().setQuery(QUERY).setTimeout(5000));
+    List<Future> futures = new ArrayList<>();
+    vertx.runOnContext(v -> {
+      for (int i = 0; i < 10; i++) {
+        Future<Status> future = Future.future();
+        procedure.handle(future);
+        futures.add(future);
+      }
+      CompositeFuture.all(futures).setHandler(tc.asyncAssertSuccess(all -> {
+        Status first = all.resultAt(0);
+        tc.assertTrue(first.isOk());
+        for (int i = 1; i < all.size(); i++) {
+          tc.assertTrue(first == all.resultAt(i));
+        }
+      }));
+    });
+  }
+
+  @Test
+  public void testTimeout(TestContext tc) {
+    Async async = tc.async();
+    healthChecks.register("database", JdbcProcedure.create(vertx, client,
+      new JdbcProcedureOptions().setQuery(QUERY).setTimeout(100)));
+    // Hold the only connection of the pool, so the validation cannot get one
+    client.getConnection(tc.asyncAssertSuccess(connection ->
+      healthChecks.invoke("database", tc.asyncAssertSuccess(json -> {
+        tc.assertEquals("DOWN", json.getString("status"));
+        tc.assertTrue(json.getJsonObject("data").getString("error").contains("timed out"));
+        connection.close(tc.asyncAssertSuccess(v -> async.complete()));
+      }))));
+  }
+
+  @Test
+  public void testTimedOutValidationKeepsItsConnection(TestContext tc) {
+    Async async = tc.async();
+    JdbcProcedure procedure = JdbcProcedure.create(vertx, client,
+      new JdbcProcedureOptions().setQuery(QUERY).setTimeout(100));
+    // Hold the only connection of the pool, so the validation times out waiting for it
+    client.getConnection(tc.asyncAssertSuccess(connection -> {
+      Future<Status> first = Future.future();
+      first.setHandler(tc.asyncAssertSuccess(timedOut -> {
+        tc.assertFalse(timedOut.isOk());
+        // The validation is still waiting for the connection, so this execution waits for it too
+        Future<Status> second = Future.future();
+        procedure.handle(second);
+        second.setHandler(tc.asyncAssertSuccess(status -> {
+          tc.assertTrue(status.isOk());
+          // The wait started with the first validation
+          tc.assertTrue(status.gaugeDouble(status.gaugeIndex("pool-wait")) >= 150.0);
+          async.complete();
+        }));
+        vertx.setTimer(50, l -> connection.close());
+      }));
+      procedure.handle(first);
+    }));
+  }
+
+  @Test
+  public void testJoiningExecutionsHaveTheirOwnTimeout(TestContext tc) {
+    Async async = tc.async();
+    JdbcProcedure procedure = JdbcProcedure.create(vertx, client,
+      new JdbcProcedureOptions().setQuery(QUERY).setTimeout(100));
+    // Hold the only connection of the pool, so the validation never gets one
+    client.getConnection(tc.asyncAssertSuccess(connection -> {
+      Future<Status> first = Future.future();
+      procedure.handle(first);
+      vertx.setTimer(50, l -> {
+        // Joins the validation started by the first execution
+        long start = System.currentTimeMillis();
+        Future<Status> second = Future.future();
+        procedure.handle(second);
+        second.setHandler(tc.asyncAssertSuccess(status -> {
+          tc.assertTrue(first.isComplete());
+          tc.assertFalse(status.isOk());
+          tc.assertTrue(status.getData().getString("error").contains("timed out"));
+          tc.assertTrue(System.currentTimeMillis() - start >= 100);
+          connection.close(tc.asyncAssertSuccess(v -> async.complete()));
+        }));
+      });
+    }));
+  }
+}
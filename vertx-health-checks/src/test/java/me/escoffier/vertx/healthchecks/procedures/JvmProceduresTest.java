@@ -0,0 +1,173 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import me.escoffier.vertx.healthchecks.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class JvmProceduresTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private Thread[] deadlocked = new Thread[0];
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    healthChecks = HealthChecks.create(vertx);
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    for (Thread thread : deadlocked) {
+      thread.interrupt();
+    }
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testJvmProcedures(TestContext tc) {
+    JvmProcedures.register(vertx, healthChecks, new JvmProcedureOptions().setMaxHeapUsage(1).setMaxGcTime(1));
+    healthChecks.invoke("jvm", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("outcome"));
+
+      JsonObject heap = data(json, "heap");
+      tc.assertTrue(heap.getLong("used") > 0);
+      tc.assertTrue(heap.getLong("max") >= heap.getLong("used"));
+      tc.assertTrue(heap.getDouble("usage") > 0 && heap.getDouble("usage") <= 1);
+
+      JsonObject gc = data(json, "gc");
+      tc.assertTrue(gc.getDouble("gc-time") >= 0 && gc.getDouble("gc-time") <= 1);
+      tc.assertTrue(gc.getLong("collections") >= 0);
+
+      JsonObject threads = data(json, "threads");
+      tc.assertTrue(threads.getLong("threads") > 0);
+      tc.assertTrue(threads.getLong("peak-threads") >= threads.getLong("threads"));
+
+      tc.assertTrue(data(json, "deadlocks").containsKey("deadlocked-threads"));
+    }));
+  }
+
+  @Test
+  public void testThresholds(TestContext tc) {
+    JvmProcedureOptions options = new JvmProcedureOptions().setMaxThreads(1).setMaxHeapUsage(0);
+    healthChecks
+      .register("threads", JvmProcedures.threads(options))
+      .register("heap", JvmProcedures.heap(options));
+    healthChecks.invoke("threads", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      tc.assertTrue(json.getJsonObject("data").getLong("threads") > 1);
+    }));
+    healthChecks.invoke("heap", tc.asyncAssertSuccess(json -> tc.assertEquals("DOWN", json.getString("status"))));
+  }
+
+  @Test
+  public void testSamplesAreCached(TestContext tc) {
+    AtomicInteger samples = new AtomicInteger();
+    healthChecks.register("sampled", counting(vertx, samples));
+    Async async = tc.async();
+    healthChecks.invoke("sampled", tc.asyncAssertSuccess(first ->
+      healthChecks.invoke("sampled", tc.asyncAssertSuccess(second -> {
+        tc.assertEquals(1, samples.get());
+        tc.assertEquals(1, second.getJsonObject("data").getInteger("sample"));
+        async.complete();
+      }))));
+  }
+
+  @Test
+  public void testSamplesTakenOnTheCallingThreadAreCached(TestContext tc) {
+    AtomicInteger samples = new AtomicInteger();
+    SampledProcedure procedure = counting(null, samples);
+    Future<Status> first = Future.future();
+    procedure.handle(first);
+    Future<Status> second = Future.future();
+    procedure.handle(second);
+    tc.assertEquals(1, samples.get());
+    tc.assertTrue(first.result() == second.result());
+  }
+
+  private static SampledProcedure counting(Vertx vertx, AtomicInteger samples) {
+    return new SampledProcedure(vertx, 60000) {
+      @Override
+      protected Status sample() {
+        return Status.OK(new JsonObject().put("sample", samples.incrementAndGet()));
+      }
+    };
+  }
+
+  @Test
+  public void testDeadlockDetection(TestContext tc) {
+    // Interruptible locks, so the threads can be released at the end of the test
+    ReentrantLock a = new ReentrantLock();
+    ReentrantLock b = new ReentrantLock();
+    deadlocked = new Thread[] {deadlocking("deadlocked-1", a, b), deadlocking("deadlocked-2", b, a)};
+    for (Thread thread : deadlocked) {
+      thread.start();
+    }
+
+    healthChecks.register("deadlocks", JvmProcedures.deadlocks(vertx, new JvmProcedureOptions().setInterval(0)));
+    Async async = tc.async();
+    check(tc, async, 50);
+  }
+
+  private void check(TestContext tc, Async async, int attempts) {
+    healthChecks.invoke("deadlocks", tc.asyncAssertSuccess(json -> {
+      if ("DOWN".equals(json.getString("status"))) {
+        JsonObject data = json.getJsonObject("data");
+        tc.assertEquals(2L, data.getLong("deadlocked-threads"));
+        tc.assertTrue(data.getJsonArray("threads").contains("deadlocked-1"));
+        tc.assertTrue(data.getJsonArray("threads").contains("deadlocked-2"));
+        async.complete();
+      } else if (attempts == 0) {
+        tc.fail("Deadlock not detected");
+      } else {
+        vertx.setTimer(100, l -> check(tc, async, attempts - 1));
+      }
+    }));
+  }
+
+  private static Thread deadlocking(String name, ReentrantLock first, ReentrantLock second) {
+    Thread thread = new Thread(() -> {
+      try {
+        first.lockInterruptibly();
+        try {
+          Thread.sleep(100);
+          second.lockInterruptibly();
+          second.unlock();
+        } finally {
+          first.unlock();
+        }
+      } catch (InterruptedException e) {
+        // Released
+      }
+    }, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static JsonObject data(JsonObject report, String id) {
+    for (Object check : report.getJsonArray("checks")) {
+      JsonObject json = (JsonObject) check;
+      if (id.equals(json.getString("id"))) {
+        return json.getJsonObject("data");
+      }
+    }
+    throw new AssertionError("Check " + id + " not found in " + report.encode());
+  }
+}
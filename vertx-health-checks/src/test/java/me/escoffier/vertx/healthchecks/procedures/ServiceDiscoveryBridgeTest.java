@@ -0,0 +1,194 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.servicediscovery.Record;
+import io.vertx.servicediscovery.ServiceDiscovery;
+import io.vertx.servicediscovery.types.HttpEndpoint;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class ServiceDiscoveryBridgeTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private ServiceDiscovery discovery;
+  private ServiceDiscoveryBridge bridge;
+
+  private final AtomicInteger connections = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private int port;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    healthChecks = HealthChecks.create(vertx);
+    discovery = ServiceDiscovery.create(vertx);
+
+    HttpServer server = vertx.createHttpServer()
+      .connectionHandler(connection -> connections.incrementAndGet())
+      .requestHandler(request -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        // Answer slowly, so the concurrent probes overlap
+        vertx.setTimer(20, l -> {
+          inFlight.decrementAndGet();
+          int status = request.path().startsWith("/failing") ? 500 : request.path().startsWith("/missing") ? 404 : 200;
+          request.response().setStatusCode(status).end("OK");
+        });
+      });
+    server.listen(0, tc.asyncAssertSuccess(s -> port = s.actualPort()));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    if (bridge != null) {
+      bridge.close();
+    }
+    discovery.close();
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testExistingRecordsAreRegistered(TestContext tc) {
+    discovery.publish(HttpEndpoint.createRecord("my-service", "localhost", port, "/"),
+      tc.asyncAssertSuccess(record ->
+        bridge = ServiceDiscoveryBridge.create(vertx, healthChecks, discovery,
+          new ServiceDiscoveryBridgeOptions(), tc.asyncAssertSuccess(v ->
+            healthChecks.invoke("services/my-service", tc.asyncAssertSuccess(json -> {
+              tc.assertEquals("UP", json.getString("status"));
+              JsonObject data = json.getJsonObject("data");
+              tc.assertEquals(200, data.getInteger("status-code"));
+              tc.assertTrue(data.getDouble("latency") >= 0);
+            }))))));
+  }
+
+  @Test
+  public void testRecordsAreRegisteredAndUnregisteredWhenAnnounced(TestContext tc) {
+    Async async = tc.async();
+    bridge = ServiceDiscoveryBridge.create(vertx, healthChecks, discovery,
+      new ServiceDiscoveryBridgeOptions().setGroup("remote"), tc.asyncAssertSuccess(v ->
+        discovery.publish(HttpEndpoint.createRecord("my-service", "localhost", port, "/"),
+          tc.asyncAssertSuccess(record ->
+            await("remote", json -> size(json) == 1, json -> {
+              tc.assertEquals("my-service", checks(json).getJsonObject(0).getString("id"));
+              discovery.unpublish(record.getRegistration(), tc.asyncAssertSuccess(x ->
+                await("remote", j -> size(j) == 0, j -> async.complete())));
+            })))));
+  }
+
+  @Test
+  public void testFailingEndpoints(TestContext tc) {
+    Async async = tc.async();
+    bridge = ServiceDiscoveryBridge.create(vertx, healthChecks, discovery,
+      new ServiceDiscoveryBridgeOptions().setTimeout(500), tc.asyncAssertSuccess(v -> {
+        discovery.publish(HttpEndpoint.createRecord("failing", "localhost", port, "/failing"),
+          tc.asyncAssertSuccess());
+        // Nothing listens on the port 1
+        discovery.publish(HttpEndpoint.createRecord("unreachable", "localhost", 1, "/"),
+          tc.asyncAssertSuccess());
+        await("services", json -> size(json) == 2, json -> {
+          tc.assertEquals("DOWN", json.getString("outcome"));
+          for (Object check : checks(json)) {
+            JsonObject entry = (JsonObject) check;
+            tc.assertEquals("DOWN", entry.getString("status"));
+            if (entry.getString("id").equals("failing")) {
+              tc.assertEquals(500, entry.getJsonObject("data").getInteger("status-code"));
+            } else {
+              tc.assertNotNull(entry.getJsonObject("data").getString("error"));
+            }
+          }
+          async.complete();
+        });
+      }));
+  }
+
+  @Test
+  public void testEndpointsAnsweringClientErrorsAreUp(TestContext tc) {
+    Async async = tc.async();
+    bridge = ServiceDiscoveryBridge.create(vertx, healthChecks, discovery,
+      new ServiceDiscoveryBridgeOptions(), tc.asyncAssertSuccess(v ->
+        discovery.publish(HttpEndpoint.createRecord("no-root", "localhost", port, "/missing"),
+          tc.asyncAssertSuccess(record -> await("services", json -> size(json) == 1, json -> {
+            tc.assertEquals("UP", json.getString("outcome"));
+            JsonObject check = checks(json).getJsonObject(0);
+            tc.assertEquals("UP", check.getString("status"));
+            tc.assertEquals(404, check.getJsonObject("data").getInteger("status-code"));
+            async.complete();
+          })))));
+  }
+
+  @Test
+  public void testNonHttpRecordsReportTheirStatus(TestContext tc) {
+    Async async = tc.async();
+    bridge = ServiceDiscoveryBridge.create(vertx, healthChecks, discovery,
+      new ServiceDiscoveryBridgeOptions(), tc.asyncAssertSuccess(v ->
+        discovery.publish(new Record().setName("queue").setType("message-source")
+            .setLocation(new JsonObject().put("endpoint", "queue")),
+          tc.asyncAssertSuccess(record -> await("services", json -> size(json) == 1, json -> {
+            tc.assertEquals("UP", json.getString("outcome"));
+            async.complete();
+          })))));
+  }
+
+  @Test
+  public void testProbesAreBatchedAndReuseConnections(TestContext tc) {
+    Async async = tc.async();
+    int records = 8;
+    bridge = ServiceDiscoveryBridge.create(vertx, healthChecks, discovery,
+      new ServiceDiscoveryBridgeOptions().setConcurrency(2), tc.asyncAssertSuccess(v -> {
+        for (int i = 0; i < records; i++) {
+          discovery.publish(HttpEndpoint.createRecord("service-" + i, "localhost", port, "/"),
+            tc.asyncAssertSuccess());
+        }
+        await("services", json -> size(json) == records, json ->
+          healthChecks.invoke("services", tc.asyncAssertSuccess(second -> {
+            tc.assertEquals("UP", second.getString("outcome"));
+            tc.assertTrue(maxInFlight.get() <= 2, "Too many concurrent probes: " + maxInFlight.get());
+            // A single keep-alive connection per record, whatever the number of probes
+            tc.assertEquals(records, connections.get());
+            async.complete();
+          })));
+      }));
+  }
+
+  /**
+   * Invokes the given group until the predicate is verified, and then calls the handler with the result. The
+   * predicate receives {@code null} when the group does not exist.
+   */
+  private void await(String name, Predicate<JsonObject> predicate, Handler<JsonObject> handler) {
+    healthChecks.invoke(name, ar -> {
+      JsonObject json = ar.succeeded() ? ar.result() : null;
+      if (predicate.test(json)) {
+        handler.handle(json);
+      } else {
+        vertx.setTimer(10, l -> await(name, predicate, handler));
+      }
+    });
+  }
+
+  private static int size(JsonObject json) {
+    return json == null || !json.containsKey("checks") ? 0 : checks(json).size();
+  }
+
+  private static JsonArray checks(JsonObject json) {
+    return json.getJsonArray("checks");
+  }
+}
@@ -0,0 +1,74 @@
+package me.escoffier.vertx.healthchecks.procedures;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import me.escoffier.vertx.healthchecks.HealthChecks;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class TcpConnectProcedureTest {
+
+  private Vertx vertx;
+  private HealthChecks healthChecks;
+  private int port;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    vertx.exceptionHandler(tc.exceptionHandler());
+    healthChecks = HealthChecks.create(vertx);
+
+    vertx.createNetServer()
+      .connectHandler(socket -> {
+        // Accept the connection
+      })
+      .listen(0, tc.asyncAssertSuccess(server -> port = server.actualPort()));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testConnection(TestContext tc) {
+    healthChecks.register("tcp", TcpConnectProcedure.create(vertx, new TcpConnectOptions().setPort(port)));
+    healthChecks.invoke("tcp", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("UP", json.getString("status"));
+      tc.assertTrue(json.getJsonObject("data").getDouble("latency") >= 0);
+    }));
+  }
+
+  @Test
+  public void testRefusedConnection(TestContext tc) {
+    // Nothing listens on the port 1
+    healthChecks.register("tcp", TcpConnectProcedure.create(vertx, new TcpConnectOptions().setPort(1)));
+    healthChecks.invoke("tcp", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      tc.assertNotNull(json.getJsonObject("data").getString("error"));
+    }));
+  }
+
+  @Test
+  public void testLatencyThreshold(TestContext tc) {
+    // No connection can be established in less than 0 ms
+    healthChecks.register("tcp", TcpConnectProcedure.create(vertx,
+      new TcpConnectOptions().setPort(port).setMaxLatency(0)));
+    healthChecks.invoke("tcp", tc.asyncAssertSuccess(json -> {
+      tc.assertEquals("DOWN", json.getString("status"));
+      tc.assertTrue(json.getJsonObject("data").getString("error").contains("latency"));
+    }));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPortIsRequired() {
+    TcpConnectProcedure.create(vertx, new TcpConnectOptions());
+  }
+}
@@ -0,0 +1,88 @@
+package me.escoffier.vertx.healthchecks.spi;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * @author <a href="http://escoffier.me">Clement Escoffier</a>
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value = 0; value < 100_000; value++) {
+      int index = LatencyHistogram.index(value);
+      assertThat(LatencyHistogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+      // Log-linear buckets with 8 sub-buckets per power of two
+      assertThat(LatencyHistogram.highestValue(index) - value).isLessThanOrEqualTo(Math.max(0, value / 8));
+      if (index > 0) {
+        assertThat(LatencyHistogram.highestValue(index - 1)).isLessThan(value);
+      }
+    }
+    assertThat(LatencyHistogram.index(Integer.MAX_VALUE * 2L + 1)).isEqualTo(239);
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.count()).isEqualTo(0);
+    assertThat(histogram.percentile(50)).isEqualTo(0.0);
+
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+
+    assertThat(histogram.count()).isEqualTo(1000);
+    assertThat(histogram.max()).isEqualTo(1000.0);
+    assertThat(histogram.percentile(50)).isCloseTo(500.0, within(500 * 0.125));
+    assertThat(histogram.percentile(99)).isCloseTo(990.0, within(990 * 0.125));
+    assertThat(histogram.percentile(100)).isEqualTo(1000.0);
+
+    JsonObject json = histogram.toJson();
+    assertThat(json.getLong("count")).isEqualTo(1000L);
+    assertThat(json.getDouble("max")).isEqualTo(1000.0);
+    assertThat(json.getDouble("p50")).isEqualTo(histogram.percentile(50));
+    assertThat(json.getDouble("p99")).isEqualTo(histogram.percentile(99));
+  }
+
+  @Test
+  public void testOutOfRangeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-1);
+    histogram.record(Long.MAX_VALUE);
+    assertThat(histogram.count()).isEqualTo(2);
+    assertThat(histogram.percentile(0)).isEqualTo(0.0);
+    assertThat(histogram.max()).isGreaterThan(TimeUnit.HOURS.toMillis(1));
+  }
+
+  @Test
+  public void testRecordingDoesNotAllocate() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    LatencyHistogram histogram = new LatencyHistogram();
+    // Warm up, it also allocates the counters
+    for (int i = 0; i < 100_000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    for (int i = 0; i < 100_000; i++) {
+      histogram.record(i * 1000L);
+    }
+    long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+    assertThat(allocated).isLessThan(1024);
+  }
+}